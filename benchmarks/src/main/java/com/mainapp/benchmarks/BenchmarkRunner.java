@@ -0,0 +1,150 @@
+package com.mainapp.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the benchmarks, saves the JMH results as JSON and compares them with a baseline run.
+ * <p>
+ * Results are written to {@code <results>/<label>.json}, where the label defaults to the short hash
+ * of the current git commit, and copied to {@code <results>/latest.json}. Unless another baseline is
+ * given, the previous {@code latest.json} is the baseline, so two consecutive runs on different
+ * commits show what changed in between. Options:
+ * <pre>
+ *   --results DIR           directory of the result files (default benchmarks/results)
+ *   --label NAME            name of the result file (default: git short hash, or "local")
+ *   --baseline FILE         JMH JSON result to compare with (default: DIR/latest.json)
+ *   --threshold PERCENT     change counted as a regression (default 10)
+ *   --fail-on-regression    exit with status 1 when a benchmark regressed
+ * </pre>
+ * Any other arguments are passed to JMH, e.g. a benchmark regex or {@code -f 1 -wi 1 -i 2}.
+ */
+public final class BenchmarkRunner {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path resultsDir = Paths.get("benchmarks", "results");
+        String label = null;
+        Path baseline = null;
+        double threshold = 10;
+        boolean failOnRegression = false;
+        List<String> jmhArgs = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--results" -> resultsDir = Paths.get(args[++i]);
+                case "--label" -> label = args[++i];
+                case "--baseline" -> baseline = Paths.get(args[++i]);
+                case "--threshold" -> threshold = Double.parseDouble(args[++i]);
+                case "--fail-on-regression" -> failOnRegression = true;
+                default -> jmhArgs.add(args[i]);
+            }
+        }
+        if (label == null) {
+            label = gitShortHash();
+        }
+        Files.createDirectories(resultsDir);
+        Path latest = resultsDir.resolve("latest.json");
+        if (baseline == null && Files.exists(latest)) {
+            baseline = latest;
+        }
+        // read before the run, which replaces latest.json
+        Map<String, JsonNode> baselineResults = baseline != null ? read(baseline) : null;
+
+        Path result = resultsDir.resolve(label + ".json");
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(jmhArgs.toArray(String[]::new)))
+                .resultFormat(ResultFormatType.JSON)
+                .result(result.toString())
+                .build()).run();
+        Files.copy(result, latest, StandardCopyOption.REPLACE_EXISTING);
+        System.out.println("Results written to " + result);
+
+        if (baselineResults == null) {
+            System.out.println("No baseline to compare with.");
+            return;
+        }
+        System.out.println("Baseline: " + baseline);
+        int regressions = compare(baselineResults, read(result), threshold);
+        if (regressions > 0 && failOnRegression) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Prints the change of every benchmark present in both runs and returns the number of
+     * regressions. Lower is better for time per operation, higher is better for throughput.
+     */
+    private static int compare(Map<String, JsonNode> baseline, Map<String, JsonNode> current, double threshold) {
+        int regressions = 0;
+        System.out.printf("%n%-70s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                continue;
+            }
+            JsonNode after = entry.getValue();
+            double oldScore = before.path("primaryMetric").path("score").asDouble();
+            double newScore = after.path("primaryMetric").path("score").asDouble();
+            double change = oldScore == 0 ? 0 : (newScore - oldScore) * 100 / oldScore;
+            boolean higherIsBetter = "thrpt".equals(after.path("mode").asText());
+            boolean regressed = higherIsBetter ? change < -threshold : change > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-70s %14.3f %14.3f %8.1f%% %s%s%n", entry.getKey(), oldScore, newScore, change,
+                    after.path("primaryMetric").path("scoreUnit").asText(), regressed ? "  REGRESSION" : "");
+        }
+        System.out.printf("%d regression(s) beyond %.1f%%%n", regressions, threshold);
+        return regressions;
+    }
+
+    /**
+     * Reads a JMH JSON result, keyed by benchmark name and parameters.
+     */
+    private static Map<String, JsonNode> read(Path file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode node : JSON.readTree(file.toFile())) {
+            StringBuilder key = new StringBuilder(node.path("benchmark").asText().replace("com.mainapp.benchmarks.", ""));
+            Iterator<Map.Entry<String, JsonNode>> params = node.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            results.put(key.toString(), node);
+        }
+        return results;
+    }
+
+    private static String gitShortHash() {
+        try {
+            Process git = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+            String hash = new String(git.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+            return git.waitFor() == 0 && !hash.isEmpty() ? hash : "local";
+        } catch (IOException e) {
+            return "local";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "local";
+        }
+    }
+}
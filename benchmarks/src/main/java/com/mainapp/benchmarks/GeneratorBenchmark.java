@@ -0,0 +1,64 @@
+package com.mainapp.benchmarks;
+
+import com.mainapp.utils.CommonUtils;
+import com.mainapp.utils.PasswordUtils;
+import com.mainapp.utils.PolicyNumberGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generated passwords, policy numbers and usernames. The beans are built by hand with the defaults
+ * of their configuration properties, without a Spring context or database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneratorBenchmark {
+
+    private PasswordUtils passwordUtils;
+    private CommonUtils commonUtils;
+
+    @Setup
+    public void setUp() {
+        passwordUtils = new PasswordUtils();
+        PolicyNumberGenerator policyNumberGenerator = new PolicyNumberGenerator();
+        ReflectionTestUtils.setField(policyNumberGenerator, "workerId", 1);
+        ReflectionTestUtils.setField(policyNumberGenerator, "maxDriftMillis", 1000L);
+        policyNumberGenerator.init();
+        commonUtils = new CommonUtils();
+        ReflectionTestUtils.setField(commonUtils, "policyNumberGenerator", policyNumberGenerator);
+    }
+
+    @Benchmark
+    public String generateSecurePassword() {
+        return passwordUtils.generateSecurePassword();
+    }
+
+    /**
+     * Sustained rate of a single node, which is bounded by the 128 numbers per millisecond of the
+     * layout once the allowed clock drift is used up.
+     */
+    @Benchmark
+    public String generatePolicyNumber() {
+        return commonUtils.generatePolicyNumber();
+    }
+
+    @Benchmark
+    public String generateUsername() {
+        return commonUtils.generateUsername("Anita Rose", "Sharma");
+    }
+}
@@ -0,0 +1,51 @@
+package com.mainapp.benchmarks;
+
+import com.mainapp.utils.PasswordUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BCrypt hashing and verification at several work factors. 12 is the cost used by
+ * {@link PasswordUtils#hashPassword(String)}; each step up doubles the time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class PasswordBenchmark {
+
+    private static final String PASSWORD = "Welcome@2025";
+
+    @Param({"4", "10", "12"})
+    public int cost;
+
+    private String hashed;
+
+    @Setup
+    public void setUp() {
+        hashed = PasswordUtils.hashPassword(PASSWORD, cost);
+    }
+
+    @Benchmark
+    public String hashPassword() {
+        return PasswordUtils.hashPassword(PASSWORD, cost);
+    }
+
+    @Benchmark
+    public boolean matchPassword() {
+        return PasswordUtils.matchPassword(PASSWORD, hashed);
+    }
+}
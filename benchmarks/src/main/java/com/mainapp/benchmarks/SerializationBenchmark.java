@@ -0,0 +1,86 @@
+package com.mainapp.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mainapp.dto.EmployeeResponse;
+import com.mainapp.dto.SessionValidationResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the response DTOs, with an {@link ObjectMapper} configured like the one
+ * Spring MVC uses. The page benchmark wraps 100 employees in the status/message/data map the
+ * controllers return.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private EmployeeResponse employee;
+    private Map<String, Object> employeePage;
+    private SessionValidationResponse sessionValidation;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        employee = employee(1);
+        List<EmployeeResponse> employees = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            employees.add(employee(id));
+        }
+        employeePage = Map.of("status", 200, "message", "Employees fetched successfully.", "data", employees);
+
+        sessionValidation = new SessionValidationResponse();
+        sessionValidation.setSessionValid(true);
+        sessionValidation.setMessage("Session is valid.");
+        sessionValidation.setStatusCode(200);
+        sessionValidation.setUserId(42L);
+        sessionValidation.setUsername("anita.sharma");
+        sessionValidation.setEmail("anita.sharma@example.com");
+        sessionValidation.setPhone("9876543210");
+        sessionValidation.setEntityType("EMPLOYEE");
+        sessionValidation.setEntityID(7L);
+        sessionValidation.setEntityTableName("Acme Industries");
+        sessionValidation.setEntityTableDescription("Manufacturing");
+        sessionValidation.setEntityTablePolicy("2025000000000042");
+    }
+
+    @Benchmark
+    public byte[] employeeResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(employee);
+    }
+
+    @Benchmark
+    public byte[] employeePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(employeePage);
+    }
+
+    @Benchmark
+    public byte[] sessionValidationResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(sessionValidation);
+    }
+
+    private static EmployeeResponse employee(long id) {
+        return new EmployeeResponse(id, "Anita", "Sharma", "anita.sharma" + id, "anita.sharma" + id + "@example.com",
+                "9876543210", "EMPLOYEE", "Accountant");
+    }
+}
@@ -0,0 +1,75 @@
+package com.mainapp.benchmarks;
+
+import com.mainapp.dto.SessionValidationResponse;
+import com.mainapp.services.AuthService;
+import com.mainapp.utils.AppMetrics;
+import com.mainapp.utils.SessionUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Session creation at login and the session check that runs at the start of every authenticated
+ * request, against an in-memory {@link MockHttpSession}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionBenchmark {
+
+    private SessionUtils sessionUtils;
+    private AuthService authService;
+    private MockHttpSession validSession;
+    private MockHttpSession emptySession;
+
+    @Setup
+    public void setUp() {
+        sessionUtils = new SessionUtils();
+        authService = new AuthService();
+        ReflectionTestUtils.setField(authService, "sessionUtils", sessionUtils);
+        // no registry bean, so meters go to the no-op global registry
+        ReflectionTestUtils.setField(authService, "appMetrics",
+                new AppMetrics(new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class)));
+        validSession = new MockHttpSession();
+        createSession(validSession);
+        emptySession = new MockHttpSession();
+    }
+
+    @Benchmark
+    public MockHttpSession createSession() {
+        MockHttpSession session = new MockHttpSession();
+        createSession(session);
+        return session;
+    }
+
+    @Benchmark
+    public SessionValidationResponse validateSession() {
+        return authService.validateSession(validSession);
+    }
+
+    @Benchmark
+    public SessionValidationResponse validateExpiredSession() {
+        return authService.validateSession(emptySession);
+    }
+
+    private void createSession(MockHttpSession session) {
+        sessionUtils.createSession(session, 42L, "anita.sharma", "anita.sharma@example.com", "9876543210",
+                "EMPLOYEE", 7L, "Acme Industries", "Manufacturing", "2025000000000042");
+    }
+}
@@ -0,0 +1,54 @@
+package com.mainapp.config;
+
+import com.mainapp.utils.JfrEvents;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Records a {@link JfrEvents.RepositoryCallEvent} for every Spring Data repository method call while
+ * a flight recording is running.
+ */
+@Configuration
+public class RepositoryEventsConfig {
+
+    @Bean
+    public static BeanPostProcessor repositoryEventsPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor((proxyFactory, information) -> {
+                        String repository = information.getRepositoryInterface().getSimpleName();
+                        proxyFactory.addAdvice(interceptor(repository));
+                    }));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static MethodInterceptor interceptor(String repository) {
+        return invocation -> {
+            JfrEvents.RepositoryCallEvent event = new JfrEvents.RepositoryCallEvent();
+            event.begin();
+            String outcome = "error";
+            try {
+                Object result = invocation.proceed();
+                outcome = "success";
+                return result;
+            } finally {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.repository = repository;
+                    event.method = invocation.getMethod().getName();
+                    event.entityId = JfrEvents.currentEntityId();
+                    event.outcome = outcome;
+                    event.commit();
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,161 @@
+package com.mainapp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mainapp.utils.ServerTiming;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times requests by phase (db, hash, auth, serialize) and reports the breakdown in a
+ * {@code Server-Timing} header, and logs slow requests.
+ * <p>
+ * Only a sampled fraction of requests ({@code app.server-timing.sample-rate}) and those whose client
+ * sends the {@code app.server-timing.request-header} header are timed by phase. For those, JSON
+ * bodies are serialized into a buffer first so the header can still be added after serialization,
+ * and the connections they take go through the SQL inspector, which measures database time; it is
+ * therefore 0 when {@code app.sql.enabled=false}. Every other request only has its total measured,
+ * for the slow-request log, and uses the pool's connections directly.
+ * <p>
+ * {@code app.server-timing.enabled=false} turns both off. It is checked by the filter and the
+ * converter setup rather than as a bean condition, so that it also applies to the AOT-processed
+ * build, whose conditions are fixed at build time.
+ */
+@Configuration
+public class ServerTimingConfig implements WebMvcConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(ServerTimingConfig.class);
+
+    @Value("${app.server-timing.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.server-timing.sample-rate:0.0}")
+    private double sampleRate;
+
+    @Value("${app.server-timing.request-header:X-Server-Timing}")
+    private String requestHeader;
+
+    @Value("${app.server-timing.slow-request-millis:1000}")
+    private long slowRequestMillis;
+
+    @Bean
+    public FilterRegistrationBean<OncePerRequestFilter> serverTimingFilter() {
+        FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                    throws ServletException, IOException {
+                if (!enabled) {
+                    chain.doFilter(request, response);
+                    return;
+                }
+                long start = System.nanoTime();
+                boolean timed = request.getHeader(requestHeader) != null
+                        || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+                ServerTiming timing = timed ? new ServerTiming() : null;
+                if (timing != null) {
+                    ServerTiming.begin(timing);
+                }
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    if (timing != null) {
+                        ServerTiming.end();
+                    }
+                    finish(timing, System.nanoTime() - start, request, response);
+                }
+            }
+        });
+        // outermost, so the total covers the other filters
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    /**
+     * Times JSON serialization; see {@link TimedJacksonConverter}.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        if (!enabled) {
+            return;
+        }
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2HttpMessageConverter jackson
+                    && !(jackson instanceof TimedJacksonConverter)) {
+                converters.set(i, new TimedJacksonConverter(jackson.getObjectMapper()));
+            }
+        }
+    }
+
+    private void finish(ServerTiming timing, long elapsedNanos, HttpServletRequest request, HttpServletResponse response) {
+        if (request.isAsyncStarted()) {
+            return; // streaming responses, e.g. the attendance feed
+        }
+        if (timing != null && !timing.isHeaderWritten() && !response.isCommitted()) {
+            response.setHeader(ServerTiming.HEADER, timing.header());
+        }
+        long millis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        if (millis >= slowRequestMillis) {
+            log.warn("Slow request {} {} -> {} in {} ms{}", request.getMethod(), request.getRequestURI(),
+                    response.getStatus(), millis, timing != null ? ": " + timing.header() : "");
+        }
+    }
+
+    /**
+     * Jackson converter that adds serialization time to the request's timing. The body of a timed
+     * request is written to a buffer first and the header is added before the body.
+     */
+    static class TimedJacksonConverter extends MappingJackson2HttpMessageConverter {
+
+        TimedJacksonConverter(ObjectMapper objectMapper) {
+            super(objectMapper);
+        }
+
+        @Override
+        protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+            ServerTiming timing = ServerTiming.current();
+            if (timing == null) {
+                super.writeInternal(object, type, outputMessage);
+                return;
+            }
+            long start = System.nanoTime();
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024);
+            super.writeInternal(object, type, new HttpOutputMessage() {
+                @Override
+                public OutputStream getBody() {
+                    return buffer;
+                }
+
+                @Override
+                public HttpHeaders getHeaders() {
+                    return outputMessage.getHeaders();
+                }
+            });
+            timing.add(ServerTiming.Phase.SERIALIZE, System.nanoTime() - start);
+            outputMessage.getHeaders().set(ServerTiming.HEADER, timing.header());
+            timing.markHeaderWritten();
+            buffer.writeTo(outputMessage.getBody());
+        }
+    }
+}
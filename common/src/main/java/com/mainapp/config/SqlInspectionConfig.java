@@ -0,0 +1,72 @@
+package com.mainapp.config;
+
+import com.mainapp.services.SqlStatsService;
+import com.mainapp.utils.InspectingDataSource;
+import com.mainapp.utils.SqlTrace;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements, rows and database time of each HTTP request and attributes them to
+ * the controller method that handled it. Disabled with {@code app.sql.enabled=false}, which is read
+ * when the beans are created rather than as a bean condition, so that it also applies to the
+ * AOT-processed build, whose conditions are fixed at build time.
+ */
+@Configuration
+public class SqlInspectionConfig {
+
+    @Value("${app.sql.enabled:true}")
+    private boolean enabled;
+
+    @Bean
+    public static BeanPostProcessor inspectingDataSourcePostProcessor(Environment environment) {
+        boolean inspecting = environment.getProperty("app.sql.enabled", Boolean.class, true);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return inspecting && bean instanceof DataSource dataSource ? InspectingDataSource.wrap(dataSource) : bean;
+            }
+        };
+    }
+
+    @Bean
+    public OncePerRequestFilter sqlTraceFilter(SqlStatsService sqlStatsService) {
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                    throws ServletException, IOException {
+                SqlTrace trace = enabled ? sqlStatsService.begin() : null;
+                if (trace == null) {
+                    chain.doFilter(request, response);
+                    return;
+                }
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    sqlStatsService.end(trace, endpoint(request));
+                }
+            }
+        };
+    }
+
+    private static String endpoint(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod method) {
+            return method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+        }
+        return "unmapped";
+    }
+}
@@ -0,0 +1,41 @@
+package com.mainapp.config;
+
+import com.mainapp.utils.DbConcurrencyLimiter;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Virtual-thread mode, enabled by the {@code virtual-threads} profile on Java 21
+ * ({@code spring.threads.virtual.enabled=true}). Tomcat then serves every request on its own
+ * virtual thread; database access is limited to {@code app.virtual-threads.db-permits} concurrent
+ * connections, which defaults to the pool size. BCrypt runs on the platform threads of
+ * {@link com.mainapp.utils.CpuBoundExecutor} and pinned threads are reported by
+ * {@link com.mainapp.services.PinningMonitor}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    @Bean
+    public static DbConcurrencyLimiter dbConcurrencyLimiter(Environment environment) {
+        int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+        return new DbConcurrencyLimiter(
+                environment.getProperty("app.virtual-threads.db-permits", Integer.class, poolSize),
+                environment.getProperty("app.virtual-threads.db-acquire-timeout-millis", Long.class, 30000L));
+    }
+
+    @Bean
+    public static BeanPostProcessor dbConcurrencyLimiterPostProcessor(DbConcurrencyLimiter dbConcurrencyLimiter) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? dbConcurrencyLimiter.wrap(dataSource) : bean;
+            }
+        };
+    }
+}
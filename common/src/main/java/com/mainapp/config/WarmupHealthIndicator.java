@@ -0,0 +1,25 @@
+package com.mainapp.config;
+
+import com.mainapp.services.WarmupService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * The {@code warmup} health contributor: OUT_OF_SERVICE while {@link WarmupService} runs, UP with
+ * its duration and steps afterwards. Part of the readiness group, so Kubernetes only routes traffic
+ * to a pod once it is warm.
+ */
+@Component
+public class WarmupHealthIndicator implements HealthIndicator {
+
+    @Autowired
+    private WarmupService warmupService;
+
+    @Override
+    public Health health() {
+        Health.Builder health = warmupService.isFinished() ? Health.up() : Health.outOfService();
+        return health.withDetails(warmupService.stats()).build();
+    }
+}
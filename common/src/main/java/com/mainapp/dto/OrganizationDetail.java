@@ -0,0 +1,128 @@
+package com.mainapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Detail view of an organization with aggregated account and role counts. Accounts are only
+ * included, one page at a time, when requested.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrganizationDetail {
+
+    private Long id;
+    private String name;
+    private String description;
+    private String type;
+    private String policy;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long createdBy;
+    private Long updatedBy;
+    private long accountCount;
+    private long activeAccountCount;
+    private long roleCount;
+    private AccountPage accounts;
+
+    public OrganizationDetail(Long id, String name, String description, String type, String policy,
+                              LocalDateTime createdAt, LocalDateTime updatedAt, Long createdBy, Long updatedBy,
+                              Long accountCount, Long activeAccountCount, Long roleCount) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.type = type;
+        this.policy = policy;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.createdBy = createdBy;
+        this.updatedBy = updatedBy;
+        this.accountCount = accountCount != null ? accountCount : 0;
+        this.activeAccountCount = activeAccountCount != null ? activeAccountCount : 0;
+        this.roleCount = roleCount != null ? roleCount : 0;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getPolicy() {
+        return policy;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public Long getCreatedBy() {
+        return createdBy;
+    }
+
+    public Long getUpdatedBy() {
+        return updatedBy;
+    }
+
+    public long getAccountCount() {
+        return accountCount;
+    }
+
+    public long getActiveAccountCount() {
+        return activeAccountCount;
+    }
+
+    public long getRoleCount() {
+        return roleCount;
+    }
+
+    public AccountPage getAccounts() {
+        return accounts;
+    }
+
+    public void setAccounts(AccountPage accounts) {
+        this.accounts = accounts;
+    }
+
+    /**
+     * One page of the organization's accounts, ordered by id.
+     */
+    public static class AccountPage {
+        private final List<EmployeeResponse> items;
+        private final boolean hasNext;
+        private final Long nextAfter;
+
+        public AccountPage(List<EmployeeResponse> items, boolean hasNext, Long nextAfter) {
+            this.items = items;
+            this.hasNext = hasNext;
+            this.nextAfter = nextAfter;
+        }
+
+        public List<EmployeeResponse> getItems() {
+            return items;
+        }
+
+        public boolean isHasNext() {
+            return hasNext;
+        }
+
+        public Long getNextAfter() {
+            return nextAfter;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.mainapp.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row of the organization directory: the organization with its maintained account counts.
+ */
+public class OrganizationSummary {
+
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final String policy;
+    private final LocalDateTime createdAt;
+    private final long accountCount;
+    private final long activeAccountCount;
+
+    public OrganizationSummary(Long id, String name, String description, String policy, LocalDateTime createdAt,
+                               Long accountCount, Long activeAccountCount) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.policy = policy;
+        this.createdAt = createdAt;
+        this.accountCount = accountCount != null ? accountCount : 0;
+        this.activeAccountCount = activeAccountCount != null ? activeAccountCount : 0;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getPolicy() {
+        return policy;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public long getAccountCount() {
+        return accountCount;
+    }
+
+    public long getActiveAccountCount() {
+        return activeAccountCount;
+    }
+}
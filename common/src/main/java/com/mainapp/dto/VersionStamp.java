@@ -0,0 +1,46 @@
+package com.mainapp.dto;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Row count and latest {@code updatedAt} of a set of rows, used to derive ETags and Last-Modified
+ * headers without loading the rows themselves.
+ */
+public class VersionStamp {
+
+    private final long count;
+    private final LocalDateTime lastModified;
+
+    public VersionStamp(Long count, LocalDateTime lastModified) {
+        this.count = count != null ? count : 0;
+        this.lastModified = lastModified;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public LocalDateTime getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Latest modification as epoch milliseconds, or -1 when the set is empty.
+     */
+    public long getLastModifiedMillis() {
+        return lastModified != null ? lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+    }
+
+    /**
+     * Latest modification as epoch microseconds (the column precision), or 0 when the set is empty.
+     */
+    public long getLastModifiedMicros() {
+        if (lastModified == null) {
+            return 0;
+        }
+        Instant instant = lastModified.atZone(ZoneId.systemDefault()).toInstant();
+        return instant.getEpochSecond() * 1_000_000 + instant.getNano() / 1_000;
+    }
+}
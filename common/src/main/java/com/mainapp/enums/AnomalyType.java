@@ -0,0 +1,10 @@
+package com.mainapp.enums;
+/**
+ * Enum representing the attendance anomalies flagged by the streaming detector.
+ */
+public enum AnomalyType {
+    LONG_SHIFT,
+    MULTIPLE_LOCATIONS,
+    IMPOSSIBLE_TRAVEL,
+    CHRONIC_LATENESS
+}
@@ -1,5 +1,5 @@
 package com.mainapp.enums;
 
 public enum AttendanceStatus {
-    PRESENT, ABSENT, HALF_DAY, LATE, EARLY_LEAVE
+    PRESENT, ABSENT, HALF_DAY, LATE, EARLY_LEAVE, REJECTED
 }
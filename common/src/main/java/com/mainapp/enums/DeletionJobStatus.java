@@ -0,0 +1,10 @@
+package com.mainapp.enums;
+/**
+ * Enum representing the states of a background organization deletion job.
+ */
+public enum DeletionJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
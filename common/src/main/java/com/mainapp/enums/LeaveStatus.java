@@ -0,0 +1,9 @@
+package com.mainapp.enums;
+/**
+ * Enum representing the lifecycle of a leave request.
+ */
+public enum LeaveStatus {
+    PENDING,
+    APPROVED,
+    REJECTED
+}
@@ -0,0 +1,10 @@
+package com.mainapp.enums;
+/**
+ * Enum representing the kinds of leave an employee can apply for.
+ */
+public enum LeaveType {
+    CASUAL,
+    SICK,
+    EARNED,
+    UNPAID
+}
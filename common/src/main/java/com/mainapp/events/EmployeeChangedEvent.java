@@ -0,0 +1,38 @@
+package com.mainapp.events;
+
+/**
+ * Published by the employee management service whenever an employee account of
+ * an organization is added, updated, deleted or has its status changed. Listeners that keep
+ * derived state (caches, search indexes) use it to refresh exactly the affected organization and account.
+ */
+public class EmployeeChangedEvent {
+
+    public enum Type {
+        ADDED,
+        UPDATED,
+        DELETED,
+        STATUS_CHANGED
+    }
+
+    private final Type type;
+    private final Long entityId;
+    private final Long accountId;
+
+    public EmployeeChangedEvent(Type type, Long entityId, Long accountId) {
+        this.type = type;
+        this.entityId = entityId;
+        this.accountId = accountId;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+}
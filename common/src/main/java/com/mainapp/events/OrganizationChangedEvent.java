@@ -0,0 +1,30 @@
+package com.mainapp.events;
+
+/**
+ * Published by the organization service whenever an organization ({@code EntityTable}) is created,
+ * updated or deleted.
+ */
+public class OrganizationChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Long entityId;
+
+    public OrganizationChangedEvent(Type type, Long entityId) {
+        this.type = type;
+        this.entityId = entityId;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+}
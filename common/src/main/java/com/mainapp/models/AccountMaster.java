@@ -1,6 +1,7 @@
 package com.mainapp.models;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.mainapp.enums.Status;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -9,7 +10,8 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "account_master")
+@Table(name = "account_master",
+        indexes = @Index(name = "idx_account_entity_type", columnList = "entity_id, entityType, id"))
 public class AccountMaster {
 
     @Id
@@ -30,6 +32,7 @@ public class AccountMaster {
     private String phone;
 
     @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY) // never echoed in responses
     private String password; // Hashed password
 
     @Column(nullable = false, length = 50)
@@ -0,0 +1,59 @@
+package com.mainapp.models;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Maintained account counts of an organization, adjusted in the same transaction as every account
+ * that is added, deleted or has its status toggled, so organization listings never count accounts.
+ */
+@Entity
+@Table(name = "entity_headcount")
+public class EntityHeadcount {
+
+    @Id
+    @Column(name = "entity_id")
+    private Long entityId;
+
+    @Column(name = "account_count", nullable = false)
+    private long accountCount;
+
+    @Column(name = "active_account_count", nullable = false)
+    private long activeAccountCount;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public long getAccountCount() {
+        return accountCount;
+    }
+
+    public void setAccountCount(long accountCount) {
+        this.accountCount = accountCount;
+    }
+
+    public long getActiveAccountCount() {
+        return activeAccountCount;
+    }
+
+    public void setActiveAccountCount(long activeAccountCount) {
+        this.activeAccountCount = activeAccountCount;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -1,8 +1,13 @@
 package com.mainapp.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.mainapp.enums.Status;
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -11,6 +16,7 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "entity_role_master")
 @Data
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "entity_role_master")
 public class EntityRoleMaster {
 
     @Id
@@ -20,8 +26,13 @@ public class EntityRoleMaster {
     @JoinColumn(name = "entity_id", nullable = true) // Foreign Key to EntityTable
     private EntityTable entityTable;
 
-    @ManyToOne
+    // Role details are copied into name/description and served from RoleCatalog, so the
+    // RoleMaster row is only loaded when explicitly navigated to
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "role_id", nullable = false)
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private RoleMaster roleMaster;
 
     @Column(nullable = false,  length = 100)
@@ -1,8 +1,13 @@
 package com.mainapp.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -10,8 +15,10 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "entity")
+@Table(name = "entity",
+        indexes = @Index(name = "idx_entity_type_name", columnList = "type, name"))
 @Data
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "entity")
 public class EntityTable {
 
     @Id
@@ -41,9 +48,13 @@ public class EntityTable {
 
     private Long updatedBy;
 
-    // One EntityTable can have multiple AccountMaster entries
+    // One EntityTable can have multiple AccountMaster entries. Never serialized or used in
+    // equals/hashCode/toString: an organization may have a very large number of accounts.
     @OneToMany(mappedBy = "entityTable", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonManagedReference
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<AccountMaster> accounts;
 
     public Long getId() {
@@ -2,6 +2,8 @@ package com.mainapp.models;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -10,6 +12,7 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "role_master")
 @Data
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "role_master")
 public class RoleMaster {
 
     @Id
@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "sessions")
+@Table(name = "sessions", indexes = {
+        @Index(name = "idx_sessions_expiry", columnList = "expiry"),
+        @Index(name = "idx_sessions_user", columnList = "userId")})
 public class Session {
 
     @Id
@@ -1,7 +1,11 @@
 package com.mainapp.repository;
 
 
+import com.mainapp.dto.EmployeeResponse;
+import com.mainapp.dto.VersionStamp;
 import com.mainapp.models.AccountMaster;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -22,4 +26,37 @@ List<AccountMaster> findByEntityType(String entityType);
     void deleteById(Long id);
     Optional<AccountMaster> findByEmail(String email);
     Optional<AccountMaster> findByPhone(String phone);
+
+    /**
+     * Lists accounts of an entity as {@link EmployeeResponse} rows in a single query, ordered by id.
+     * Only accounts with an id greater than {@code afterId} are returned (keyset pagination).
+     */
+    @Query("SELECT new com.mainapp.dto.EmployeeResponse(a.id, a.firstName, a.lastName, a.username, a.email, a.phone, a.entityType, r.name) " +
+            "FROM AccountMaster a LEFT JOIN a.entityRoleMaster r " +
+            "WHERE a.entityType = :entityType AND a.entityTable.id = :entityId AND a.id > :afterId " +
+            "ORDER BY a.id")
+    Slice<EmployeeResponse> findEmployeePage(@Param("entityType") String entityType, @Param("entityId") Long entityId,
+                                             @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Lists every account of an entity regardless of type, keyset-paginated like {@link #findEmployeePage}.
+     */
+    @Query("SELECT new com.mainapp.dto.EmployeeResponse(a.id, a.firstName, a.lastName, a.username, a.email, a.phone, a.entityType, r.name) " +
+            "FROM AccountMaster a LEFT JOIN a.entityRoleMaster r " +
+            "WHERE a.entityTable.id = :entityId AND a.id > :afterId ORDER BY a.id")
+    Slice<EmployeeResponse> findAccountPage(@Param("entityId") Long entityId, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT new com.mainapp.dto.EmployeeResponse(a.id, a.firstName, a.lastName, a.username, a.email, a.phone, a.entityType, r.name) " +
+            "FROM AccountMaster a LEFT JOIN a.entityRoleMaster r WHERE a.id = :id")
+    Optional<EmployeeResponse> findEmployeeById(@Param("id") Long id);
+
+    @Query("SELECT new com.mainapp.dto.VersionStamp(COUNT(a), MAX(a.updatedAt)) FROM AccountMaster a " +
+            "WHERE a.entityType = :entityType AND a.entityTable.id = :entityId")
+    VersionStamp findEmployeeVersion(@Param("entityType") String entityType, @Param("entityId") Long entityId);
+
+    @Query("SELECT new com.mainapp.dto.VersionStamp(COUNT(a), MAX(a.updatedAt)) FROM AccountMaster a WHERE a.entityTable.id = :entityId")
+    VersionStamp findAccountVersionByEntityId(@Param("entityId") Long entityId);
+
+    @Query("SELECT new com.mainapp.dto.VersionStamp(COUNT(a), MAX(a.updatedAt)) FROM AccountMaster a WHERE a.entityTable.type = :type")
+    VersionStamp findAccountVersionByEntityType(@Param("type") String type);
 }
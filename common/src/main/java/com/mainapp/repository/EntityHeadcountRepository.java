@@ -0,0 +1,60 @@
+package com.mainapp.repository;
+
+import com.mainapp.models.EntityHeadcount;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * The statements below are native, so each one declares the table it changes: without it Hibernate
+ * would clear the whole second-level cache on every account change.
+ */
+public interface EntityHeadcountRepository extends JpaRepository<EntityHeadcount, Long> {
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "entity_headcount"))
+    @Query(value = "UPDATE entity_headcount SET account_count = GREATEST(account_count + :total, 0), " +
+            "active_account_count = GREATEST(active_account_count + :active, 0), updated_at = NOW() " +
+            "WHERE entity_id = :entityId", nativeQuery = true)
+    int addDelta(@Param("entityId") Long entityId, @Param("total") long total, @Param("active") long active);
+
+    /**
+     * Creates the counts of an organization by counting its accounts, which must already include the
+     * change being counted; callers flush pending account changes first, since this statement only
+     * declares entity_headcount. If a concurrent transaction created the counts first, the delta is
+     * applied to those instead.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "entity_headcount"))
+    @Query(value = "INSERT INTO entity_headcount (entity_id, account_count, active_account_count, updated_at) " +
+            "SELECT :entityId, COUNT(*), COALESCE(SUM(a.status = 'ACTIVE'), 0), NOW() FROM account_master a WHERE a.entity_id = :entityId " +
+            "ON DUPLICATE KEY UPDATE account_count = GREATEST(account_count + :total, 0), " +
+            "active_account_count = GREATEST(active_account_count + :active, 0), updated_at = NOW()", nativeQuery = true)
+    int insertCounted(@Param("entityId") Long entityId, @Param("total") long total, @Param("active") long active);
+
+    /**
+     * Creates the counts of an organization inserted in the current transaction, which are known
+     * without counting. Unlike {@link #insertCounted} this takes no locks on {@code account_master},
+     * so concurrent organization creations do not deadlock on its entity_id index.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "entity_headcount"))
+    @Query(value = "INSERT INTO entity_headcount (entity_id, account_count, active_account_count, updated_at) " +
+            "VALUES (:entityId, :total, :active, NOW())", nativeQuery = true)
+    int insertNew(@Param("entityId") Long entityId, @Param("total") long total, @Param("active") long active);
+
+    /**
+     * Counts the accounts of every organization that has no counts yet.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "entity_headcount"))
+    @Query(value = "INSERT INTO entity_headcount (entity_id, account_count, active_account_count, updated_at) " +
+            "SELECT e.id, COUNT(a.id), COALESCE(SUM(a.status = 'ACTIVE'), 0), NOW() FROM entity e " +
+            "LEFT JOIN account_master a ON a.entity_id = e.id " +
+            "WHERE NOT EXISTS (SELECT 1 FROM entity_headcount h WHERE h.entity_id = e.id) GROUP BY e.id", nativeQuery = true)
+    int backfillMissing();
+}
@@ -1,8 +1,18 @@
 package com.mainapp.repository;
 
 import com.mainapp.dto.EntityDTO;
+import com.mainapp.dto.OrganizationDetail;
+import com.mainapp.dto.OrganizationSummary;
+import com.mainapp.dto.VersionStamp;
 import com.mainapp.models.EntityTable;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -23,8 +33,41 @@ public interface EntityRepository extends JpaRepository<EntityTable, Long> {
          * @param type The type of entities to retrieve.
          * @return A list of EntityDTO objects that match the specified type.
          */
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
         List<EntityDTO> findByType(String type);
         Optional<EntityTable> findById(Long id);
 
+        /**
+         * Loads an organization with its account counts from {@code entity_headcount} and its role
+         * count in one query, without touching the accounts collection, so the cost does not grow
+         * with the number of accounts.
+         */
+        @Query("SELECT new com.mainapp.dto.OrganizationDetail(e.id, e.name, e.description, e.type, e.policy, " +
+                "e.createdAt, e.updatedAt, e.createdBy, e.updatedBy, h.accountCount, h.activeAccountCount, " +
+                "(SELECT COUNT(r) FROM EntityRoleMaster r WHERE r.entityTable = e)) " +
+                "FROM EntityTable e LEFT JOIN EntityHeadcount h ON h.entityId = e.id WHERE e.id = :id")
+        Optional<OrganizationDetail> findDetailById(@Param("id") Long id);
+
+        /**
+         * Finds a page of organizations of a type whose name starts with a prefix, ordered by name and
+         * starting after {@code afterName}, with their counts from {@code entity_headcount}.
+         *
+         * @param prefix LIKE pattern with '!' as escape character, e.g. "ac%".
+         */
+        @Query("SELECT new com.mainapp.dto.OrganizationSummary(e.id, e.name, e.description, e.policy, e.createdAt, " +
+                "h.accountCount, h.activeAccountCount) " +
+                "FROM EntityTable e LEFT JOIN EntityHeadcount h ON h.entityId = e.id " +
+                "WHERE e.type = :type AND e.name LIKE :prefix ESCAPE '!' AND e.name > :afterName ORDER BY e.name")
+        Slice<OrganizationSummary> findDirectoryPage(@Param("type") String type, @Param("prefix") String prefix,
+                                                     @Param("afterName") String afterName, Pageable pageable);
+
+        @Query("SELECT new com.mainapp.dto.VersionStamp(COUNT(e), MAX(e.updatedAt)) FROM EntityTable e WHERE e.type = :type")
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+        VersionStamp findVersionByType(@Param("type") String type);
+
+        @Query("SELECT new com.mainapp.dto.VersionStamp(COUNT(e), MAX(e.updatedAt)) FROM EntityTable e WHERE e.id = :id")
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+        VersionStamp findVersionById(@Param("id") Long id);
+
 //        Optional<EntityTable> findByentity_Id(Long id);
 }
@@ -1,8 +1,24 @@
 package com.mainapp.repository;
 
 
+import com.mainapp.dto.VersionStamp;
 import com.mainapp.models.EntityRoleMaster;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 public interface EntityRoleMasterRepository extends JpaRepository<EntityRoleMaster, Long> {
+
+    /**
+     * Id of the organization's row for a role, the oldest one if duplicates still exist, or null.
+     */
+    @Query("SELECT MIN(r.id) FROM EntityRoleMaster r WHERE r.entityTable.id = :entityId AND r.roleMaster.id = :roleId")
+    Long findIdByEntityIdAndRoleId(@Param("entityId") Long entityId, @Param("roleId") Long roleId);
+
+    @Query("SELECT new com.mainapp.dto.VersionStamp(COUNT(r), MAX(r.updatedAt)) FROM EntityRoleMaster r WHERE r.entityTable.id = :entityId")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    VersionStamp findVersionByEntityId(@Param("entityId") Long entityId);
 }
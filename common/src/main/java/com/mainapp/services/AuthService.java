@@ -7,6 +7,10 @@ import com.mainapp.dto.SessionValidationResponse;
 import com.mainapp.models.AccountMaster;
 import com.mainapp.models.EntityTable;
 import com.mainapp.models.Session;
+import com.mainapp.utils.AppMetrics;
+import com.mainapp.utils.CpuBoundExecutor;
+import com.mainapp.utils.JfrEvents;
+import com.mainapp.utils.ServerTiming;
 import com.mainapp.utils.PasswordUtils;
 import com.mainapp.utils.SessionUtils;
 import jakarta.servlet.http.HttpServletRequest;
@@ -32,6 +36,14 @@ public class AuthService {
     @Autowired
     private SessionUtils sessionUtils;
 
+    @Autowired
+    private AppMetrics appMetrics;
+
+    @Autowired
+    private CpuBoundExecutor cpuBoundExecutor;
+
+    private static final String MODULE = "authentication";
+
     /**
      * Method to handle user login.
      * It validates the user credentials and starts a session if successful.
@@ -44,6 +56,24 @@ public class AuthService {
      * Author: Sidharth Guleria
      */
     public LoginResponse login(LoginRequest loginRequest, HttpServletRequest request, HttpSession session) throws UnknownHostException {
+        JfrEvents.LoginEvent event = new JfrEvents.LoginEvent();
+        event.begin();
+        long start = System.nanoTime();
+        LoginResponse response = authenticate(loginRequest, request, session);
+        ServerTiming.record(ServerTiming.Phase.AUTH, start);
+        String outcome = response.getStatusCode() == 200 ? "success" : "invalid_credentials";
+        appMetrics.record("erp.auth.login", MODULE, response.getEntityType(), outcome, start);
+        event.end();
+        if (event.shouldCommit()) {
+            event.entityId = JfrEvents.currentEntityId();
+            event.entityType = response.getEntityType();
+            event.outcome = outcome;
+            event.commit();
+        }
+        return response;
+    }
+
+    private LoginResponse authenticate(LoginRequest loginRequest, HttpServletRequest request, HttpSession session) throws UnknownHostException {
         Optional<AccountMaster> accountMasterOptional = accountMasterRepository.findByUsernameOrEmailOrPhone(
                 loginRequest.getUsername(), loginRequest.getEmail(), loginRequest.getPhone()
         );
@@ -51,7 +81,20 @@ public class AuthService {
         if (accountMasterOptional.isPresent()) {
             AccountMaster accountMaster = accountMasterOptional.get();
 
-            if (PasswordUtils.matchPassword(loginRequest.getPassword(), accountMaster.getPassword())) {
+            JfrEvents.PasswordHashEvent hashEvent = new JfrEvents.PasswordHashEvent();
+            hashEvent.begin();
+            long matchStart = System.nanoTime();
+            boolean matched = cpuBoundExecutor.call(() -> PasswordUtils.matchPassword(loginRequest.getPassword(), accountMaster.getPassword()));
+            ServerTiming.record(ServerTiming.Phase.HASH, matchStart);
+            hashEvent.end();
+            if (hashEvent.shouldCommit()) {
+                hashEvent.operation = "match";
+                hashEvent.entityId = accountMaster.getEntityTable() != null ? JfrEvents.id(accountMaster.getEntityTable().getId()) : 0;
+                hashEvent.outcome = matched ? "match" : "mismatch";
+                hashEvent.commit();
+            }
+            appMetrics.record("erp.auth.password.match", MODULE, accountMaster.getEntityType(), matched ? "match" : "mismatch", matchStart);
+            if (matched) {
                 // Retrieve the IP address and User Agent
                 String ipAddress = getIpAddress(request);
                 String userAgent = request.getHeader("User-Agent");
@@ -185,7 +228,7 @@ public class AuthService {
      * Author: Sidharth Guleria
      */
     public SessionValidationResponse validateSession(HttpSession session) {
-
+        long start = System.nanoTime();
         SessionValidationResponse response = new SessionValidationResponse();
 
         if (session != null && session.getAttribute("userId") != null) {
@@ -203,11 +246,12 @@ public class AuthService {
             response.setEntityID((Long) session.getAttribute("entityId"));
             response.setEntityTablePolicy((String) session.getAttribute("entityPolicy"));
         } else {
+            appMetrics.increment("erp.auth.session.invalid", MODULE, null, "expired");
             response.setSessionValid(false);
             response.setMessage("Session has expired or is invalid.");
             response.setStatusCode(403); // Forbidden (Session Expired)
         }
-
+        ServerTiming.record(ServerTiming.Phase.AUTH, start);
         return response;
 
     }
@@ -230,6 +274,7 @@ public class AuthService {
 
         // Check if the user is SuperAdmin
         if (!"101".equals(response.getEntityType())) {
+            appMetrics.increment("erp.auth.session.invalid", MODULE, response.getEntityType(), "access_denied");
             response.setSessionValid(false);
             response.setMessage("Access Denied: User is not a SuperAdmin.");
             response.setStatusCode(403); // Forbidden
@@ -257,6 +302,7 @@ public class AuthService {
         }
         // Check if the user is SuperAdmin
         if (!"102".equals(response.getEntityType())) {
+            appMetrics.increment("erp.auth.session.invalid", MODULE, response.getEntityType(), "access_denied");
             response.setSessionValid(false);
             response.setMessage("Access Denied: Only Employee Have the Access To The Api.");
             response.setStatusCode(403); // Forbidden
@@ -0,0 +1,124 @@
+package com.mainapp.services;
+
+import com.mainapp.enums.Status;
+import com.mainapp.events.OrganizationChangedEvent;
+import com.mainapp.models.EntityRoleMaster;
+import com.mainapp.models.EntityTable;
+import com.mainapp.repository.EntityRoleMasterRepository;
+import com.mainapp.repository.RoleMasterRepository;
+import com.mainapp.utils.CommonUtils;
+import com.mainapp.utils.LruCache;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+/**
+ * Resolves the {@link EntityRoleMaster} shared by all accounts of an organization that have the
+ * same role. There is one row per (organization, role); it is created the first time the role is
+ * assigned in the organization and its id is cached afterwards, so assigning a role normally costs
+ * no query at all.
+ * <p>
+ * A missing row is created in its own transaction, so that a concurrent creation on another node
+ * fails on the unique (entity_id, role_id) index without rolling back the caller, and the row that
+ * won is used instead.
+ */
+@Service
+public class EntityRoleResolver {
+
+    @Autowired
+    private EntityRoleMasterRepository entityRoleMasterRepository;
+
+    @Autowired
+    private RoleMasterRepository roleMasterRepository;
+
+    @Autowired
+    private CommonUtils commonUtils;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.entity-roles.cache-size:10000}")
+    private int cacheSize;
+
+    private LruCache<Key, Long> ids;
+    private TransactionTemplate requiresNew;
+
+    @PostConstruct
+    public void init() {
+        ids = new LruCache<>("entity-roles", cacheSize, 0);
+        requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Returns a reference to the organization's row for the role, creating the row if needed. The
+     * organization must already be committed; use {@link #createForNewEntity} for an organization
+     * created in the current transaction.
+     */
+    public EntityRoleMaster resolve(EntityTable entity, RoleCatalog.Role role, Long createdBy) {
+        Key key = new Key(entity.getId(), role.id());
+        Long id = ids.get(key);
+        if (id == null) {
+            id = entityRoleMasterRepository.findIdByEntityIdAndRoleId(entity.getId(), role.id());
+            if (id == null) {
+                id = create(entity, role, createdBy);
+            }
+            ids.put(key, id);
+        }
+        return entityRoleMasterRepository.getReferenceById(id);
+    }
+
+    /**
+     * Creates the row of a role for an organization inserted in the current transaction. The id is
+     * not cached until it is read back by {@link #resolve}, since the transaction may still roll back.
+     */
+    public EntityRoleMaster createForNewEntity(EntityTable entity, RoleCatalog.Role role, Long createdBy) {
+        return entityRoleMasterRepository.save(newEntityRole(entity, role, createdBy));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrganizationChanged(OrganizationChangedEvent event) {
+        if (event.getType() == OrganizationChangedEvent.Type.DELETED) {
+            ids.removeIf(key -> key.entityId.equals(event.getEntityId()));
+        }
+    }
+
+    public Map<String, Object> stats() {
+        return ids.stats();
+    }
+
+    private Long create(EntityTable entity, RoleCatalog.Role role, Long createdBy) {
+        try {
+            return requiresNew.execute(tx -> entityRoleMasterRepository.saveAndFlush(newEntityRole(entity, role, createdBy)).getId());
+        } catch (DataIntegrityViolationException e) {
+            Long id = entityRoleMasterRepository.findIdByEntityIdAndRoleId(entity.getId(), role.id());
+            if (id == null) {
+                throw e;
+            }
+            return id; // created concurrently
+        }
+    }
+
+    private EntityRoleMaster newEntityRole(EntityTable entity, RoleCatalog.Role role, Long createdBy) {
+        EntityRoleMaster entityRoleMaster = new EntityRoleMaster();
+        entityRoleMaster.setEntityTable(entity);
+        entityRoleMaster.setRoleMaster(roleMasterRepository.getReferenceById(role.id()));
+        entityRoleMaster.setName(role.name());
+        entityRoleMaster.setDescription(role.description());
+        entityRoleMaster.setStatus(Status.ACTIVE);
+        entityRoleMaster.setPolicy(commonUtils.generatePolicyNumber());
+        entityRoleMaster.setCreatedBy(createdBy);
+        return entityRoleMaster;
+    }
+
+    private record Key(Long entityId, Long roleId) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.mainapp.services;
+
+import com.mainapp.repository.EntityHeadcountRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Maintains the per-organization account counts in {@code entity_headcount}.
+ * <p>
+ * Services that add, delete or toggle accounts call {@link #adjust} inside their own transaction,
+ * so the counts commit or roll back together with the change. Organizations created before the
+ * counts existed are counted once on startup, or on their first change.
+ */
+@Service
+public class HeadcountService {
+
+    @Autowired
+    private EntityHeadcountRepository entityHeadcountRepository;
+
+    /**
+     * Adds the given deltas to an organization's total and active account counts. Call it after the
+     * account change it counts: when the organization has no counts yet, they are created by
+     * counting its accounts, which then already include the change. Pending changes are flushed
+     * first, so that an account deleted or toggled in this transaction is counted as it will be
+     * committed.
+     *
+     * @param entityId The organization, ignored when null.
+     * @param total    Change of the number of accounts.
+     * @param active   Change of the number of active accounts.
+     */
+    @Transactional
+    public void adjust(Long entityId, long total, long active) {
+        if (entityId == null) {
+            return;
+        }
+        if (entityHeadcountRepository.addDelta(entityId, total, active) == 0) {
+            entityHeadcountRepository.flush();
+            entityHeadcountRepository.insertCounted(entityId, total, active);
+        }
+    }
+
+    /**
+     * Sets the counts of an organization created in the current transaction.
+     */
+    @Transactional
+    public void create(Long entityId, long total, long active) {
+        entityHeadcountRepository.insertNew(entityId, total, active);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        entityHeadcountRepository.backfillMissing();
+    }
+}
@@ -0,0 +1,134 @@
+package com.mainapp.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads that block while pinned to their carrier thread, typically inside a
+ * {@code synchronized} block or method of our code or of the JDBC driver.
+ * <p>
+ * Listens to the JDK's {@code jdk.VirtualThreadPinned} flight recorder event (Java 21) for pins
+ * longer than {@code app.virtual-threads.pinned-threshold-millis}. Pins are grouped by the first
+ * application or driver frame of their stack: the first pin of a site is logged with its stack,
+ * and counts and durations of every site are in {@link #stats()}. Active in the virtual-thread mode
+ * only.
+ */
+@Service
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class PinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(PinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 12;
+
+    @Value("${app.virtual-threads.pinned-threshold-millis:20}")
+    private long thresholdMillis;
+
+    @Value("${app.virtual-threads.max-pinned-sites:100}")
+    private int maxSites;
+
+    private final Map<String, Site> sites = new ConcurrentHashMap<>();
+    private final LongAdder total = new LongAdder();
+    private RecordingStream stream;
+
+    private static final class Site {
+        final LongAdder count = new LongAdder();
+        volatile long maxNanos;
+        volatile String thread;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (Runtime.version().feature() < 21) {
+            log.warn("Virtual threads need Java 21, running on {}: requests are served on platform threads", Runtime.version());
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMillis)).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Reporting virtual threads pinned for more than {} ms", thresholdMillis);
+    }
+
+    private void onPinned(RecordedEvent event) {
+        total.increment();
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<RecordedFrame> frames = stackTrace != null ? stackTrace.getFrames() : List.of();
+        String site = frames.stream()
+                .filter(frame -> frame.isJavaFrame() && !isJdk(frame.getMethod().getType().getName()))
+                .findFirst()
+                .map(PinningMonitor::describe)
+                .orElse("unknown");
+        Site stats = sites.get(site);
+        if (stats == null) {
+            if (sites.size() >= maxSites) {
+                site = "other";
+            }
+            Site created = new Site();
+            stats = sites.putIfAbsent(site, created);
+            if (stats == null) {
+                stats = created;
+                log.warn("Virtual thread pinned for {} ms at {}:\n\t{}", event.getDuration().toMillis(), site,
+                        frames.stream().limit(LOGGED_FRAMES).map(PinningMonitor::describe).collect(Collectors.joining("\n\t")));
+            }
+        }
+        stats.count.increment();
+        long nanos = event.getDuration().toNanos();
+        if (nanos > stats.maxNanos) {
+            stats.maxNanos = nanos;
+        }
+        stats.thread = event.getThread() != null ? event.getThread().getJavaName() : null;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("monitoring", stream != null);
+        stats.put("thresholdMillis", thresholdMillis);
+        stats.put("total", total.sum());
+        stats.put("sites", sites.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Site> entry) -> entry.getValue().count.sum()).reversed())
+                .map(entry -> {
+                    Map<String, Object> site = new LinkedHashMap<>();
+                    site.put("site", entry.getKey());
+                    site.put("count", entry.getValue().count.sum());
+                    site.put("maxMillis", entry.getValue().maxNanos / 1e6);
+                    site.put("lastThread", entry.getValue().thread);
+                    return site;
+                })
+                .collect(Collectors.toList()));
+        return stats;
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private static boolean isJdk(String className) {
+        return className.startsWith("java.") || className.startsWith("jdk.") || className.startsWith("sun.");
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
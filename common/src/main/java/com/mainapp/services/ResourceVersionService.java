@@ -0,0 +1,158 @@
+package com.mainapp.services;
+
+import com.mainapp.dto.VersionStamp;
+import com.mainapp.events.EmployeeChangedEvent;
+import com.mainapp.events.OrganizationChangedEvent;
+import com.mainapp.repository.AccountMasterRepository;
+import com.mainapp.repository.EntityRepository;
+import com.mainapp.repository.EntityRoleMasterRepository;
+import com.mainapp.utils.LruCache;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Derives strong ETags and Last-Modified values for organization and employee reads from row counts
+ * and {@code MAX(updatedAt)} aggregates, so a conditional GET can be answered with 304 without
+ * loading or serializing the rows.
+ * <p>
+ * Aggregates are cached and dropped from {@link OrganizationChangedEvent} and
+ * {@link EmployeeChangedEvent} after commit, so changes made on this node are reflected at once.
+ * Changes made on other nodes are picked up when the cached aggregate expires after
+ * {@code app.etag.ttl-seconds}. As in the employee read cache, entries are stamped with a
+ * generation taken before querying so an aggregate read concurrently with a change is never reused.
+ */
+@Service
+public class ResourceVersionService {
+
+    // Bump when the JSON shape of a versioned response changes, to invalidate client caches
+    private static final String REPRESENTATION = "v2";
+    private static final int GENERATION_STRIPES = 1024;
+
+    @Autowired
+    private EntityRepository entityRepository;
+
+    @Autowired
+    private AccountMasterRepository accountMasterRepository;
+
+    @Autowired
+    private EntityRoleMasterRepository entityRoleMasterRepository;
+
+    @Value("${app.etag.ttl-seconds:10}")
+    private long ttlSeconds;
+
+    @Value("${app.etag.cache-size:10000}")
+    private int cacheSize;
+
+    private final AtomicLong listGeneration = new AtomicLong();
+    private final AtomicLongArray entityGenerations = new AtomicLongArray(GENERATION_STRIPES);
+
+    private LruCache<String, Stamped> versions;
+
+    @PostConstruct
+    public void initCache() {
+        versions = new LruCache<>("resource-versions", cacheSize, ttlSeconds);
+    }
+
+    /**
+     * Version of the organization list of a type, including the accounts listed under each organization.
+     */
+    public ResourceVersion organizationList(String type) {
+        return get("organizations:" + type, listGeneration.get(), () -> ResourceVersion.of("ol",
+                entityRepository.findVersionByType(type),
+                accountMasterRepository.findAccountVersionByEntityType(type)));
+    }
+
+    /**
+     * Version of an organization's detail, including its accounts.
+     */
+    public ResourceVersion organization(Long entityId) {
+        return get("organization:" + entityId, entityGenerations.get(stripe(entityId)), () -> ResourceVersion.of("o",
+                entityRepository.findVersionById(entityId),
+                accountMasterRepository.findAccountVersionByEntityId(entityId)));
+    }
+
+    /**
+     * Version of the employee listing of an organization, including the role names it shows.
+     */
+    public ResourceVersion employees(Long entityId, String entityType) {
+        return get("employees:" + entityId + ":" + entityType, entityGenerations.get(stripe(entityId)), () -> ResourceVersion.of("e",
+                accountMasterRepository.findEmployeeVersion(entityType, entityId),
+                entityRoleMasterRepository.findVersionByEntityId(entityId)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrganizationChanged(OrganizationChangedEvent event) {
+        invalidate(event.getEntityId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        invalidate(event.getEntityId());
+    }
+
+    private void invalidate(Long entityId) {
+        listGeneration.incrementAndGet();
+        versions.removeIf(key -> key.startsWith("organizations:"));
+        if (entityId != null) {
+            entityGenerations.incrementAndGet(stripe(entityId));
+            versions.remove("organization:" + entityId);
+            versions.removeIf(key -> key.startsWith("employees:" + entityId + ":"));
+        }
+    }
+
+    private ResourceVersion get(String key, long generation, Supplier<ResourceVersion> loader) {
+        Stamped cached = versions.get(key);
+        if (cached != null && cached.generation == generation) {
+            return cached.version;
+        }
+        ResourceVersion loaded = loader.get();
+        versions.put(key, new Stamped(generation, loaded));
+        return loaded;
+    }
+
+    private static int stripe(Long id) {
+        return (int) ((id ^ (id >>> 32)) * 0x9E3779B9L >>> 22) & (GENERATION_STRIPES - 1);
+    }
+
+    private record Stamped(long generation, ResourceVersion version) {
+    }
+
+    /**
+     * A strong ETag and the Last-Modified time (epoch milliseconds, -1 when unknown) of a resource.
+     */
+    public static final class ResourceVersion {
+        private final String eTag;
+        private final long lastModified;
+
+        private ResourceVersion(String eTag, long lastModified) {
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+        }
+
+        static ResourceVersion of(String prefix, VersionStamp... stamps) {
+            StringBuilder tag = new StringBuilder("\"").append(REPRESENTATION).append('-').append(prefix);
+            long lastModified = -1;
+            for (VersionStamp stamp : stamps) {
+                tag.append('-').append(Long.toHexString(stamp.getCount()))
+                        .append('.').append(Long.toHexString(stamp.getLastModifiedMicros()));
+                lastModified = Math.max(lastModified, stamp.getLastModifiedMillis());
+            }
+            return new ResourceVersion(tag.append('"').toString(), lastModified);
+        }
+
+        public String getETag() {
+            return eTag;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.mainapp.services;
+
+import com.mainapp.models.RoleMaster;
+import com.mainapp.repository.RoleMasterRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory catalog of the roles in {@code role_master}.
+ * <p>
+ * Roles are a small reference table that rarely changes, so the whole table is held as an immutable
+ * snapshot that readers use without locking or touching the database. The snapshot is replaced as a
+ * whole (copy-on-write) every {@code app.roles.refresh-seconds}, and also when a role id that is not
+ * in the snapshot is asked for, at most once per {@code app.roles.miss-reload-millis}, so a newly
+ * added role is usable right away. A reload that finds the same roles keeps the current snapshot and
+ * its version.
+ */
+@Service
+public class RoleCatalog {
+
+    private static final Logger log = LoggerFactory.getLogger(RoleCatalog.class);
+
+    @Autowired
+    private RoleMasterRepository roleMasterRepository;
+
+    @Value("${app.roles.refresh-seconds:300}")
+    private long refreshSeconds;
+
+    @Value("${app.roles.miss-reload-millis:1000}")
+    private long missReloadMillis;
+
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), List.of(), "\"roles-0\"");
+    private volatile long lastLoadNanos;
+
+    private ScheduledExecutorService refresher;
+
+    @PostConstruct
+    public void start() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("Failed to load the role catalog, retrying on first use", e);
+        }
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "role-catalog-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleWithFixedDelay(() -> {
+            try {
+                refresh();
+            } catch (RuntimeException e) {
+                log.warn("Failed to refresh the role catalog", e);
+            }
+        }, refreshSeconds, refreshSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        refresher.shutdownNow();
+    }
+
+    /**
+     * Finds a role by id, reloading the catalog once if the id is unknown.
+     */
+    public Optional<Role> find(Long roleId) {
+        if (roleId == null) {
+            return Optional.empty();
+        }
+        Role role = snapshot.byId.get(roleId);
+        if (role == null && System.nanoTime() - lastLoadNanos > TimeUnit.MILLISECONDS.toNanos(missReloadMillis)) {
+            refresh();
+            role = snapshot.byId.get(roleId);
+        }
+        return Optional.ofNullable(role);
+    }
+
+    /**
+     * All roles ordered by id, or only those of an entity type when one is given.
+     */
+    public List<Role> getRoles(String entityType) {
+        List<Role> roles = snapshot.roles;
+        return entityType == null ? roles : roles.stream().filter(role -> entityType.equals(role.entityType())).toList();
+    }
+
+    /**
+     * Strong ETag of the current snapshot; changes only when the roles do.
+     */
+    public String getVersion() {
+        return snapshot.version;
+    }
+
+    /**
+     * Reloads the roles from the database and swaps in a new snapshot if they changed.
+     */
+    public synchronized void refresh() {
+        List<Role> roles = roleMasterRepository.findAll().stream()
+                .map(Role::of)
+                .sorted(Comparator.comparing(Role::id))
+                .toList();
+        lastLoadNanos = System.nanoTime();
+        if (roles.equals(snapshot.roles)) {
+            return;
+        }
+        Map<Long, Role> byId = new LinkedHashMap<>();
+        roles.forEach(role -> byId.put(role.id(), role));
+        snapshot = new Snapshot(Map.copyOf(byId), roles, "\"roles-" + Integer.toHexString(roles.hashCode()) + "-" + roles.size() + "\"");
+    }
+
+    private record Snapshot(Map<Long, Role> byId, List<Role> roles, String version) {
+    }
+
+    /**
+     * Immutable view of a {@link RoleMaster} row.
+     */
+    public record Role(Long id, String name, String description, String entityType, String roleType) {
+
+        static Role of(RoleMaster role) {
+            return new Role(role.getId(), role.getName(), role.getDescription(), role.getEntityType(), role.getRoleType());
+        }
+    }
+}
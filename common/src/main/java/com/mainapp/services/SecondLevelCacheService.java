@@ -0,0 +1,72 @@
+package com.mainapp.services;
+
+import com.mainapp.events.OrganizationChangedEvent;
+import com.mainapp.models.EntityRoleMaster;
+import com.mainapp.models.EntityTable;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the Hibernate second-level cache (regions configured in {@code ehcache.xml}) consistent with
+ * changes Hibernate does not see, and reports its statistics.
+ * <p>
+ * Changes made through repositories update the cache themselves. Organization deletion works with
+ * plain SQL, so the cached rows and query results it affects are evicted here.
+ */
+@Service
+public class SecondLevelCacheService {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrganizationChanged(OrganizationChangedEvent event) {
+        if (event.getType() == OrganizationChangedEvent.Type.DELETED) {
+            jakarta.persistence.Cache cache = entityManagerFactory.getCache();
+            cache.evict(EntityTable.class, event.getEntityId());
+            // the ids of the organization's roles are unknown once they are deleted
+            cache.evict(EntityRoleMaster.class);
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictDefaultQueryRegion();
+        }
+    }
+
+    /**
+     * Hits, misses, puts and hit ratio of every region, plus totals for entities and queries.
+     */
+    public Map<String, Object> stats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Object> regions = new LinkedHashMap<>();
+        Arrays.stream(statistics.getSecondLevelCacheRegionNames()).sorted().forEach(name -> {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+            if (region != null) {
+                regions.put(name, counters(region.getHitCount(), region.getMissCount(), region.getPutCount()));
+            }
+        });
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", statistics.isStatisticsEnabled());
+        stats.put("entities", counters(statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(), statistics.getSecondLevelCachePutCount()));
+        stats.put("queries", counters(statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount()));
+        stats.put("regions", regions);
+        return stats;
+    }
+
+    private static Map<String, Object> counters(long hits, long misses, long puts) {
+        Map<String, Object> counters = new LinkedHashMap<>();
+        counters.put("hits", hits);
+        counters.put("misses", misses);
+        counters.put("puts", puts);
+        counters.put("hitRatio", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+        return counters;
+    }
+}
@@ -0,0 +1,152 @@
+package com.mainapp.services;
+
+import com.mainapp.utils.SqlTrace;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-request SQL statement budget and per-endpoint SQL aggregates.
+ * <p>
+ * A sampled fraction ({@code app.sql.sample-rate}, 1% by default) of requests is traced; the
+ * {@code sql-trace} profile traces every request, for development, test and load-test
+ * environments. A request that runs more than {@code app.sql.max-statements} statements, or the
+ * same statement more than {@code app.sql.max-repeats} times (N+1), is logged as a warning, or
+ * fails right away when {@code app.sql.fail-on-violation} is set, which is meant for test and
+ * load-test runs.
+ */
+@Service
+public class SqlStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatsService.class);
+    private static final String OTHER = "other";
+
+    @Value("${app.sql.sample-rate:0.01}")
+    private double sampleRate;
+
+    @Value("${app.sql.max-statements:100}")
+    private int maxStatements;
+
+    @Value("${app.sql.max-repeats:20}")
+    private int maxRepeats;
+
+    @Value("${app.sql.fail-on-violation:false}")
+    private boolean failOnViolation;
+
+    @Value("${app.sql.max-endpoints:500}")
+    private int maxEndpoints;
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * Starts tracing the current request if it is sampled.
+     *
+     * @return The trace, or null if the request is not traced.
+     */
+    public SqlTrace begin() {
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return null;
+        }
+        SqlTrace trace = new SqlTrace(maxStatements, maxRepeats, failOnViolation);
+        SqlTrace.begin(trace);
+        return trace;
+    }
+
+    /**
+     * Stops tracing the current request and adds it to the endpoint's aggregates.
+     *
+     * @param endpoint Controller method that handled the request, e.g. {@code ManageEmployeeController.getEmployeesByEntityType}.
+     */
+    public void end(SqlTrace trace, String endpoint) {
+        SqlTrace.end();
+        EndpointStats stats = endpoints.get(endpoint);
+        if (stats == null) {
+            stats = endpoints.size() < maxEndpoints
+                    ? endpoints.computeIfAbsent(endpoint, key -> new EndpointStats())
+                    : endpoints.computeIfAbsent(OTHER, key -> new EndpointStats());
+        }
+        stats.add(trace);
+        if (trace.isOverBudget()) {
+            log.warn("{} ran {} SQL statements ({} rows, {} ms); most repeated {} times: {}", endpoint,
+                    trace.getStatements(), trace.getRows(), TimeUnit.NANOSECONDS.toMillis(trace.getNanos()),
+                    trace.getRepeatedCount(), trace.getRepeatedSql());
+        }
+    }
+
+    /**
+     * Aggregates per endpoint, the endpoints running the most statements per request first.
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> byEndpoint = new LinkedHashMap<>();
+        endpoints.entrySet().stream()
+                .sorted(Comparator.comparingDouble((Map.Entry<String, EndpointStats> entry) -> entry.getValue().averageStatements()).reversed())
+                .forEach(entry -> byEndpoint.put(entry.getKey(), entry.getValue().toMap()));
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("sampleRate", sampleRate);
+        stats.put("maxStatements", maxStatements);
+        stats.put("maxRepeats", maxRepeats);
+        stats.put("endpoints", byEndpoint);
+        return stats;
+    }
+
+    public void reset() {
+        endpoints.clear();
+    }
+
+    private static final class EndpointStats {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+        private final LongAdder nPlusOne = new LongAdder();
+        private final LongAdder overBudget = new LongAdder();
+        private volatile String lastRepeatedSql;
+
+        void add(SqlTrace trace) {
+            requests.increment();
+            statements.add(trace.getStatements());
+            rows.add(trace.getRows());
+            nanos.add(trace.getNanos());
+            maxStatements.accumulate(trace.getStatements());
+            if (trace.isNPlusOne()) {
+                nPlusOne.increment();
+                lastRepeatedSql = trace.getRepeatedSql();
+            }
+            if (trace.isOverBudget()) {
+                overBudget.increment();
+            }
+        }
+
+        double averageStatements() {
+            long count = requests.sum();
+            return count == 0 ? 0 : (double) statements.sum() / count;
+        }
+
+        Map<String, Object> toMap() {
+            long count = requests.sum();
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("requests", count);
+            map.put("statements", statements.sum());
+            map.put("averageStatements", averageStatements());
+            map.put("maxStatements", maxStatements.get());
+            map.put("rows", rows.sum());
+            map.put("dbMillis", TimeUnit.NANOSECONDS.toMillis(nanos.sum()));
+            map.put("averageDbMillis", count == 0 ? 0.0 : nanos.sum() / 1_000_000.0 / count);
+            map.put("nPlusOneRequests", nPlusOne.sum());
+            map.put("overBudgetRequests", overBudget.sum());
+            map.put("lastRepeatedSql", lastRepeatedSql);
+            return map;
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package com.mainapp.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mainapp.dto.EmployeeResponse;
+import com.mainapp.dto.LoginRequest;
+import com.mainapp.dto.LoginResponse;
+import com.mainapp.dto.OrganizationSummary;
+import com.mainapp.dto.SessionValidationResponse;
+import com.mainapp.dto.VersionStamp;
+import com.mainapp.utils.AppMetrics;
+import com.mainapp.utils.CpuBoundExecutor;
+import com.mainapp.utils.PasswordUtils;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Warms EntryApp up before it takes traffic, so the first logins and check-ins after a rollout do
+ * not pay for the cold JIT, the first BCrypt runs, Hibernate's query compilation and connection
+ * setup.
+ * <p>
+ * Runs once on startup, before Spring reports the application ready:
+ * <ol>
+ *   <li>verifies a synthetic BCrypt password {@code app.warmup.password-iterations} times, through
+ *   {@link CpuBoundExecutor} like a login;</li>
+ *   <li>calls every read query method of every repository {@code app.warmup.query-rounds} times
+ *   with synthetic arguments (ids that do not exist), in read-only transactions that write
+ *   nothing;</li>
+ *   <li>serializes the common response DTOs and parses a login request
+ *   {@code app.warmup.serialization-iterations} times with the MVC {@link ObjectMapper};</li>
+ *   <li>opens the pool's minimum number of idle connections at once.</li>
+ * </ol>
+ * A failing step is logged and skipped, the others still run. The readiness probe stays
+ * OUT_OF_SERVICE until the warm-up is over (see {@link com.mainapp.config.WarmupHealthIndicator}),
+ * and the duration of each step is in {@link #stats()} and the {@code erp.warmup} timer.
+ */
+@Service
+public class WarmupService implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmupService.class);
+    private static final String MODULE = "common";
+    private static final String SYNTHETIC_PASSWORD = "Warmup@2025";
+    private static final long SYNTHETIC_ID = -1L;
+    private static final List<String> READ_PREFIXES = List.of("find", "read", "get", "query", "search", "stream", "count", "exists");
+
+    @Value("${app.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.warmup.password-iterations:4}")
+    private int passwordIterations;
+
+    @Value("${app.warmup.query-rounds:50}")
+    private int queryRounds;
+
+    @Value("${app.warmup.serialization-iterations:2000}")
+    private int serializationIterations;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CpuBoundExecutor cpuBoundExecutor;
+
+    @Autowired
+    private AppMetrics appMetrics;
+
+    private final Map<String, Object> steps = new LinkedHashMap<>();
+    private volatile boolean finished;
+    private volatile long durationMillis;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            finished = true;
+            return;
+        }
+        long start = System.nanoTime();
+        boolean failed = false;
+        failed |= !step("passwords", this::warmPasswords);
+        failed |= !step("queries", this::warmQueries);
+        failed |= !step("serialization", this::warmSerialization);
+        failed |= !step("connections", this::fillPool);
+        durationMillis = (System.nanoTime() - start) / 1_000_000;
+        appMetrics.record("erp.warmup", MODULE, null, failed ? "partial" : "ok", start);
+        finished = true;
+        log.info("Warm-up finished in {} ms: {}", durationMillis, steps);
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("finished", finished);
+        if (finished) {
+            stats.put("durationMillis", durationMillis);
+        }
+        synchronized (steps) {
+            stats.put("steps", new LinkedHashMap<>(steps));
+        }
+        return stats;
+    }
+
+    private interface Step {
+        Map<String, Object> run() throws Exception;
+    }
+
+    private boolean step(String name, Step step) {
+        long start = System.nanoTime();
+        Map<String, Object> result;
+        boolean ok = true;
+        try {
+            result = new LinkedHashMap<>(step.run());
+        } catch (Exception e) {
+            log.warn("Warm-up step {} failed", name, e);
+            result = new LinkedHashMap<>();
+            result.put("error", e.toString());
+            ok = false;
+        }
+        result.put("millis", (System.nanoTime() - start) / 1_000_000);
+        synchronized (steps) {
+            steps.put(name, result);
+        }
+        return ok;
+    }
+
+    private Map<String, Object> warmPasswords() {
+        String hash = PasswordUtils.hashPassword(SYNTHETIC_PASSWORD);
+        for (int i = 0; i < passwordIterations; i++) {
+            cpuBoundExecutor.call(() -> PasswordUtils.matchPassword(SYNTHETIC_PASSWORD, hash));
+        }
+        return Map.of("iterations", passwordIterations);
+    }
+
+    private Map<String, Object> warmQueries() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        Repositories repositories = new Repositories(applicationContext);
+        int methods = 0;
+        int skipped = 0;
+        int failures = 0;
+        for (Class<?> domainType : repositories) {
+            Object repository = repositories.getRepositoryFor(domainType).orElse(null);
+            RepositoryInformation information = repositories.getRequiredRepositoryInformation(domainType);
+            for (Method method : information.getQueryMethods()) {
+                Object[] arguments = isRead(method) ? syntheticArguments(method) : null;
+                if (repository == null || arguments == null) {
+                    skipped++;
+                    continue;
+                }
+                methods++;
+                try {
+                    for (int round = 0; round < queryRounds; round++) {
+                        readOnly.executeWithoutResult(status -> {
+                            invoke(repository, method, arguments);
+                            status.setRollbackOnly();
+                        });
+                    }
+                } catch (RuntimeException e) {
+                    failures++;
+                    log.debug("Warm-up query {}.{} failed", information.getRepositoryInterface().getSimpleName(), method.getName(), e);
+                }
+            }
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("methods", methods);
+        result.put("rounds", queryRounds);
+        result.put("skipped", skipped);
+        result.put("failures", failures);
+        return result;
+    }
+
+    private Map<String, Object> warmSerialization() throws Exception {
+        List<EmployeeResponse> employees = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            employees.add(new EmployeeResponse(id, "Warm", "Up", "warm.up" + id, "warm.up" + id + "@example.com",
+                    "9000000000", "EMPLOYEE", "Employee"));
+        }
+        List<OrganizationSummary> organizations = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            organizations.add(new OrganizationSummary(id, "Warm-up " + id, "Synthetic", "2025000000000000",
+                    LocalDateTime.now(), 100L, 90L));
+        }
+        LoginResponse login = new LoginResponse();
+        login.setUsername("warm.up");
+        login.setEmail("warm.up@example.com");
+        login.setPhone("9000000000");
+        login.setEntityType("EMPLOYEE");
+        login.setRole("Employee");
+        login.setStatusCode(200);
+        login.setMessage("Login successful");
+        SessionValidationResponse session = new SessionValidationResponse();
+        session.setSessionValid(true);
+        session.setMessage("Session is valid.");
+        session.setStatusCode(200);
+        session.setUserId(SYNTHETIC_ID);
+        session.setUsername("warm.up");
+        session.setEntityType("EMPLOYEE");
+        List<Object> responses = List.of(
+                Map.of("status", 200, "message", "Employees fetched successfully.", "data", employees),
+                Map.of("status", 200, "message", "Organizations fetched successfully.", "data", organizations),
+                Map.of("status", 200, "message", "Login successful", "data", login),
+                session,
+                new VersionStamp(100L, LocalDateTime.now()));
+        byte[] request = objectMapper.writeValueAsBytes(Map.of("email", "warm.up@example.com", "password", SYNTHETIC_PASSWORD));
+        long bytes = 0;
+        for (int i = 0; i < serializationIterations; i++) {
+            for (Object response : responses) {
+                bytes += objectMapper.writeValueAsBytes(response).length;
+            }
+            objectMapper.readValue(request, LoginRequest.class);
+        }
+        return Map.of("iterations", serializationIterations, "bytes", bytes);
+    }
+
+    /**
+     * Holds the pool's minimum number of idle connections at the same time, so that all of them are
+     * open and validated before the first request.
+     */
+    private Map<String, Object> fillPool() throws SQLException {
+        HikariDataSource hikari = dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        int target = hikari != null ? Math.min(hikari.getMinimumIdle(), hikari.getMaximumPoolSize()) : 1;
+        List<Connection> connections = new ArrayList<>();
+        try {
+            for (int i = 0; i < target; i++) {
+                Connection connection = dataSource.getConnection();
+                connections.add(connection);
+                connection.isValid(5);
+            }
+        } finally {
+            for (Connection connection : connections) {
+                connection.close();
+            }
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("connections", connections.size());
+        if (hikari != null && hikari.getHikariPoolMXBean() != null) {
+            result.put("idle", hikari.getHikariPoolMXBean().getIdleConnections());
+        }
+        return result;
+    }
+
+    private static boolean isRead(Method method) {
+        return !AnnotatedElementUtils.hasAnnotation(method, Modifying.class)
+                && READ_PREFIXES.stream().anyMatch(method.getName()::startsWith);
+    }
+
+    /**
+     * Arguments matching the method's parameters that select no rows, or null when a parameter type
+     * is not supported.
+     */
+    private static Object[] syntheticArguments(Method method) {
+        Class<?>[] types = method.getParameterTypes();
+        Type[] genericTypes = method.getGenericParameterTypes();
+        Object[] arguments = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            arguments[i] = syntheticValue(types[i], genericTypes[i]);
+            if (arguments[i] == null) {
+                return null;
+            }
+        }
+        return arguments;
+    }
+
+    private static Object syntheticValue(Class<?> type, Type genericType) {
+        if (type == Long.class || type == long.class) {
+            return SYNTHETIC_ID;
+        }
+        if (type == Integer.class || type == int.class) {
+            return Year.now().getValue();
+        }
+        if (type == String.class) {
+            return "warmup%";
+        }
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.now();
+        }
+        if (type == LocalDate.class) {
+            return LocalDate.now();
+        }
+        if (type == Pageable.class) {
+            return PageRequest.of(0, 20);
+        }
+        if (type.isEnum()) {
+            return type.getEnumConstants()[0];
+        }
+        if (Collection.class.isAssignableFrom(type) && genericType instanceof ParameterizedType parameterized
+                && parameterized.getActualTypeArguments()[0] instanceof Class<?> element && element.isEnum()) {
+            return List.of(element.getEnumConstants());
+        }
+        return null;
+    }
+
+    private static void invoke(Object repository, Method method, Object[] arguments) {
+        try {
+            method.invoke(repository, arguments);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
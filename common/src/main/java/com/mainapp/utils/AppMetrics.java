@@ -0,0 +1,70 @@
+package com.mainapp.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timers and counters of the hot paths, tagged with {@code module}, {@code entityType} and
+ * {@code outcome}.
+ * <p>
+ * Meters are registered once per tag combination and then looked up in a concurrent map, so
+ * recording costs no registry lookup or lock. The application's registry is used when there is one
+ * (EntryApp exports it in Prometheus format); a module started on its own records into the
+ * no-op global registry.
+ */
+@Component
+public class AppMetrics {
+
+    private static final String NONE = "none";
+    // bounds of the histogram buckets, keeps the number of buckets per timer small
+    private static final Duration MIN_EXPECTED = Duration.ofMillis(1);
+    private static final Duration MAX_EXPECTED = Duration.ofSeconds(10);
+
+    private final MeterRegistry registry;
+    private final Map<Key, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<Key, Counter> counters = new ConcurrentHashMap<>();
+
+    public AppMetrics(ObjectProvider<MeterRegistry> registry) {
+        this.registry = registry.getIfAvailable(() -> Metrics.globalRegistry);
+    }
+
+    /**
+     * Records the time since {@code startNanos}, a {@link System#nanoTime()} reading.
+     */
+    public void record(String name, String module, String entityType, String outcome, long startNanos) {
+        Key key = new Key(name, module, entityType != null ? entityType : NONE, outcome);
+        Timer timer = timers.get(key);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(key, k -> Timer.builder(k.name)
+                    .tags("module", k.module, "entityType", k.entityType, "outcome", k.outcome)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(MIN_EXPECTED)
+                    .maximumExpectedValue(MAX_EXPECTED)
+                    .register(registry));
+        }
+        timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void increment(String name, String module, String entityType, String outcome) {
+        Key key = new Key(name, module, entityType != null ? entityType : NONE, outcome);
+        Counter counter = counters.get(key);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(key, k -> Counter.builder(k.name)
+                    .tags("module", k.module, "entityType", k.entityType, "outcome", k.outcome)
+                    .register(registry));
+        }
+        counter.increment();
+    }
+
+    private record Key(String name, String module, String entityType, String outcome) {
+    }
+}
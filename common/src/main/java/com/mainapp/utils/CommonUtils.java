@@ -4,12 +4,12 @@ import com.mainapp.repository.AccountMasterRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.Random;
-
 @Component
 public class CommonUtils {
     @Autowired
     private AccountMasterRepository accountMasterRepository;
+    @Autowired
+    private PolicyNumberGenerator policyNumberGenerator;
     /**
      * Generates a username using first name, last name, and entity name.
      */
@@ -33,9 +33,18 @@ public class CommonUtils {
     /**
      * Generates a unique policy number for entities and accounts.
      *
-     * @return A randomly generated 16-digit policy number.
+     * @return A time-ordered 16-digit policy number, unique across nodes with distinct worker ids.
      */
     public String generatePolicyNumber() {
-        return String.format("%016d", new Random().nextLong() & Long.MAX_VALUE);
+        return policyNumberGenerator.next();
+    }
+    /**
+     * Reserves policy numbers for a bulk onboarding run in one step.
+     *
+     * @param count Number of policy numbers needed.
+     * @return A block handing out the reserved numbers, to be used by one thread.
+     */
+    public PolicyNumberGenerator.Block reservePolicyNumbers(int count) {
+        return policyNumberGenerator.nextBlock(count);
     }
 }
@@ -0,0 +1,95 @@
+package com.mainapp.utils;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs CPU-heavy work such as BCrypt hashing on a fixed pool of platform threads.
+ * <p>
+ * On virtual threads a request that hashes for 250 ms keeps its carrier thread busy the whole time,
+ * and a login surge occupies every carrier so that no other request runs. With
+ * {@code app.cpu-pool.enabled} the work is handed to this pool instead, sized to the number of
+ * cores, and the virtual thread waits for the result without holding a carrier. When disabled, the
+ * default on platform threads, the work runs on the calling thread.
+ */
+@Component
+public class CpuBoundExecutor {
+
+    @Value("${app.cpu-pool.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.cpu-pool.threads:0}")
+    private int threads;
+
+    private ThreadPoolExecutor pool;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger count = new AtomicInteger();
+        pool = (ThreadPoolExecutor) Executors.newFixedThreadPool(size, runnable -> {
+            Thread thread = new Thread(runnable, "cpu-pool-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Runs the task on the pool, or on the calling thread when the pool is disabled, and returns
+     * its result. Exceptions of the task are rethrown as they are.
+     */
+    public <T> T call(Supplier<T> task) {
+        if (pool == null) {
+            return task.get();
+        }
+        Future<T> future = pool.submit(task::get);
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the CPU pool", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", pool != null);
+        if (pool != null) {
+            stats.put("threads", pool.getMaximumPoolSize());
+            stats.put("active", pool.getActiveCount());
+            stats.put("queued", pool.getQueue().size());
+            stats.put("completed", pool.getCompletedTaskCount());
+        }
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.mainapp.utils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits how many database connections are in use at once, with a fair semaphore in front of the
+ * pool.
+ * <p>
+ * On platform threads the Tomcat thread pool bounds how many requests can wait for a connection.
+ * On virtual threads every request has its own thread, so thousands of them may queue; they wait
+ * here in arrival order, and a request that cannot get a permit in time fails instead of holding
+ * its thread forever. A permit is taken by {@code getConnection()} and given back when the
+ * connection is closed.
+ */
+public class DbConcurrencyLimiter {
+
+    private final Semaphore permits;
+    private final int maxPermits;
+    private final long timeoutMillis;
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+
+    public DbConcurrencyLimiter(int maxPermits, long timeoutMillis) {
+        this.permits = new Semaphore(maxPermits, true);
+        this.maxPermits = maxPermits;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public DataSource wrap(DataSource target) {
+        return (DataSource) Proxy.newProxyInstance(DbConcurrencyLimiter.class.getClassLoader(), new Class<?>[]{DataSource.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("getConnection")) {
+                        return invoke(target, method, args);
+                    }
+                    acquire();
+                    try {
+                        return limited((Connection) invoke(target, method, args));
+                    } catch (Throwable e) {
+                        permits.release();
+                        throw e;
+                    }
+                });
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("permits", maxPermits);
+        stats.put("available", permits.availablePermits());
+        stats.put("waiting", permits.getQueueLength());
+        stats.put("acquired", acquired.sum());
+        stats.put("timedOut", timedOut.sum());
+        long count = acquired.sum();
+        stats.put("avgWaitMillis", count > 0 ? waitNanos.sum() / 1e6 / count : 0.0);
+        return stats;
+    }
+
+    private void acquire() throws SQLTransientConnectionException {
+        long start = System.nanoTime();
+        boolean granted;
+        try {
+            granted = permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database permit", e);
+        }
+        if (!granted) {
+            timedOut.increment();
+            throw new SQLTransientConnectionException("No database permit available after " + timeoutMillis + " ms ("
+                    + permits.getQueueLength() + " waiting)");
+        }
+        acquired.increment();
+        waitNanos.add(System.nanoTime() - start);
+    }
+
+    private Connection limited(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        InvocationHandler handler = (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "close":
+                    try {
+                        return invoke(connection, method, args);
+                    } finally {
+                        if (released.compareAndSet(false, true)) {
+                            permits.release();
+                        }
+                    }
+                default:
+                    return invoke(connection, method, args);
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(DbConcurrencyLimiter.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
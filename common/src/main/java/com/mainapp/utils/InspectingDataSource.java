@@ -0,0 +1,175 @@
+package com.mainapp.utils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * DataSource wrapper that reports every statement, its duration and its row count to the
+ * {@link SqlTrace} of the current thread, and its duration to the request's {@link ServerTiming}.
+ * <p>
+ * Only connections taken while a trace or timing is active are wrapped, that is by requests sampled
+ * for SQL tracing and requests timed for the {@code Server-Timing} header. Background jobs and every
+ * other request use the pool's connections directly and pay nothing.
+ */
+public final class InspectingDataSource {
+
+    private InspectingDataSource() {
+    }
+
+    public static DataSource wrap(DataSource target) {
+        if (Proxy.isProxyClass(target.getClass()) && Proxy.getInvocationHandler(target) instanceof Handler) {
+            return target;
+        }
+        return proxy(DataSource.class, new Handler(target) {
+            @Override
+            Object intercept(Method method, Object[] args) throws Throwable {
+                Object result = invoke(method, args);
+                if (result instanceof Connection connection && (SqlTrace.current() != null || ServerTiming.current() != null)) {
+                    return proxy(Connection.class, new ConnectionHandler(connection));
+                }
+                return result;
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return (T) Proxy.newProxyInstance(InspectingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private abstract static class Handler implements InvocationHandler {
+        final Object target;
+
+        Handler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public final Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "unwrap":
+                case "isWrapperFor":
+                    return invoke(method, args);
+                default:
+                    return intercept(method, args);
+            }
+        }
+
+        abstract Object intercept(Method method, Object[] args) throws Throwable;
+
+        Object invoke(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private static final class ConnectionHandler extends Handler {
+
+        ConnectionHandler(Connection target) {
+            super(target);
+        }
+
+        @Override
+        Object intercept(Method method, Object[] args) throws Throwable {
+            Object result = invoke(method, args);
+            if (result instanceof CallableStatement statement) {
+                return proxy(CallableStatement.class, new StatementHandler(statement, (String) args[0]));
+            }
+            if (result instanceof PreparedStatement statement) {
+                return proxy(PreparedStatement.class, new StatementHandler(statement, (String) args[0]));
+            }
+            if (result instanceof Statement statement) {
+                return proxy(Statement.class, new StatementHandler(statement, null));
+            }
+            return result;
+        }
+    }
+
+    private static final class StatementHandler extends Handler {
+        private String sql;
+
+        StatementHandler(Statement target, String sql) {
+            super(target);
+            this.sql = sql;
+        }
+
+        @Override
+        Object intercept(Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (!name.startsWith("execute")) {
+                if (name.equals("addBatch") && args != null && args.length == 1) {
+                    sql = (String) args[0];
+                }
+                Object result = invoke(method, args);
+                return name.equals("getResultSet") ? countRows(result) : result;
+            }
+            if (args != null && args.length > 0 && args[0] instanceof String text) {
+                sql = text;
+            }
+            SqlTrace trace = SqlTrace.current();
+            long start = System.nanoTime();
+            Object result = invoke(method, args);
+            long elapsed = System.nanoTime() - start;
+            ServerTiming timing = ServerTiming.current();
+            if (timing != null) {
+                timing.add(ServerTiming.Phase.DB, elapsed);
+            }
+            if (trace != null) {
+                trace.statement(sql, elapsed, affectedRows(result));
+            }
+            return countRows(result);
+        }
+
+        private static long affectedRows(Object result) {
+            if (result instanceof Integer count) {
+                return count;
+            }
+            if (result instanceof Long count) {
+                return count;
+            }
+            long total = 0;
+            if (result instanceof int[] counts) {
+                for (int count : counts) {
+                    total += Math.max(count, 0);
+                }
+            } else if (result instanceof long[] counts) {
+                for (long count : counts) {
+                    total += Math.max(count, 0);
+                }
+            }
+            return total;
+        }
+
+        private static Object countRows(Object result) {
+            SqlTrace trace = SqlTrace.current();
+            if (result instanceof ResultSet resultSet && trace != null) {
+                return proxy(ResultSet.class, new Handler(resultSet) {
+                    @Override
+                    Object intercept(Method method, Object[] args) throws Throwable {
+                        Object value = invoke(method, args);
+                        if (Boolean.TRUE.equals(value) && method.getName().equals("next")) {
+                            trace.rows(1);
+                        }
+                        return value;
+                    }
+                });
+            }
+            return result;
+        }
+    }
+}
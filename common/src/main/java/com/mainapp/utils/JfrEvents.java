@@ -0,0 +1,110 @@
+package com.mainapp.utils;
+
+import jakarta.servlet.http.HttpSession;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Java Flight Recorder events of the application, under the "ERP" category.
+ * <p>
+ * Events cost next to nothing while no recording is running: fields are only filled in when
+ * {@link Event#isEnabled()} is true. They carry no user names or other personal data.
+ */
+public final class JfrEvents {
+
+    private JfrEvents() {
+    }
+
+    @Name("com.mainapp.Login")
+    @Label("Login")
+    @Category({"ERP", "Authentication"})
+    @StackTrace(false)
+    public static class LoginEvent extends Event {
+        @Label("Entity Id")
+        public long entityId;
+        @Label("Entity Type")
+        public String entityType;
+        @Label("Outcome")
+        public String outcome;
+    }
+
+    @Name("com.mainapp.PasswordHash")
+    @Label("Password Hash")
+    @Description("BCrypt hashing or verification of a password")
+    @Category({"ERP", "Authentication"})
+    @StackTrace(false)
+    public static class PasswordHashEvent extends Event {
+        @Label("Operation")
+        public String operation;
+        @Label("Entity Id")
+        public long entityId;
+        @Label("Outcome")
+        public String outcome;
+    }
+
+    @Name("com.mainapp.Attendance")
+    @Label("Attendance")
+    @Description("Employee check-in or check-out")
+    @Category({"ERP", "Attendance"})
+    @StackTrace(false)
+    public static class AttendanceEvent extends Event {
+        @Label("Action")
+        public String action;
+        @Label("Entity Id")
+        public long entityId;
+        @Label("Employee Id")
+        public long employeeId;
+        @Label("Outcome")
+        public String outcome;
+    }
+
+    @Name("com.mainapp.EmployeeOnboarding")
+    @Label("Employee Onboarding")
+    @Category({"ERP", "Employees"})
+    @StackTrace(false)
+    public static class EmployeeOnboardingEvent extends Event {
+        @Label("Entity Id")
+        public long entityId;
+        @Label("Outcome")
+        public String outcome;
+    }
+
+    @Name("com.mainapp.RepositoryCall")
+    @Label("Repository Call")
+    @Description("Call of a Spring Data repository method")
+    @Category({"ERP", "Database"})
+    @StackTrace(false)
+    public static class RepositoryCallEvent extends Event {
+        @Label("Repository")
+        public String repository;
+        @Label("Method")
+        public String method;
+        @Label("Entity Id")
+        public long entityId;
+        @Label("Outcome")
+        public String outcome;
+    }
+
+    /**
+     * Organization id of the session of the current request, or 0 outside a request or session.
+     */
+    public static long currentEntityId() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpSession session = attributes.getRequest().getSession(false);
+            if (session != null && session.getAttribute("entityId") instanceof Long entityId) {
+                return entityId;
+            }
+        }
+        return 0;
+    }
+
+    public static long id(Long value) {
+        return value != null ? value : 0;
+    }
+}
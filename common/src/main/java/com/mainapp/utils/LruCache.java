@@ -0,0 +1,133 @@
+package com.mainapp.utils;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Small bounded in-memory cache with least-recently-used eviction and an optional time-to-live.
+ * All structural operations are synchronized on the cache; hit, miss and eviction counters are
+ * kept outside the lock so reading statistics never blocks callers.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class LruCache<K, V> {
+
+    private final String name;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LinkedHashMap<K, CacheEntry<V>> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param name       Name reported in statistics.
+     * @param maxEntries Maximum number of entries kept before the least recently used one is evicted.
+     * @param ttlSeconds Time-to-live of an entry in seconds, or 0 to keep entries until evicted.
+     */
+    public LruCache(String name, int maxEntries, long ttlSeconds) {
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlSeconds > 0 ? ttlSeconds * 1_000_000_000L : 0;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, CacheEntry<V>> eldest) {
+                if (size() > LruCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached value for the key, or null if it is absent or expired.
+     */
+    public V get(K key) {
+        synchronized (this) {
+            CacheEntry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (ttlNanos == 0 || System.nanoTime() - entry.storedAt < ttlNanos) {
+                    hits.increment();
+                    return entry.value;
+                }
+                entries.remove(key);
+                evictions.increment();
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    public void put(K key, V value) {
+        synchronized (this) {
+            entries.put(key, new CacheEntry<>(value, System.nanoTime()));
+        }
+    }
+
+    public void remove(K key) {
+        synchronized (this) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Removes every entry whose key matches the predicate.
+     */
+    public void removeIf(Predicate<K> predicate) {
+        synchronized (this) {
+            Iterator<K> keys = entries.keySet().iterator();
+            while (keys.hasNext()) {
+                if (predicate.test(keys.next())) {
+                    keys.remove();
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (this) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (this) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the cache statistics suitable for returning from an API endpoint.
+     */
+    public Map<String, Object> stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("name", name);
+        stats.put("size", size());
+        stats.put("maxEntries", maxEntries);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("evictions", evictions.sum());
+        stats.put("hitRatio", total == 0 ? 0.0 : (double) hitCount / total);
+        return stats;
+    }
+
+    private static final class CacheEntry<V> {
+        private final V value;
+        private final long storedAt;
+
+        private CacheEntry(V value, long storedAt) {
+            this.value = value;
+            this.storedAt = storedAt;
+        }
+    }
+}
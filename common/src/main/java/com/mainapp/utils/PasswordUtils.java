@@ -14,7 +14,14 @@ public class PasswordUtils {
      * This method takes the raw password and returns the hashed version using BCrypt with a work factor of 12.
      */
     public static String hashPassword(String password) {
-        return BCrypt.hashpw(password, BCrypt.gensalt(12));
+        return hashPassword(password, 12);
+    }
+
+    /*
+     * Hash the password using BCrypt with the given work factor (log2 of the number of rounds).
+     */
+    public static String hashPassword(String password, int cost) {
+        return BCrypt.hashpw(password, BCrypt.gensalt(cost));
     }
 
     /*
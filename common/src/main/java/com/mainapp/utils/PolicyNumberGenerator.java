@@ -0,0 +1,150 @@
+package com.mainapp.utils;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Time-ordered, collision-free 16-digit policy numbers (Snowflake style).
+ * <p>
+ * A number packs, from the most significant bit: milliseconds since 2025-01-01 (41 bits, about 69
+ * years), the node's worker id (5 bits) and a per-millisecond sequence (7 bits). That is 53 bits, so
+ * every number is below 10^16 and prints as exactly 16 digits. Numbers are unique across all tables
+ * as long as every node has its own {@code app.policy.worker-id}; the default of 0 is only right for a
+ * single node, springboot-deployment.yaml gives each replica its pod ordinal.
+ * <p>
+ * The last issued timestamp and sequence share one {@link AtomicLong}, so issuing a number is a
+ * single compare-and-set without locks or allocation. When more than 128 numbers are needed within
+ * one millisecond, the sequence carries into the next millisecond instead of waiting; the generator
+ * may run ahead of the wall clock by at most {@code app.policy.max-drift-millis}, after which callers
+ * wait for the clock to catch up. Because a restart takes longer than that, a restarted node never
+ * reissues a number. A clock that steps backwards is absorbed the same way.
+ */
+@Component
+public class PolicyNumberGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(PolicyNumberGenerator.class);
+
+    static final int SEQUENCE_BITS = 7;
+    static final int WORKER_BITS = 5;
+    static final int MAX_WORKER_ID = (1 << WORKER_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final long EPOCH_MILLIS = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+    private static final int DIGITS = 16;
+
+    @Value("${app.policy.worker-id:0}")
+    private int workerId;
+
+    @Value("${app.policy.max-drift-millis:1000}")
+    private long maxDriftMillis;
+
+    // (milliseconds since epoch << SEQUENCE_BITS) | sequence of the last issued number
+    private final AtomicLong state = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        if (workerId < 0 || workerId > MAX_WORKER_ID) {
+            throw new IllegalStateException("app.policy.worker-id must be between 0 and " + MAX_WORKER_ID);
+        }
+        log.info("Policy numbers are issued with worker id {}", workerId);
+    }
+
+    /**
+     * Returns the next policy number as a 16-digit string.
+     */
+    public String next() {
+        return format(nextId());
+    }
+
+    /**
+     * Returns the next policy number.
+     */
+    public long nextId() {
+        return compose(reserve(1));
+    }
+
+    /**
+     * Reserves {@code count} consecutive numbers at once, for bulk onboarding. The block is meant to
+     * be consumed by one thread.
+     *
+     * @throws IllegalArgumentException if the block does not fit in the allowed clock drift.
+     */
+    public Block nextBlock(int count) {
+        if (count < 1 || count > (maxDriftMillis << SEQUENCE_BITS)) {
+            throw new IllegalArgumentException("Block size must be between 1 and " + (maxDriftMillis << SEQUENCE_BITS));
+        }
+        return new Block(reserve(count), count);
+    }
+
+    /**
+     * Formats a number as 16 digits, zero-padded.
+     */
+    public static String format(long id) {
+        char[] digits = new char[DIGITS];
+        for (int i = DIGITS - 1; i >= 0; i--) {
+            digits[i] = (char) ('0' + id % 10);
+            id /= 10;
+        }
+        return new String(digits);
+    }
+
+    /**
+     * Advances the state by {@code count} numbers and returns the state of the first one.
+     */
+    private long reserve(int count) {
+        while (true) {
+            long current = state.get();
+            long floor = (System.currentTimeMillis() - EPOCH_MILLIS) << SEQUENCE_BITS;
+            long first = Math.max(current + 1, floor);
+            long last = first + count - 1;
+            if ((last >>> SEQUENCE_BITS) - (floor >>> SEQUENCE_BITS) > maxDriftMillis) {
+                LockSupport.parkNanos(100_000); // too far ahead of the clock, let it catch up
+                continue;
+            }
+            if (state.compareAndSet(current, last)) {
+                return first;
+            }
+        }
+    }
+
+    private long compose(long packed) {
+        return ((packed >>> SEQUENCE_BITS) << (WORKER_BITS + SEQUENCE_BITS))
+                | ((long) workerId << SEQUENCE_BITS)
+                | (packed & SEQUENCE_MASK);
+    }
+
+    /**
+     * A reserved run of policy numbers.
+     */
+    public final class Block {
+        private long packed;
+        private int remaining;
+
+        private Block(long first, int count) {
+            this.packed = first;
+            this.remaining = count;
+        }
+
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        public long nextId() {
+            if (remaining == 0) {
+                throw new IllegalStateException("Policy number block exhausted");
+            }
+            remaining--;
+            return compose(packed++);
+        }
+
+        public String next() {
+            return format(nextId());
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.mainapp.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+
+/**
+ * In-memory typeahead index answering "every query word is a prefix of some term of the document".
+ * <p>
+ * Postings are {@code (term, id)} pairs kept in a concurrent skip list ordered by term, so the
+ * matches of a prefix are one contiguous range that is walked in term order: exact term matches come
+ * first and the walk stops as soon as {@code limit} documents are found. For queries of several words
+ * the ranges of all words are walked in turn and every candidate is checked against the terms of its
+ * document; the search ends when the most selective range is exhausted. Writers are
+ * serialized, readers never lock and tolerate concurrent updates by re-checking a candidate's
+ * current terms. {@link #load} builds new postings and documents and swaps both in with one write,
+ * so a search sees either the old or the new content, never a partly loaded one.
+ *
+ * @param <V> value returned for a matching document
+ */
+public class PrefixIndex<V> {
+
+    private volatile Content<V> content = new Content<>(new ConcurrentSkipListSet<>(), new ConcurrentHashMap<>());
+    private final int maxScan;
+
+    /**
+     * @param maxScan Maximum number of postings walked by one search, bounding the cost of very
+     *                short prefixes whose other words rarely match.
+     */
+    public PrefixIndex(int maxScan) {
+        this.maxScan = maxScan;
+    }
+
+    /**
+     * Replaces the whole content of the index. Postings are sorted up front and appended in order,
+     * which is several times faster than {@link #put} for building an index from scratch.
+     *
+     * @param values  Documents by id.
+     * @param termsOf Terms of a document, normalized like {@link #put}.
+     */
+    public synchronized void load(Map<Long, V> values, Function<V, Collection<String>> termsOf) {
+        Map<Long, Document<V>> loaded = new ConcurrentHashMap<>(values.size() * 2);
+        List<Posting> sorted = new ArrayList<>(values.size() * 8);
+        values.forEach((id, value) -> {
+            String[] terms = normalizeTerms(termsOf.apply(value));
+            loaded.put(id, new Document<>(value, terms));
+            for (String term : terms) {
+                sorted.add(new Posting(term, id));
+            }
+        });
+        sorted.sort(null);
+        ConcurrentSkipListSet<Posting> fresh = new ConcurrentSkipListSet<>();
+        fresh.addAll(sorted);
+        content = new Content<>(fresh, loaded);
+    }
+
+    /**
+     * Adds or replaces a document. Terms are normalized with {@link #normalize(String)} and split
+     * into words.
+     */
+    public synchronized void put(long id, V value, Collection<String> terms) {
+        remove(id);
+        String[] termArray = normalizeTerms(terms);
+        content.documents.put(id, new Document<>(value, termArray));
+        for (String term : termArray) {
+            content.postings.add(new Posting(term, id));
+        }
+    }
+
+    public synchronized void remove(long id) {
+        Document<V> existing = content.documents.remove(id);
+        if (existing != null) {
+            for (String term : existing.terms) {
+                content.postings.remove(new Posting(term, id));
+            }
+        }
+    }
+
+    public int size() {
+        return content.documents.size();
+    }
+
+    /**
+     * Returns up to {@code limit} documents matching every word of the query, exact and
+     * lexicographically closer term matches first.
+     */
+    public List<V> search(String query, int limit) {
+        String[] words = new LinkedHashSet<>(List.of(normalize(query).split(" "))).toArray(new String[0]);
+        List<V> results = new ArrayList<>(Math.min(limit, 64));
+        if (words[0].isEmpty()) {
+            return results;
+        }
+        Content<V> current = content;
+        List<Iterator<Posting>> ranges = new ArrayList<>(words.length);
+        for (String word : words) {
+            ranges.add(current.postings.tailSet(new Posting(word, Long.MIN_VALUE), true).iterator());
+        }
+        Set<Long> seen = new HashSet<>();
+        int scanned = 0;
+        while (scanned < maxScan && results.size() < limit) {
+            for (int i = 0; i < words.length && results.size() < limit; i++, scanned++) {
+                Iterator<Posting> range = ranges.get(i);
+                Posting posting = range.hasNext() ? range.next() : null;
+                if (posting == null || !posting.term.startsWith(words[i])) {
+                    // every match has a posting in each word's range, so the first exhausted range ends the search
+                    return results;
+                }
+                if (!seen.add(posting.id)) {
+                    continue;
+                }
+                Document<V> document = current.documents.get(posting.id);
+                if (document != null && document.matchesAll(words)) {
+                    results.add(document.value);
+                }
+            }
+        }
+        return results;
+    }
+
+    private static String[] normalizeTerms(Collection<String> terms) {
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String term : terms) {
+            for (String word : normalize(term).split(" ")) {
+                if (!word.isEmpty()) {
+                    normalized.add(word);
+                }
+            }
+        }
+        return normalized.toArray(new String[0]);
+    }
+
+    /**
+     * Lower-cases the text and turns every run of characters other than letters, digits, '@' and
+     * '.' into a single space.
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder(text.length());
+        boolean space = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c) || c == '@' || c == '.') {
+                if (space && builder.length() > 0) {
+                    builder.append(' ');
+                }
+                builder.append(c);
+                space = false;
+            } else {
+                space = true;
+            }
+        }
+        return builder.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private record Content<V>(NavigableSet<Posting> postings, Map<Long, Document<V>> documents) {
+    }
+
+    private static final class Document<V> {
+        private final V value;
+        private final String[] terms;
+
+        Document(V value, String[] terms) {
+            this.value = value;
+            this.terms = terms;
+        }
+
+        boolean matchesAll(String[] words) {
+            for (String word : words) {
+                if (!matches(word)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean matches(String word) {
+            for (String term : terms) {
+                if (term.startsWith(word)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private record Posting(String term, long id) implements Comparable<Posting> {
+        @Override
+        public int compareTo(Posting other) {
+            int byTerm = term.compareTo(other.term);
+            return byTerm != 0 ? byTerm : Long.compare(id, other.id);
+        }
+    }
+}
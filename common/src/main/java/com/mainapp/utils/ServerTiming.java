@@ -0,0 +1,89 @@
+package com.mainapp.utils;
+
+/**
+ * Time spent per phase by the current request, reported in the {@code Server-Timing} response
+ * header and in the slow-request log.
+ * <p>
+ * One instance with a fixed array per timed request; recording is a thread-local read and an array
+ * add, and does nothing when the request is not timed. Phases may overlap: {@code hash} is part of
+ * {@code auth} during login.
+ */
+public final class ServerTiming {
+
+    public enum Phase {
+        DB("db"), HASH("hash"), AUTH("auth"), SERIALIZE("serialize");
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+    }
+
+    public static final String HEADER = "Server-Timing";
+
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+    private static final Phase[] PHASES = Phase.values();
+
+    private final long startNanos = System.nanoTime();
+    private final long[] nanos = new long[PHASES.length];
+    private boolean headerWritten;
+
+    public static ServerTiming current() {
+        return CURRENT.get();
+    }
+
+    public static void begin(ServerTiming timing) {
+        CURRENT.set(timing);
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Adds the time since {@code startNanos}, a {@link System#nanoTime()} reading, to a phase of the
+     * current request.
+     */
+    public static void record(Phase phase, long startNanos) {
+        ServerTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.nanos[phase.ordinal()] += System.nanoTime() - startNanos;
+        }
+    }
+
+    public void add(Phase phase, long elapsedNanos) {
+        nanos[phase.ordinal()] += elapsedNanos;
+    }
+
+    public boolean isHeaderWritten() {
+        return headerWritten;
+    }
+
+    public void markHeaderWritten() {
+        headerWritten = true;
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Header value, e.g. {@code db;dur=12.4, hash;dur=0.0, auth;dur=0.3, serialize;dur=1.1, total;dur=15.2},
+     * durations in milliseconds.
+     */
+    public String header() {
+        StringBuilder value = new StringBuilder(96);
+        for (Phase phase : PHASES) {
+            append(value, phase.metricName, nanos[phase.ordinal()]);
+            value.append(", ");
+        }
+        append(value, "total", elapsedNanos());
+        return value.toString();
+    }
+
+    private static void append(StringBuilder value, String name, long nanos) {
+        long tenths = nanos / 100_000; // milliseconds with one decimal
+        value.append(name).append(";dur=").append(tenths / 10).append('.').append(tenths % 10);
+    }
+}
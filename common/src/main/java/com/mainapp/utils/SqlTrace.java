@@ -0,0 +1,111 @@
+package com.mainapp.utils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SQL statements executed by the current request, as seen by {@link InspectingDataSource}.
+ * <p>
+ * A trace belongs to the thread that handles the request and is not thread-safe. Identical
+ * statement texts are counted together: Hibernate and JdbcTemplate bind parameters as {@code ?},
+ * so a statement run many times with different parameters (an N+1 pattern) shows up as one text
+ * with a high count.
+ */
+public final class SqlTrace {
+
+    private static final ThreadLocal<SqlTrace> CURRENT = new ThreadLocal<>();
+    private static final int MAX_DISTINCT_STATEMENTS = 1000;
+
+    private final int maxStatements;
+    private final int maxRepeats;
+    private final boolean failOnViolation;
+    private final Map<String, int[]> counts = new HashMap<>();
+    private int statements;
+    private long rows;
+    private long nanos;
+    private String repeatedSql;
+    private int repeatedCount;
+    private boolean overBudget;
+
+    public SqlTrace(int maxStatements, int maxRepeats, boolean failOnViolation) {
+        this.maxStatements = maxStatements;
+        this.maxRepeats = maxRepeats;
+        this.failOnViolation = failOnViolation;
+    }
+
+    public static SqlTrace current() {
+        return CURRENT.get();
+    }
+
+    public static void begin(SqlTrace trace) {
+        CURRENT.set(trace);
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Records an executed statement.
+     *
+     * @throws IllegalStateException if the request went over its budget and failing is enabled.
+     */
+    public void statement(String sql, long elapsedNanos, long affectedRows) {
+        statements++;
+        nanos += elapsedNanos;
+        rows += Math.max(affectedRows, 0);
+        String key = sql != null ? sql : "?";
+        int[] count = counts.get(key);
+        if (count == null && counts.size() < MAX_DISTINCT_STATEMENTS) {
+            count = new int[1];
+            counts.put(key, count);
+        }
+        if (count != null && ++count[0] > repeatedCount) {
+            repeatedCount = count[0];
+            repeatedSql = key;
+        }
+        boolean violated = statements > maxStatements || repeatedCount > maxRepeats;
+        if (violated && !overBudget) {
+            overBudget = true;
+            if (failOnViolation) {
+                throw new IllegalStateException("SQL budget exceeded: " + statements + " statements, "
+                        + repeatedCount + " runs of " + repeatedSql);
+            }
+        }
+    }
+
+    public void rows(long count) {
+        rows += count;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * Statement text run the most times in this request.
+     */
+    public String getRepeatedSql() {
+        return repeatedSql;
+    }
+
+    public int getRepeatedCount() {
+        return repeatedCount;
+    }
+
+    public boolean isNPlusOne() {
+        return repeatedCount > maxRepeats;
+    }
+
+    public boolean isOverBudget() {
+        return overBudget;
+    }
+}
@@ -0,0 +1,129 @@
+-- Schema of the last release that ran with ddl-auto=update, as Hibernate created it from the entities
+-- of that release. Databases created by it are baselined at this version, skip it and get every later
+-- version; see spring.flyway.* in application.properties. Constraint names are the ones Hibernate
+-- generated, so every database has the same names whichever way it was created.
+
+create table account_master (
+    created_at datetime(6),
+    created_by bigint not null,
+    entity_id bigint,
+    entity_role_id bigint,
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    updated_by bigint,
+    phone varchar(15) not null,
+    entity_type varchar(50) not null,
+    first_name varchar(50) not null,
+    last_name varchar(50) not null,
+    username varchar(50) not null,
+    email varchar(100) not null,
+    password varchar(255) not null,
+    policy varchar(255) not null,
+    status enum ('ACTIVE','INACTIVE'),
+    primary key (id)
+) engine=InnoDB;
+
+create table attendance (
+    total_hours float(53),
+    check_in_time datetime(6) not null,
+    check_out_time datetime(6),
+    created_at datetime(6),
+    employee_id bigint not null,
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    location varchar(255),
+    status enum ('ABSENT','EARLY_LEAVE','HALF_DAY','LATE','PRESENT') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table entity (
+    created_at datetime(6),
+    created_by bigint not null,
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    updated_by bigint,
+    type varchar(50) not null,
+    name varchar(100) not null,
+    description varchar(255),
+    policy varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table entity_role_master (
+    created_at datetime(6),
+    created_by bigint not null,
+    entity_id bigint,
+    id bigint not null auto_increment,
+    role_id bigint not null,
+    updated_at datetime(6),
+    updated_by bigint,
+    name varchar(100) not null,
+    description varchar(255),
+    policy varchar(255) not null,
+    status enum ('ACTIVE','INACTIVE'),
+    primary key (id)
+) engine=InnoDB;
+
+create table role_master (
+    created_at datetime(6) not null,
+    created_by bigint not null,
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    updated_by bigint,
+    entity_type varchar(50) not null,
+    role_type varchar(50) not null,
+    name varchar(100) not null,
+    description varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table sessions (
+    last_activity integer not null,
+    expiry datetime(6) not null,
+    user_id bigint not null,
+    ip_address varchar(45),
+    id varchar(255) not null,
+    payload LONGTEXT,
+    user_agent TEXT,
+    primary key (id)
+) engine=InnoDB;
+
+alter table account_master
+   add constraint UKpuowr3wn0w792gq44xfha5425 unique (phone);
+
+alter table account_master
+   add constraint UK1vrvj2w8gwch84r6qjk6jqwnm unique (username);
+
+alter table account_master
+   add constraint UKjmm42s7id05a33r4sbuvyvveh unique (email);
+
+alter table entity
+   add constraint UKmhn0va9iihx5qn43yw3y75hx1 unique (name);
+
+alter table role_master
+   add constraint UKaj2l1cn9ebk1uywqjfndrsu4d unique (name);
+
+alter table account_master
+   add constraint FKog48uus7ik4na4he7wprgvame
+   foreign key (entity_role_id)
+   references entity_role_master (id);
+
+alter table account_master
+   add constraint FK1jt4uauwieja18qcgeqi9jww4
+   foreign key (entity_id)
+   references entity (id);
+
+alter table attendance
+   add constraint FK38erpqprm3yo7mmw8hu98wywc
+   foreign key (employee_id)
+   references account_master (id);
+
+alter table entity_role_master
+   add constraint FKdqrhmksrxtky5ffd45a2dqy7q
+   foreign key (entity_id)
+   references entity (id);
+
+alter table entity_role_master
+   add constraint FK7pnhgp32m6a3fmwo7es00mtjp
+   foreign key (role_id)
+   references role_master (id);
\ No newline at end of file
@@ -0,0 +1,54 @@
+-- Leave requests, and the holiday and per-employee calendars that keep one bit per day of a year.
+-- Only paid leave in leave_days counts against the annual allowance; unpaid leave has its own bitmap.
+
+create table employee_calendar (
+    calendar_year integer not null,
+    employee_id bigint not null,
+    entity_id bigint not null,
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    version bigint,
+    leave_days VARBINARY(46),
+    present_days VARBINARY(46),
+    unpaid_leave_days VARBINARY(46),
+    primary key (id)
+) engine=InnoDB;
+
+create table holiday_calendar (
+    calendar_year integer not null,
+    entity_id bigint not null,
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    updated_by bigint,
+    holidays VARBINARY(46),
+    primary key (id)
+) engine=InnoDB;
+
+create table leave_request (
+    end_date date not null,
+    start_date date not null,
+    created_at datetime(6),
+    employee_id bigint not null,
+    entity_id bigint not null,
+    id bigint not null auto_increment,
+    reviewed_by bigint,
+    updated_at datetime(6),
+    reason varchar(255),
+    leave_type enum ('CASUAL','EARNED','SICK','UNPAID') not null,
+    status enum ('APPROVED','PENDING','REJECTED') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_employee_calendar_entity_year
+   on employee_calendar (entity_id, calendar_year);
+
+alter table employee_calendar
+   add constraint UKt893wdto10vgptjmp1qjtqmo3 unique (employee_id, calendar_year);
+
+alter table holiday_calendar
+   add constraint UKi6sec1fb0rxb7u51s86l3t2hx unique (entity_id, calendar_year);
+
+alter table leave_request
+   add constraint FKd8ilpvrftcvlsebpxqdtx4ma3
+   foreign key (employee_id)
+   references account_master (id);
@@ -0,0 +1,25 @@
+-- Office geofences, and the site, check-out location and rejection reason recorded per attendance.
+-- attendance is the largest table, so its columns are added online like the indexes in V8.
+
+create table office_geofence (
+    created_at datetime(6),
+    created_by bigint not null,
+    entity_id bigint not null,
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    updated_by bigint,
+    name varchar(100) not null,
+    polygon TEXT not null,
+    status enum ('ACTIVE','INACTIVE'),
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_office_geofence_entity
+   on office_geofence (entity_id);
+
+alter table attendance
+    add column site_id bigint,
+    add column check_out_location varchar(255),
+    add column check_out_site_id bigint,
+    add column rejection_reason varchar(255),
+    algorithm = inplace, lock = none;
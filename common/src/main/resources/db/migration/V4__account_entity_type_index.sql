@@ -0,0 +1,4 @@
+-- Employee pages read one organization's accounts of one entity type in id order. Built online like V8.
+alter table account_master
+    add index idx_account_entity_type (entity_id, entity_type, id),
+    algorithm = inplace, lock = none;
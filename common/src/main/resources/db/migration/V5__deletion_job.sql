@@ -0,0 +1,28 @@
+-- Resumable background deletion of an organization: progress, lease and outcome of each job.
+
+create table deletion_job (
+    restarts integer not null,
+    step integer not null,
+    created_at datetime(6) not null,
+    deleted_rows bigint not null,
+    elapsed_millis bigint not null,
+    entity_id bigint not null,
+    estimated_rows bigint not null,
+    finished_at datetime(6),
+    id bigint not null auto_increment,
+    lease_expires_at datetime(6),
+    requested_by bigint,
+    updated_at datetime(6),
+    owner varchar(64),
+    entity_name varchar(100),
+    error varchar(1000),
+    step_cursor varchar(255),
+    status enum ('COMPLETED','FAILED','PENDING','RUNNING') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_deletion_job_status
+   on deletion_job (status);
+
+create index idx_deletion_job_entity
+   on deletion_job (entity_id);
@@ -0,0 +1,14 @@
+-- Organization directory: headcounts kept per organization, and the index its pages are read by.
+-- A missing headcount row is counted from account_master the first time it is needed.
+
+create table entity_headcount (
+    account_count bigint not null,
+    active_account_count bigint not null,
+    entity_id bigint not null,
+    updated_at datetime(6),
+    primary key (entity_id)
+) engine=InnoDB;
+
+alter table entity
+    add index idx_entity_type_name (type, name),
+    algorithm = inplace, lock = none;
@@ -0,0 +1,27 @@
+-- One entity_role_master row per (organization, role). Accounts used to get a private role row each:
+-- every group of duplicates is collapsed onto its oldest row, accounts are repointed to it and the
+-- other rows deleted, before the unique index makes sure no new duplicate appears. The grouped
+-- derived tables are materialized, so they can read the table that is being changed.
+
+update account_master a
+    join entity_role_master r on r.id = a.entity_role_id
+    join (select entity_id, role_id, min(id) as keep_id
+          from entity_role_master
+          where entity_id is not null
+          group by entity_id, role_id
+          having count(*) > 1) k on k.entity_id = r.entity_id and k.role_id = r.role_id
+set a.entity_role_id = k.keep_id
+where r.id <> k.keep_id;
+
+delete r
+from entity_role_master r
+    join (select entity_id, role_id, min(id) as keep_id
+          from entity_role_master
+          where entity_id is not null
+          group by entity_id, role_id
+          having count(*) > 1) k on k.entity_id = r.entity_id and k.role_id = r.role_id
+where r.id <> k.keep_id;
+
+alter table entity_role_master
+    add unique index uk_entity_role_master_entity_role (entity_id, role_id),
+    algorithm = inplace, lock = none;
@@ -0,0 +1,13 @@
+-- Attendance history and today's check-in look up one employee's rows by check-in time. attendance
+-- is the largest table, so the index is built online: check-ins and reads go on meanwhile and only
+-- wait for the short metadata locks at the start and the end. The statement fails instead of
+-- locking the table if the server cannot build it in place.
+alter table attendance
+    add index idx_attendance_employee_check_in (employee_id, check_in_time),
+    algorithm = inplace, lock = none;
+
+-- Finding a user's sessions and sweeping expired ones filter on user_id and expiry.
+alter table sessions
+    add index idx_sessions_expiry (expiry),
+    add index idx_sessions_user (user_id),
+    algorithm = inplace, lock = none;
@@ -0,0 +1,5 @@
+-- Check-ins and check-outs outside every office geofence are kept with status REJECTED. The value is
+-- appended to the end of the enum, which only changes the table's metadata, so this runs online.
+alter table attendance
+    modify status enum ('ABSENT','EARLY_LEAVE','HALF_DAY','LATE','PRESENT','REJECTED') not null,
+    algorithm = inplace, lock = none;
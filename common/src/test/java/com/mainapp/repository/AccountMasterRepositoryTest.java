@@ -0,0 +1,80 @@
+package com.mainapp.repository;
+
+import com.mainapp.dto.EmployeeResponse;
+import com.mainapp.models.EntityTable;
+import com.mainapp.models.RoleMaster;
+import com.mainapp.support.JpaTestSupport;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class AccountMasterRepositoryTest {
+
+    private static final int N = 40;
+    private static final String EMPLOYEE = "102";
+
+    @Autowired
+    private AccountMasterRepository accountMasterRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private JpaTestSupport support;
+    private EntityTable small;
+    private EntityTable large;
+
+    @BeforeEach
+    void seed() {
+        support = new JpaTestSupport(entityManager, jdbcTemplate);
+        RoleMaster role = support.role("Engineer", "Organization");
+        small = support.organization("small", "Organization");
+        large = support.organization("large", "Organization");
+        support.insertAccounts(small, support.entityRole(small, role), EMPLOYEE, N);
+        support.insertAccounts(large, support.entityRole(large, role), EMPLOYEE, 10 * N);
+    }
+
+    @Test
+    void listingEveryEmployeeTakesOneStatementRegardlessOfHeadcount() {
+        Slice<EmployeeResponse> few = support.countStatements(1,
+                () -> accountMasterRepository.findEmployeePage(EMPLOYEE, small.getId(), 0L, Pageable.unpaged()));
+        Slice<EmployeeResponse> many = support.countStatements(1,
+                () -> accountMasterRepository.findEmployeePage(EMPLOYEE, large.getId(), 0L, Pageable.unpaged()));
+
+        assertEquals(N, few.getNumberOfElements());
+        assertEquals(10 * N, many.getNumberOfElements());
+        assertEquals("Engineer", many.getContent().get(0).getRoleName());
+    }
+
+    @Test
+    void keysetPagesTakeOneStatementAndResumeAfterTheLastId() {
+        Slice<EmployeeResponse> first = support.countStatements(1,
+                () -> accountMasterRepository.findEmployeePage(EMPLOYEE, large.getId(), 0L, PageRequest.of(0, N)));
+        assertEquals(N, first.getNumberOfElements());
+        assertTrue(first.hasNext());
+
+        long lastId = first.getContent().get(N - 1).getId();
+        Slice<EmployeeResponse> second = support.countStatements(1,
+                () -> accountMasterRepository.findEmployeePage(EMPLOYEE, large.getId(), lastId, PageRequest.of(0, N)));
+        assertTrue(second.getContent().get(0).getId() > lastId);
+
+        Slice<EmployeeResponse> last = support.countStatements(1,
+                () -> accountMasterRepository.findEmployeePage(EMPLOYEE, small.getId(), 0L, PageRequest.of(0, 2 * N)));
+        assertFalse(last.hasNext());
+    }
+}
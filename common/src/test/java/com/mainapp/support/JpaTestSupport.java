@@ -0,0 +1,110 @@
+package com.mainapp.support;
+
+import com.mainapp.enums.Status;
+import com.mainapp.models.EntityRoleMaster;
+import com.mainapp.models.EntityTable;
+import com.mainapp.models.RoleMaster;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Fixtures and statement counting for the {@code @DataJpaTest} slices of every module, shipped in
+ * the common test-jar together with {@code application-test.properties}.
+ * <p>
+ * Accounts are inserted with one JDBC batch, so a test can seed organizations of any size quickly.
+ * Numbers in usernames, emails, phones and policies keep counting across calls, so every account is
+ * unique within a test.
+ */
+public class JpaTestSupport {
+
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private int accountNumber;
+
+    public JpaTestSupport(EntityManager entityManager, JdbcTemplate jdbcTemplate) {
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Runs a query on an empty persistence context and asserts how many JDBC statements it prepared.
+     */
+    public <T> T countStatements(long expected, Supplier<T> query) {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        entityManager.clear();
+        statistics.clear();
+        T result = query.get();
+        assertEquals(expected, statistics.getPrepareStatementCount(), "prepared statements");
+        return result;
+    }
+
+    public EntityTable organization(String name, String type) {
+        EntityTable entity = new EntityTable();
+        entity.setName(name);
+        entity.setType(type);
+        entity.setCreatedBy(1L);
+        entityManager.persist(entity);
+        return entity;
+    }
+
+    public RoleMaster role(String name, String entityType) {
+        RoleMaster role = new RoleMaster();
+        role.setName(name);
+        role.setEntityType(entityType);
+        role.setRoleType("EMPLOYEE");
+        role.setCreatedBy(1L);
+        entityManager.persist(role);
+        return role;
+    }
+
+    /**
+     * The shared row of a role within an organization.
+     */
+    public EntityRoleMaster entityRole(EntityTable entity, RoleMaster role) {
+        EntityRoleMaster entityRole = new EntityRoleMaster();
+        entityRole.setEntityTable(entity);
+        entityRole.setRoleMaster(role);
+        entityRole.setName(role.getName());
+        entityRole.setPolicy("0000000000000001");
+        entityRole.setStatus(Status.ACTIVE);
+        entityRole.setCreatedBy(1L);
+        entityManager.persist(entityRole);
+        return entityRole;
+    }
+
+    /**
+     * Inserts active accounts of an organization, after flushing the entities they refer to.
+     *
+     * @param entityRole The accounts' role, or null for none.
+     */
+    public void insertAccounts(EntityTable entity, EntityRoleMaster entityRole, String entityType, int count) {
+        entityManager.flush();
+        Long entityRoleId = entityRole != null ? entityRole.getId() : null;
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int n = accountNumber++;
+            rows.add(new Object[]{"First" + n, "Last" + n, "user" + n, "user" + n + "@example.com",
+                    String.valueOf(9_000_000_000L + n), "hash", entityType, Status.ACTIVE.name(), entity.getId(),
+                    entityRoleId, String.format("%016d", n), 1L});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO account_master (first_name, last_name, username, email, phone, password, " +
+                "entity_type, status, entity_id, entity_role_id, policy, created_by) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    /**
+     * Sets an organization's counts in {@code entity_headcount}, which HeadcountService maintains in
+     * production.
+     */
+    public void insertHeadcount(EntityTable entity, long accounts, long activeAccounts) {
+        jdbcTemplate.update("INSERT INTO entity_headcount (entity_id, account_count, active_account_count) VALUES (?, ?, ?)",
+                entity.getId(), accounts, activeAccounts);
+    }
+}
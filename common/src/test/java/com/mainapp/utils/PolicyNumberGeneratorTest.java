@@ -0,0 +1,110 @@
+package com.mainapp.utils;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PolicyNumberGeneratorTest {
+
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 400;
+
+    @Test
+    void concurrentBlocksAndSingleNumbersNeverCollide() throws Exception {
+        assertUniqueAndOrdered(generator(3, 1000));
+    }
+
+    @Test
+    void numbersStayUniqueWhileWaitingForTheClock() throws Exception {
+        // a drift of 2 ms fits about 256 numbers, so the threads keep running into the clock
+        assertUniqueAndOrdered(generator(31, 2));
+    }
+
+    @Test
+    void rejectsWorkerIdsOutsideFiveBits() {
+        assertThrows(IllegalStateException.class, () -> generator(-1, 1000));
+        assertThrows(IllegalStateException.class, () -> generator(32, 1000));
+    }
+
+    @Test
+    void rejectsBlocksLargerThanTheAllowedDrift() {
+        PolicyNumberGenerator generator = generator(0, 2);
+        assertThrows(IllegalArgumentException.class, () -> generator.nextBlock(0));
+        assertThrows(IllegalArgumentException.class, () -> generator.nextBlock(2 * 128 + 1));
+    }
+
+    @Test
+    void formatPadsToSixteenDigits() {
+        assertEquals("0000000000000042", PolicyNumberGenerator.format(42));
+    }
+
+    private static void assertUniqueAndOrdered(PolicyNumberGenerator generator) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<List<String>>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int seed = t;
+                Callable<List<String>> worker = () -> {
+                    start.await();
+                    List<String> issued = new ArrayList<>();
+                    for (int round = 0; round < ROUNDS; round++) {
+                        // block sizes from 1 to 200 straddle the 128 numbers of one millisecond
+                        int size = 1 + (seed * 31 + round * 17) % 200;
+                        if (round % 3 == 0) {
+                            issued.add(generator.next());
+                        }
+                        PolicyNumberGenerator.Block block = generator.nextBlock(size);
+                        while (block.hasNext()) {
+                            issued.add(block.next());
+                        }
+                    }
+                    return issued;
+                };
+                results.add(pool.submit(worker));
+            }
+            start.countDown();
+
+            Set<String> all = new HashSet<>();
+            int total = 0;
+            for (Future<List<String>> result : results) {
+                List<String> issued = result.get();
+                for (int i = 0; i < issued.size(); i++) {
+                    String number = issued.get(i);
+                    assertTrue(number.matches("\\d{16}"), () -> "not 16 digits: " + number);
+                    if (i > 0) {
+                        String previous = issued.get(i - 1);
+                        assertTrue(Long.parseLong(previous) < Long.parseLong(number),
+                                () -> "out of order: " + previous + " then " + number);
+                    }
+                }
+                all.addAll(issued);
+                total += issued.size();
+            }
+            assertEquals(total, all.size(), "duplicate policy numbers issued");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static PolicyNumberGenerator generator(int workerId, long maxDriftMillis) {
+        PolicyNumberGenerator generator = new PolicyNumberGenerator();
+        ReflectionTestUtils.setField(generator, "workerId", workerId);
+        ReflectionTestUtils.setField(generator, "maxDriftMillis", maxDriftMillis);
+        generator.init();
+        return generator;
+    }
+}
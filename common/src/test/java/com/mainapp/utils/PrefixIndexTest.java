@@ -0,0 +1,56 @@
+package com.mainapp.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PrefixIndexTest {
+
+    private static final int DOCUMENTS = 5_000;
+    private static final int RELOADS = 50;
+
+    @Test
+    void searchesDuringReloadsSeeACompleteIndex() throws Exception {
+        Map<Long, String> names = new HashMap<>();
+        for (long id = 0; id < DOCUMENTS; id++) {
+            names.put(id, "name" + id);
+        }
+        PrefixIndex<String> index = new PrefixIndex<>(DOCUMENTS);
+        index.load(names, List::of);
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        AtomicBoolean loading = new AtomicBoolean(true);
+        try {
+            Future<?> reloads = pool.submit(() -> {
+                try {
+                    for (int i = 0; i < RELOADS; i++) {
+                        index.load(names, List::of);
+                    }
+                } finally {
+                    loading.set(false);
+                }
+            });
+            Future<Integer> searches = pool.submit(() -> {
+                int count = 0;
+                do {
+                    assertEquals(List.of("name4999"), index.search("name4999", 10));
+                    assertEquals(10, index.search("name", 10).size());
+                    count++;
+                } while (loading.get());
+                return count;
+            });
+            reloads.get();
+            searches.get();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -1,13 +1,21 @@
 package com.mainapp.Controllers;
 
+import com.mainapp.Services.AttendanceAnomalyService;
+import com.mainapp.Services.AttendanceFeedService;
 import com.mainapp.Services.AttendanceService;
+import com.mainapp.enums.AnomalyType;
+import com.mainapp.dto.LocationRequest;
 import com.mainapp.models.Attendance;
 import com.mainapp.dto.SessionValidationResponse;
+import com.mainapp.services.AuthService;
 
 import jakarta.servlet.http.HttpSession;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -29,18 +37,30 @@ public class AttendanceController {
     @Autowired
     private AttendanceService attendanceService;
 
+    @Autowired
+    private AttendanceAnomalyService attendanceAnomalyService;
+
+    @Autowired
+    private AttendanceFeedService attendanceFeedService;
+
+    @Autowired
+    private AuthService authService;
+
     /**
      * API endpoint for employee check-in.
      * <p>
      * Validates the employee session and registers the check-in time if the employee has not
-     * already checked in for the day.
+     * already checked in for the day. The optional body carries the device coordinates, which
+     * are required when the organization has office geofences.
      *
-     * @param session The current HTTP session containing employee details.
+     * @param session  The current HTTP session containing employee details.
+     * @param location The device coordinates (latitude, longitude), optional.
      * @return ResponseEntity containing the session validation response with status code.
      */
     @PostMapping("/check-in")
-    public ResponseEntity<SessionValidationResponse> checkIn(HttpSession session) {
-        SessionValidationResponse response = attendanceService.checkIn(session);
+    public ResponseEntity<SessionValidationResponse> checkIn(HttpSession session,
+                                                             @Valid @RequestBody(required = false) LocationRequest location) {
+        SessionValidationResponse response = attendanceService.checkIn(session, location);
         return ResponseEntity.status(response.getStatusCode()).body(response);
     }
 
@@ -48,14 +68,17 @@ public class AttendanceController {
      * API endpoint for employee check-out.
      * <p>
      * Validates the employee session and records the check-out time if the employee has
-     * already checked in but not yet checked out.
+     * already checked in but not yet checked out. The optional body carries the device
+     * coordinates, which are required when the organization has office geofences.
      *
-     * @param session The current HTTP session containing employee details.
+     * @param session  The current HTTP session containing employee details.
+     * @param location The device coordinates (latitude, longitude), optional.
      * @return ResponseEntity containing the session validation response with status code.
      */
     @PostMapping("/check-out")
-    public ResponseEntity<SessionValidationResponse> checkOut(HttpSession session) {
-        SessionValidationResponse response = attendanceService.checkOut(session);
+    public ResponseEntity<SessionValidationResponse> checkOut(HttpSession session,
+                                                              @Valid @RequestBody(required = false) LocationRequest location) {
+        SessionValidationResponse response = attendanceService.checkOut(session, location);
         return ResponseEntity.status(response.getStatusCode()).body(response);
     }
 
@@ -108,4 +131,71 @@ public class AttendanceController {
         List<Attendance> attendanceList = attendanceService.getAttendanceBetweenDates(session, startDate, endDate);
         return ResponseEntity.ok(attendanceList);
     }
+
+    /**
+     * API endpoint to list the attendance anomalies flagged for the logged-in employee's organization.
+     *
+     * @param session The current HTTP session containing employee details.
+     * @param type    Optional anomaly type filter (LONG_SHIFT, MULTIPLE_LOCATIONS, IMPOSSIBLE_TRAVEL, CHRONIC_LATENESS).
+     * @param limit   Maximum number of flags returned, newest first.
+     * @return ResponseEntity containing the flags.
+     */
+    @GetMapping("/anomalies")
+    public ResponseEntity<Map<String, Object>> getAnomalies(
+            HttpSession session,
+            @RequestParam(value = "type", required = false) AnomalyType type,
+            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        SessionValidationResponse validationResponse = authService.validateEmployeeSession(session);
+        if (!validationResponse.isSessionValid()) {
+            return ResponseEntity.status(403).body(Map.of("status", 403, "message", validationResponse.getMessage()));
+        }
+        List<AttendanceAnomalyService.AnomalyFlag> flags = attendanceAnomalyService.getFlags(
+                validationResponse.getEntityID(), type, Math.max(1, Math.min(limit, 500)));
+        return ResponseEntity.ok(Map.of("status", 200, "message", "Attendance anomalies fetched successfully.", "data", flags));
+    }
+
+    /**
+     * API endpoint exposing the anomaly detector counters.
+     */
+    @GetMapping("/anomalies/stats")
+    public ResponseEntity<Map<String, Object>> getAnomalyStats(HttpSession session) {
+        SessionValidationResponse validationResponse = authService.validateEmployeeSession(session);
+        if (!validationResponse.isSessionValid()) {
+            return ResponseEntity.status(403).body(Map.of("status", 403, "message", validationResponse.getMessage()));
+        }
+        return ResponseEntity.ok(Map.of("status", 200, "message", "Anomaly counters fetched successfully.", "data", attendanceAnomalyService.stats()));
+    }
+
+    /**
+     * Server-sent events stream of the check-ins and check-outs of the logged-in employee's organization.
+     * <p>
+     * Events are named after the attendance event type (CHECK_IN, CHECK_OUT, CHECK_IN_REJECTED,
+     * CHECK_OUT_REJECTED) and carry the ring sequence as id. A {@code resync} event means events
+     * were missed and the dashboard should reload today's attendance.
+     *
+     * @param session     The current HTTP session containing employee details.
+     * @param lastEventId Sent by the browser when reconnecting, to resume after the last received event.
+     * @return The event stream.
+     */
+    @GetMapping(value = "/feed", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> getFeed(HttpSession session,
+                                              @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        SessionValidationResponse validationResponse = authService.validateEmployeeSession(session);
+        if (!validationResponse.isSessionValid()) {
+            return ResponseEntity.status(403).build();
+        }
+        return ResponseEntity.ok(attendanceFeedService.subscribe(validationResponse.getEntityID(), lastEventId));
+    }
+
+    /**
+     * API endpoint exposing the live feed counters of this node.
+     */
+    @GetMapping("/feed/stats")
+    public ResponseEntity<Map<String, Object>> getFeedStats(HttpSession session) {
+        SessionValidationResponse validationResponse = authService.validateEmployeeSession(session);
+        if (!validationResponse.isSessionValid()) {
+            return ResponseEntity.status(403).body(Map.of("status", 403, "message", validationResponse.getMessage()));
+        }
+        return ResponseEntity.ok(Map.of("status", 200, "message", "Live feed counters fetched successfully.", "data", attendanceFeedService.stats()));
+    }
 }
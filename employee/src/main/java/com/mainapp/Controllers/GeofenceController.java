@@ -0,0 +1,125 @@
+package com.mainapp.Controllers;
+
+import com.mainapp.Services.GeofenceService;
+import com.mainapp.dto.GeofenceRequest;
+import com.mainapp.dto.SessionValidationResponse;
+import com.mainapp.models.OfficeGeofence;
+import com.mainapp.services.AuthService;
+import jakarta.servlet.http.HttpSession;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Controller for managing the office geofences of the logged-in employee's organization.
+ * Check-ins and check-outs are validated against the active geofences.
+ */
+@RestController
+@RequestMapping("/geofences")
+public class GeofenceController {
+
+    private final AuthService authService;
+    private final GeofenceService geofenceService;
+
+    public GeofenceController(AuthService authService, GeofenceService geofenceService) {
+        this.authService = authService;
+        this.geofenceService = geofenceService;
+    }
+
+    /**
+     * Lists the geofences of the organization.
+     */
+    @GetMapping("")
+    public ResponseEntity<Map<String, Object>> getGeofences(HttpSession session) {
+        SessionValidationResponse validationResponse = authService.validateEmployeeSession(session);
+        if (!validationResponse.isSessionValid()) {
+            return forbidden(validationResponse);
+        }
+        return ResponseEntity.ok(Map.of(
+                "status", HttpStatus.OK.value(),
+                "message", "Geofences fetched successfully.",
+                "data", geofenceService.getGeofences(validationResponse.getEntityID())
+        ));
+    }
+
+    /**
+     * Creates a geofence for the organization.
+     *
+     * @param request Site name and polygon as [[lat, lng], ...].
+     */
+    @PostMapping("")
+    public ResponseEntity<Map<String, Object>> createGeofence(@Valid @RequestBody GeofenceRequest request, BindingResult result, HttpSession session) {
+        SessionValidationResponse validationResponse = authService.validateEmployeeSession(session);
+        if (!validationResponse.isSessionValid()) {
+            return forbidden(validationResponse);
+        }
+        if (result.hasErrors()) {
+            return badRequest(result);
+        }
+        OfficeGeofence geofence = geofenceService.createGeofence(request, validationResponse.getEntityID(), validationResponse.getUserId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(Map.of(
+                "status", HttpStatus.CREATED.value(),
+                "message", "Geofence created successfully.",
+                "data", geofence
+        ));
+    }
+
+    /**
+     * Updates a geofence of the organization.
+     *
+     * @param id Geofence ID.
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<Map<String, Object>> updateGeofence(@PathVariable Long id, @Valid @RequestBody GeofenceRequest request, BindingResult result, HttpSession session) {
+        SessionValidationResponse validationResponse = authService.validateEmployeeSession(session);
+        if (!validationResponse.isSessionValid()) {
+            return forbidden(validationResponse);
+        }
+        if (result.hasErrors()) {
+            return badRequest(result);
+        }
+        OfficeGeofence geofence = geofenceService.updateGeofence(id, request, validationResponse.getEntityID(), validationResponse.getUserId());
+        return ResponseEntity.ok(Map.of(
+                "status", HttpStatus.OK.value(),
+                "message", "Geofence updated successfully.",
+                "data", geofence
+        ));
+    }
+
+    /**
+     * Deletes a geofence of the organization.
+     *
+     * @param id Geofence ID.
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Map<String, Object>> deleteGeofence(@PathVariable Long id, HttpSession session) {
+        SessionValidationResponse validationResponse = authService.validateEmployeeSession(session);
+        if (!validationResponse.isSessionValid()) {
+            return forbidden(validationResponse);
+        }
+        geofenceService.deleteGeofence(id, validationResponse.getEntityID());
+        return ResponseEntity.ok(Map.of(
+                "status", HttpStatus.OK.value(),
+                "message", "Geofence deleted successfully."
+        ));
+    }
+
+    private static ResponseEntity<Map<String, Object>> badRequest(BindingResult result) {
+        Map<String, String> errors = new HashMap<>();
+        for (FieldError error : result.getFieldErrors()) {
+            errors.put(error.getField(), error.getDefaultMessage());
+        }
+        return ResponseEntity.badRequest().body(Map.of("status", HttpStatus.BAD_REQUEST.value(), "errors", errors));
+    }
+
+    private static ResponseEntity<Map<String, Object>> forbidden(SessionValidationResponse validationResponse) {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(Map.of("status", HttpStatus.FORBIDDEN.value(), "message", validationResponse.getMessage()));
+    }
+}
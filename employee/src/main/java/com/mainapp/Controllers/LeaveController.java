@@ -0,0 +1,234 @@
+package com.mainapp.Controllers;
+
+import com.mainapp.Services.CalendarService;
+import com.mainapp.Services.LeaveService;
+import com.mainapp.dto.HolidayRequest;
+import com.mainapp.dto.LeaveApplicationRequest;
+import com.mainapp.dto.SessionValidationResponse;
+import com.mainapp.models.LeaveRequest;
+import com.mainapp.services.AuthService;
+import jakarta.servlet.http.HttpSession;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controller for leave requests and organization holiday calendars.
+ * Calendar questions (balances, working days, who is on leave) are answered from the
+ * calendar bitmaps maintained by {@link CalendarService}.
+ */
+@RestController
+@RequestMapping("/leave")
+public class LeaveController {
+
+    private final AuthService authService;
+    private final LeaveService leaveService;
+    private final CalendarService calendarService;
+
+    public LeaveController(AuthService authService, LeaveService leaveService, CalendarService calendarService) {
+        this.authService = authService;
+        this.leaveService = leaveService;
+        this.calendarService = calendarService;
+    }
+
+    /**
+     * Applies for leave for the logged-in employee.
+     *
+     * @param request Leave details from the request body.
+     * @param session HTTP session to validate authentication.
+     * @return The created leave request.
+     */
+    @PostMapping("/apply")
+    public ResponseEntity<Map<String, Object>> applyLeave(@Valid @RequestBody LeaveApplicationRequest request, BindingResult result, HttpSession session) {
+        SessionValidationResponse validationResponse = authService.validateEmployeeSession(session);
+        if (!validationResponse.isSessionValid()) {
+            return forbidden(validationResponse);
+        }
+        if (result.hasErrors()) {
+            Map<String, String> errors = new HashMap<>();
+            for (FieldError error : result.getFieldErrors()) {
+                errors.put(error.getField(), error.getDefaultMessage());
+            }
+            return ResponseEntity.badRequest().body(Map.of("status", HttpStatus.BAD_REQUEST.value(), "errors", errors));
+        }
+
+        LeaveRequest leaveRequest = leaveService.applyLeave(request, validationResponse.getUserId(), validationResponse.getEntityID());
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(Map.of(
+                "status", HttpStatus.CREATED.value(),
+                "message", "Leave request submitted successfully.",
+                "data", leaveRequest
+        ));
+    }
+
+    /**
+     * Lists the leave requests of the logged-in employee.
+     */
+    @GetMapping("/my")
+    public ResponseEntity<Map<String, Object>> getMyLeaves(HttpSession session) {
+        SessionValidationResponse validationResponse = authService.validateEmployeeSession(session);
+        if (!validationResponse.isSessionValid()) {
+            return forbidden(validationResponse);
+        }
+        return ok("Leave requests fetched successfully.", leaveService.getEmployeeLeaves(validationResponse.getUserId()));
+    }
+
+    /**
+     * Lists the pending leave requests of the logged-in employee's organization.
+     */
+    @GetMapping("/pending")
+    public ResponseEntity<Map<String, Object>> getPendingLeaves(HttpSession session) {
+        SessionValidationResponse validationResponse = authService.validateEmployeeSession(session);
+        if (!validationResponse.isSessionValid()) {
+            return forbidden(validationResponse);
+        }
+        return ok("Pending leave requests fetched successfully.", leaveService.getPendingLeaves(validationResponse.getEntityID()));
+    }
+
+    /**
+     * Approves a pending leave request of the same organization.
+     *
+     * @param id Leave request ID.
+     */
+    @PutMapping("/{id}/approve")
+    public ResponseEntity<Map<String, Object>> approveLeave(@PathVariable Long id, HttpSession session) {
+        SessionValidationResponse validationResponse = authService.validateEmployeeSession(session);
+        if (!validationResponse.isSessionValid()) {
+            return forbidden(validationResponse);
+        }
+        LeaveRequest leaveRequest = leaveService.approveLeave(id, validationResponse.getUserId(), validationResponse.getEntityID());
+        return ok("Leave request approved.", leaveRequest);
+    }
+
+    /**
+     * Rejects a pending leave request of the same organization.
+     *
+     * @param id Leave request ID.
+     */
+    @PutMapping("/{id}/reject")
+    public ResponseEntity<Map<String, Object>> rejectLeave(@PathVariable Long id, HttpSession session) {
+        SessionValidationResponse validationResponse = authService.validateEmployeeSession(session);
+        if (!validationResponse.isSessionValid()) {
+            return forbidden(validationResponse);
+        }
+        LeaveRequest leaveRequest = leaveService.rejectLeave(id, validationResponse.getUserId(), validationResponse.getEntityID());
+        return ok("Leave request rejected.", leaveRequest);
+    }
+
+    /**
+     * Returns the leave balance of the logged-in employee.
+     *
+     * @param year Calendar year, defaults to the current year.
+     */
+    @GetMapping("/balance")
+    public ResponseEntity<Map<String, Object>> getLeaveBalance(@RequestParam(value = "year", required = false) Integer year, HttpSession session) {
+        SessionValidationResponse validationResponse = authService.validateEmployeeSession(session);
+        if (!validationResponse.isSessionValid()) {
+            return forbidden(validationResponse);
+        }
+        int calendarYear = year != null ? year : LocalDate.now().getYear();
+        return ok("Leave balance fetched successfully.",
+                leaveService.getLeaveBalance(validationResponse.getUserId(), validationResponse.getEntityID(), calendarYear));
+    }
+
+    /**
+     * Counts working days in a date range for the organization and for the logged-in employee
+     * (organization working days minus the employee's leave).
+     *
+     * @param start The start date in ISO format (e.g., "2024-03-01").
+     * @param end   The end date in ISO format (e.g., "2024-03-31").
+     */
+    @GetMapping("/working-days")
+    public ResponseEntity<Map<String, Object>> getWorkingDays(@RequestParam("start") String start, @RequestParam("end") String end, HttpSession session) {
+        SessionValidationResponse validationResponse = authService.validateEmployeeSession(session);
+        if (!validationResponse.isSessionValid()) {
+            return forbidden(validationResponse);
+        }
+        LocalDate startDate = LocalDate.parse(start);
+        LocalDate endDate = LocalDate.parse(end);
+        Long entityId = validationResponse.getEntityID();
+
+        return ok("Working days calculated successfully.", Map.of(
+                "organizationWorkingDays", calendarService.countWorkingDays(entityId, null, startDate, endDate),
+                "employeeWorkingDays", calendarService.countWorkingDays(entityId, validationResponse.getUserId(), startDate, endDate)
+        ));
+    }
+
+    /**
+     * Lists the employees of the organization who are on leave on a date.
+     *
+     * @param date The date in ISO format, defaults to today.
+     */
+    @GetMapping("/on-leave")
+    public ResponseEntity<Map<String, Object>> getEmployeesOnLeave(@RequestParam(value = "date", required = false) String date, HttpSession session) {
+        SessionValidationResponse validationResponse = authService.validateEmployeeSession(session);
+        if (!validationResponse.isSessionValid()) {
+            return forbidden(validationResponse);
+        }
+        LocalDate day = date != null ? LocalDate.parse(date) : LocalDate.now();
+        List<Long> employeeIds = calendarService.findEmployeesOnLeave(validationResponse.getEntityID(), day);
+        return ok("Employees on leave fetched successfully.", Map.of("date", day, "employeeIds", employeeIds));
+    }
+
+    /**
+     * Lists the holidays of the organization for a year.
+     */
+    @GetMapping("/holidays")
+    public ResponseEntity<Map<String, Object>> getHolidays(@RequestParam(value = "year", required = false) Integer year, HttpSession session) {
+        SessionValidationResponse validationResponse = authService.validateEmployeeSession(session);
+        if (!validationResponse.isSessionValid()) {
+            return forbidden(validationResponse);
+        }
+        int calendarYear = year != null ? year : LocalDate.now().getYear();
+        return ok("Holidays fetched successfully.", calendarService.getHolidayDates(validationResponse.getEntityID(), calendarYear));
+    }
+
+    /**
+     * Adds holidays to the organization calendar.
+     */
+    @PostMapping("/holidays")
+    public ResponseEntity<Map<String, Object>> addHolidays(@Valid @RequestBody HolidayRequest request, HttpSession session) {
+        return updateHolidays(request, true, session);
+    }
+
+    /**
+     * Removes holidays from the organization calendar.
+     */
+    @DeleteMapping("/holidays")
+    public ResponseEntity<Map<String, Object>> removeHolidays(@Valid @RequestBody HolidayRequest request, HttpSession session) {
+        return updateHolidays(request, false, session);
+    }
+
+    private ResponseEntity<Map<String, Object>> updateHolidays(HolidayRequest request, boolean add, HttpSession session) {
+        SessionValidationResponse validationResponse = authService.validateEmployeeSession(session);
+        if (!validationResponse.isSessionValid()) {
+            return forbidden(validationResponse);
+        }
+        calendarService.updateHolidays(validationResponse.getEntityID(), request.getDates(), add, validationResponse.getUserId());
+        return ResponseEntity.ok(Map.of(
+                "status", HttpStatus.OK.value(),
+                "message", add ? "Holidays added successfully." : "Holidays removed successfully."
+        ));
+    }
+
+    private static ResponseEntity<Map<String, Object>> ok(String message, Object data) {
+        return ResponseEntity.ok(Map.of(
+                "status", HttpStatus.OK.value(),
+                "message", message,
+                "data", data
+        ));
+    }
+
+    private static ResponseEntity<Map<String, Object>> forbidden(SessionValidationResponse validationResponse) {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(Map.of("status", HttpStatus.FORBIDDEN.value(), "message", validationResponse.getMessage()));
+    }
+}
@@ -1,21 +1,25 @@
 package com.mainapp.Controllers;
 
+import com.mainapp.Services.EmployeeCacheService;
+import com.mainapp.Services.EmployeeSearchService;
 import com.mainapp.Services.ManageEmployeeService;
 import com.mainapp.dto.AddEmployeeRequest;
 import com.mainapp.dto.EmployeeResponse;
 import com.mainapp.dto.SessionValidationResponse;
 import com.mainapp.models.AccountMaster;
 import com.mainapp.services.AuthService;
+import com.mainapp.services.ResourceVersionService;
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -28,12 +32,24 @@ import java.util.Map;
 @RequestMapping("/manage-employees")
 public class ManageEmployeeController {
 
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_SEARCH_RESULTS = 50;
+
     private final AuthService authService;
     private final ManageEmployeeService manageEmployeeService;
+    private final EmployeeCacheService employeeCacheService;
+    private final EmployeeSearchService employeeSearchService;
+    private final ResourceVersionService resourceVersionService;
 
-    public ManageEmployeeController(AuthService authService, ManageEmployeeService manageEmployeeService) {
+    public ManageEmployeeController(AuthService authService, ManageEmployeeService manageEmployeeService,
+                                    EmployeeCacheService employeeCacheService, EmployeeSearchService employeeSearchService,
+                                    ResourceVersionService resourceVersionService) {
         this.authService = authService;
         this.manageEmployeeService = manageEmployeeService;
+        this.employeeCacheService = employeeCacheService;
+        this.employeeSearchService = employeeSearchService;
+        this.resourceVersionService = resourceVersionService;
     }
 
     /**
@@ -65,25 +81,98 @@ public class ManageEmployeeController {
     }
 
     /**
-     * Retrieves a list of employees based on entity type.
+     * Retrieves the employees of the organization based on entity type, ordered by id.
+     * <p>
+     * Without paging parameters every employee is returned, as before pagination existed. Pages can
+     * be requested by number ({@code page}, {@code size}) or, for stable deep paging, by passing the
+     * {@code nextAfter} value of the previous response as {@code after}. Conditional requests
+     * (If-None-Match / If-Modified-Since) are answered with 304 Not Modified while no employee of
+     * the organization has changed, without loading the page.
      *
      * @param session HTTP session to validate authentication.
+     * @param page    Zero-based page number, optional (default 0 when paging).
+     * @param size    Page size, optional (default 100 when paging, at most 500).
+     * @param after   Id of the last employee already received, optional.
      * @return List of employees with relevant details.
      */
     @GetMapping("")
-    public ResponseEntity<Map<String, Object>> getEmployeesByEntityType(HttpSession session) {
+    public ResponseEntity<Map<String, Object>> getEmployeesByEntityType(
+            HttpSession session,
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "after", required = false) Long after,
+            WebRequest webRequest) {
         SessionValidationResponse validationResponse = authService.validateEmployeeSession(session);
         if (!validationResponse.isSessionValid()) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(Map.of("status", HttpStatus.FORBIDDEN.value(), "message", validationResponse.getMessage()));
         }
+        ResourceVersionService.ResourceVersion version = resourceVersionService.employees(validationResponse.getEntityID(), "102");
+        if (webRequest.checkNotModified(version.getETag(), version.getLastModified())) {
+            return null;
+        }
 
-        List<EmployeeResponse> employees = manageEmployeeService.getEmployeesByEntityType("102", session);
+        boolean paged = page != null || size != null || after != null;
+        Slice<EmployeeResponse> employees = manageEmployeeService.getEmployeesByEntityType("102", session,
+                page != null ? Math.max(page, 0) : 0,
+                paged ? Math.max(1, Math.min(size != null ? size : DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE)) : 0,
+                after);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", HttpStatus.OK.value());
+        response.put("message", "Employee list fetched successfully.");
+        response.put("data", employees.getContent());
+        response.put("hasNext", employees.hasNext());
+        if (employees.hasNext()) {
+            response.put("nextAfter", employees.getContent().get(employees.getNumberOfElements() - 1).getId());
+        }
+        return ResponseEntity.ok(response);
+    }
 
+    /**
+     * Typeahead search over the employees of the logged-in employee's organization.
+     * Every word of the query must be a prefix of the first name, last name, username, email or
+     * phone number (phone numbers also match on their last four digits).
+     *
+     * @param query   Search text, e.g. "ev on" or "7778".
+     * @param limit   Maximum number of results (default 10, at most 50).
+     * @param session HTTP session to validate authentication.
+     * @return The best matching employees, exact word matches first.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<Map<String, Object>> searchEmployees(
+            @RequestParam("q") String query,
+            @RequestParam(value = "limit", defaultValue = "10") int limit,
+            HttpSession session) {
+        SessionValidationResponse validationResponse = authService.validateEmployeeSession(session);
+        if (!validationResponse.isSessionValid()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("status", HttpStatus.FORBIDDEN.value(), "message", validationResponse.getMessage()));
+        }
+        return ResponseEntity.ok(Map.of(
+                "status", HttpStatus.OK.value(),
+                "message", "Employee search completed successfully.",
+                "data", employeeSearchService.search(validationResponse.getEntityID(), query,
+                        Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS)))
+        ));
+    }
+
+    /**
+     * Returns hit, miss and eviction statistics of the employee read cache.
+     *
+     * @param session HTTP session to validate authentication.
+     */
+    @GetMapping("/cache-stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats(HttpSession session) {
+        SessionValidationResponse validationResponse = authService.validateEmployeeSession(session);
+        if (!validationResponse.isSessionValid()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("status", HttpStatus.FORBIDDEN.value(), "message", validationResponse.getMessage()));
+        }
         return ResponseEntity.ok(Map.of(
                 "status", HttpStatus.OK.value(),
-                "message", "Employee list fetched successfully.",
-                "data", employees
+                "message", "Employee cache statistics fetched successfully.",
+                "data", employeeCacheService.stats()
         ));
     }
 
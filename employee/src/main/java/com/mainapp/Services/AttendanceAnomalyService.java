@@ -0,0 +1,352 @@
+package com.mainapp.Services;
+
+import com.mainapp.enums.AnomalyType;
+import com.mainapp.events.AttendanceRecordedEvent;
+import com.mainapp.utils.GeoPolygon;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Flags attendance anomalies as check-in and check-out events are recorded.
+ * <p>
+ * Events are handed over to a bounded queue and consumed by a single worker thread, so recording
+ * attendance never waits for the rules and the per-employee state needs no locking. The state is a
+ * small sliding window per employee (open shift, last located event, recent check-in attempts and
+ * the late/on-time outcome of the last check-in days) held in an LRU map; the attendance table is
+ * never read. When the queue is full the event is dropped and counted.
+ */
+@Service
+public class AttendanceAnomalyService {
+
+    private static final Logger log = LoggerFactory.getLogger(AttendanceAnomalyService.class);
+
+    private static final int MAX_RECENT_ATTEMPTS = 8;
+
+    @Value("${app.anomaly.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.anomaly.max-tracked-employees:50000}")
+    private int maxTrackedEmployees;
+
+    @Value("${app.anomaly.max-flags-per-entity:500}")
+    private int maxFlagsPerEntity;
+
+    @Value("${app.anomaly.max-shift-hours:12}")
+    private long maxShiftHours;
+
+    @Value("${app.anomaly.location-window-minutes:60}")
+    private long locationWindowMinutes;
+
+    @Value("${app.anomaly.location-distance-meters:500}")
+    private double locationDistanceMeters;
+
+    @Value("${app.anomaly.max-speed-kmh:900}")
+    private double maxSpeedKmh;
+
+    @Value("${app.anomaly.shift-start:09:30}")
+    private LocalTime shiftStart;
+
+    @Value("${app.anomaly.lateness-window-days:10}")
+    private int latenessWindowDays;
+
+    @Value("${app.anomaly.lateness-threshold:5}")
+    private int latenessThreshold;
+
+    private BlockingQueue<AttendanceRecordedEvent> queue;
+    private Thread worker;
+    private volatile boolean running;
+
+    // Only touched by the worker thread
+    private Map<Long, EmployeeWindow> windows;
+
+    private final Map<Long, Deque<AnomalyFlag>> flagsByEntity = new ConcurrentHashMap<>();
+    private final Map<AnomalyType, LongAdder> flagCounters = new EnumMap<>(AnomalyType.class);
+    private final LongAdder processedEvents = new LongAdder();
+    private final LongAdder droppedEvents = new LongAdder();
+
+    @PostConstruct
+    public void start() {
+        for (AnomalyType type : AnomalyType.values()) {
+            flagCounters.put(type, new LongAdder());
+        }
+        windows = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, EmployeeWindow> eldest) {
+                return size() > maxTrackedEmployees;
+            }
+        };
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        worker = new Thread(this::consume, "attendance-anomaly");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    @EventListener
+    public void onAttendanceRecorded(AttendanceRecordedEvent event) {
+        if (event.getEntityId() == null || !queue.offer(event)) {
+            droppedEvents.increment();
+        }
+    }
+
+    /**
+     * Returns the most recent flags of an organization, newest first.
+     *
+     * @param type  Only flags of this type, or null for every type.
+     * @param limit Maximum number of flags returned.
+     */
+    public List<AnomalyFlag> getFlags(Long entityId, AnomalyType type, int limit) {
+        Deque<AnomalyFlag> flags = flagsByEntity.get(entityId);
+        List<AnomalyFlag> result = new ArrayList<>();
+        if (flags == null) {
+            return result;
+        }
+        synchronized (flags) {
+            Iterator<AnomalyFlag> iterator = flags.descendingIterator();
+            while (iterator.hasNext() && result.size() < limit) {
+                AnomalyFlag flag = iterator.next();
+                if (type == null || flag.getType() == type) {
+                    result.add(flag);
+                }
+            }
+        }
+        return result;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        Map<String, Long> flagged = new LinkedHashMap<>();
+        flagCounters.forEach((type, counter) -> flagged.put(type.name(), counter.sum()));
+        stats.put("flags", flagged);
+        stats.put("processedEvents", processedEvents.sum());
+        stats.put("droppedEvents", droppedEvents.sum());
+        stats.put("queuedEvents", queue.size());
+        return stats;
+    }
+
+    public long getFlagCount(AnomalyType type) {
+        return flagCounters.get(type).sum();
+    }
+
+    private void consume() {
+        while (running) {
+            try {
+                AttendanceRecordedEvent event = queue.poll(1, TimeUnit.SECONDS);
+                if (event != null) {
+                    process(event);
+                    processedEvents.increment();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Failed to evaluate attendance event", e);
+            }
+        }
+    }
+
+    private void process(AttendanceRecordedEvent event) {
+        EmployeeWindow window = windows.computeIfAbsent(event.getEmployeeId(), id -> new EmployeeWindow());
+
+        if (event.hasLocation()) {
+            checkTravel(event, window);
+        }
+        switch (event.getType()) {
+            case CHECK_IN -> {
+                window.openShift = event.getTime();
+                checkLocations(event, window);
+                checkLateness(event, window);
+            }
+            case CHECK_IN_REJECTED -> checkLocations(event, window);
+            case CHECK_OUT -> {
+                if (window.openShift != null) {
+                    Duration shift = Duration.between(window.openShift, event.getTime());
+                    if (shift.toHours() >= maxShiftHours) {
+                        flag(event, AnomalyType.LONG_SHIFT, "Shift lasted " + shift.toHours() + "h " + shift.toMinutesPart() + "m.");
+                    }
+                }
+                window.openShift = null;
+            }
+            case CHECK_OUT_REJECTED -> {
+                // location is covered by the travel rule, nothing else to track
+            }
+        }
+        if (event.hasLocation()) {
+            window.lastTime = event.getTime();
+            window.lastLat = event.getLatitude();
+            window.lastLng = event.getLongitude();
+        }
+    }
+
+    /**
+     * Flags consecutive located events whose implied speed is above {@code app.anomaly.max-speed-kmh}.
+     */
+    private void checkTravel(AttendanceRecordedEvent event, EmployeeWindow window) {
+        if (window.lastTime == null) {
+            return;
+        }
+        double meters = GeoPolygon.distanceMeters(window.lastLat, window.lastLng, event.getLatitude(), event.getLongitude());
+        if (meters < locationDistanceMeters) {
+            return;
+        }
+        double hours = Math.max(Duration.between(window.lastTime, event.getTime()).toMillis(), 1000) / 3_600_000.0;
+        double speed = meters / 1000 / hours;
+        if (speed > maxSpeedKmh) {
+            flag(event, AnomalyType.IMPOSSIBLE_TRAVEL,
+                    String.format("Moved %.1f km in %d min (%.0f km/h).", meters / 1000, Math.round(hours * 60), speed));
+        }
+    }
+
+    /**
+     * Flags check-in attempts within {@code app.anomaly.location-window-minutes} that are further
+     * apart than {@code app.anomaly.location-distance-meters}. Flags once per window.
+     */
+    private void checkLocations(AttendanceRecordedEvent event, EmployeeWindow window) {
+        LocalDateTime windowStart = event.getTime().minusMinutes(locationWindowMinutes);
+        while (!window.attempts.isEmpty() && window.attempts.peekFirst().time.isBefore(windowStart)) {
+            window.attempts.pollFirst();
+        }
+        if (!event.hasLocation()) {
+            return;
+        }
+        boolean spread = false;
+        for (Attempt attempt : window.attempts) {
+            if (GeoPolygon.distanceMeters(attempt.lat, attempt.lng, event.getLatitude(), event.getLongitude()) > locationDistanceMeters) {
+                spread = true;
+                break;
+            }
+        }
+        if (spread && (window.lastLocationFlag == null || window.lastLocationFlag.isBefore(windowStart))) {
+            window.lastLocationFlag = event.getTime();
+            flag(event, AnomalyType.MULTIPLE_LOCATIONS,
+                    (window.attempts.size() + 1) + " check-in attempts from different locations within " + locationWindowMinutes + " min.");
+        }
+        if (window.attempts.size() == MAX_RECENT_ATTEMPTS) {
+            window.attempts.pollFirst();
+        }
+        window.attempts.addLast(new Attempt(event.getTime(), event.getLatitude(), event.getLongitude()));
+    }
+
+    /**
+     * Keeps the late/on-time outcome of the last {@code app.anomaly.lateness-window-days} check-in
+     * days as a bit ring and flags when the number of late days reaches the threshold. The flag is
+     * re-armed once the count drops below the threshold again.
+     */
+    private void checkLateness(AttendanceRecordedEvent event, EmployeeWindow window) {
+        LocalDate day = event.getTime().toLocalDate();
+        if (day.equals(window.lastCheckInDay)) {
+            return;
+        }
+        window.lastCheckInDay = day;
+        int size = Math.min(latenessWindowDays, Long.SIZE);
+        window.lateBits = (window.lateBits << 1) & (size == Long.SIZE ? -1L : (1L << size) - 1);
+        if (event.getTime().toLocalTime().isAfter(shiftStart)) {
+            window.lateBits |= 1;
+        }
+        int late = Long.bitCount(window.lateBits);
+        if (late >= latenessThreshold && !window.latenessFlagged) {
+            window.latenessFlagged = true;
+            flag(event, AnomalyType.CHRONIC_LATENESS, "Late on " + late + " of the last " + size + " check-in days.");
+        } else if (late < latenessThreshold) {
+            window.latenessFlagged = false;
+        }
+    }
+
+    private void flag(AttendanceRecordedEvent event, AnomalyType type, String detail) {
+        AnomalyFlag flag = new AnomalyFlag(type, event.getEmployeeId(), event.getAttendanceId(), event.getTime(), detail);
+        Deque<AnomalyFlag> flags = flagsByEntity.computeIfAbsent(event.getEntityId(), id -> new ArrayDeque<>());
+        synchronized (flags) {
+            if (flags.size() == maxFlagsPerEntity) {
+                flags.pollFirst();
+            }
+            flags.addLast(flag);
+        }
+        flagCounters.get(type).increment();
+    }
+
+    /**
+     * Sliding-window state of one employee.
+     */
+    private static final class EmployeeWindow {
+        private LocalDateTime openShift;
+        private LocalDateTime lastTime;
+        private double lastLat;
+        private double lastLng;
+        private final Deque<Attempt> attempts = new ArrayDeque<>(MAX_RECENT_ATTEMPTS);
+        private LocalDateTime lastLocationFlag;
+        private LocalDate lastCheckInDay;
+        private long lateBits;
+        private boolean latenessFlagged;
+    }
+
+    private record Attempt(LocalDateTime time, double lat, double lng) {
+    }
+
+    /**
+     * An anomaly raised for an employee.
+     */
+    public static final class AnomalyFlag {
+        private final AnomalyType type;
+        private final Long employeeId;
+        private final Long attendanceId;
+        private final LocalDateTime detectedAt;
+        private final String detail;
+
+        AnomalyFlag(AnomalyType type, Long employeeId, Long attendanceId, LocalDateTime detectedAt, String detail) {
+            this.type = type;
+            this.employeeId = employeeId;
+            this.attendanceId = attendanceId;
+            this.detectedAt = detectedAt;
+            this.detail = detail;
+        }
+
+        public AnomalyType getType() {
+            return type;
+        }
+
+        public Long getEmployeeId() {
+            return employeeId;
+        }
+
+        public Long getAttendanceId() {
+            return attendanceId;
+        }
+
+        public LocalDateTime getDetectedAt() {
+            return detectedAt;
+        }
+
+        public String getDetail() {
+            return detail;
+        }
+    }
+}
@@ -0,0 +1,448 @@
+package com.mainapp.Services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mainapp.events.AttendanceRecordedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live attendance feed pushed to organization dashboards over server-sent events.
+ * <p>
+ * Recorded attendance events are queued and appended by a single writer thread to a fixed-size
+ * ring buffer per organization; each event is serialized once when it is written. Subscribers are
+ * async servlet requests (no thread is held per connection) that only keep a cursor into their
+ * organization's ring. After every write the writer schedules the organization's subscribers on a
+ * small sender pool; a subscriber that is still busy sending is skipped and catches up on its next
+ * turn. Each turn sends at most {@code app.feed.batch-size} events, so a busy organization cannot
+ * hold the senders either.
+ * <p>
+ * Slow clients are handled per subscriber. A subscriber that falls more than
+ * {@code app.feed.max-lag} events behind gets a single {@code resync} event instead of the missed
+ * events and should reload its dashboard. Servlet writes block, so a watchdog evicts any subscriber
+ * whose current write takes longer than {@code app.feed.write-timeout-millis}: it is removed from
+ * its feed, and the sender pool gets an extra thread (up to {@code app.feed.max-extra-senders})
+ * for as long as the stuck write lasts, so other clients keep their share of senders. The evicted
+ * connection is closed once the write returns, and the client reconnects.
+ * <p>
+ * Idle connections receive a heartbeat comment every {@code app.feed.heartbeat-seconds}.
+ * Reconnecting clients resume from {@code Last-Event-ID} while the event is still in the ring.
+ */
+@Service
+public class AttendanceFeedService {
+
+    private static final Logger log = LoggerFactory.getLogger(AttendanceFeedService.class);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.feed.ring-size:1024}")
+    private int ringSize;
+
+    @Value("${app.feed.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.feed.max-subscribers:50000}")
+    private int maxSubscribers;
+
+    @Value("${app.feed.sender-threads:8}")
+    private int senderThreads;
+
+    @Value("${app.feed.heartbeat-seconds:15}")
+    private long heartbeatSeconds;
+
+    @Value("${app.feed.timeout-minutes:30}")
+    private long timeoutMinutes;
+
+    @Value("${app.feed.write-timeout-millis:5000}")
+    private long writeTimeoutMillis;
+
+    @Value("${app.feed.max-extra-senders:32}")
+    private int maxExtraSenders;
+
+    @Value("${app.feed.max-lag:256}")
+    private int maxLag;
+
+    @Value("${app.feed.batch-size:64}")
+    private int batchSize;
+
+    private final Map<Long, EntityFeed> feeds = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final LongAdder publishedEvents = new LongAdder();
+    private final LongAdder droppedEvents = new LongAdder();
+    private final LongAdder resyncs = new LongAdder();
+    private final LongAdder skippedBusy = new LongAdder();
+    private final LongAdder evictedStalled = new LongAdder();
+
+    private BlockingQueue<AttendanceRecordedEvent> queue;
+    private Thread writer;
+    private ThreadPoolExecutor senders;
+    private int extraSenders; // guarded by senders
+    private ScheduledExecutorService heartbeats;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        int size = Integer.highestOneBit(Math.max(16, ringSize));
+        ringSize = size < ringSize ? size << 1 : size; // power of two for the slot mask
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        AtomicInteger senderIds = new AtomicInteger();
+        senders = new ThreadPoolExecutor(senderThreads, senderThreads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "attendance-feed-sender-" + senderIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "attendance-feed-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeats.scheduleAtFixedRate(this::heartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        long watchdogMillis = Math.max(100, Math.min(1000, writeTimeoutMillis / 2));
+        heartbeats.scheduleAtFixedRate(this::evictStalled, watchdogMillis, watchdogMillis, TimeUnit.MILLISECONDS);
+        writer = new Thread(this::write, "attendance-feed-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        writer.interrupt();
+        heartbeats.shutdownNow();
+        senders.shutdownNow();
+        feeds.values().forEach(feed -> feed.subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    @EventListener
+    public void onAttendanceRecorded(AttendanceRecordedEvent event) {
+        if (event.getEntityId() == null || !queue.offer(event)) {
+            droppedEvents.increment();
+        }
+    }
+
+    /**
+     * Opens a feed connection for an organization.
+     *
+     * @param lastEventId The {@code Last-Event-ID} sent by a reconnecting client, or null.
+     * @throws ResponseStatusException 503 when this node already serves the maximum number of subscribers.
+     */
+    public SseEmitter subscribe(Long entityId, Long lastEventId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many live feed subscribers, retry later.");
+        }
+        EntityFeed feed = feeds.computeIfAbsent(entityId, id -> new EntityFeed(ringSize));
+        SseEmitter emitter = newEmitter(TimeUnit.MINUTES.toMillis(timeoutMinutes));
+        long head = feed.ring.head;
+        long cursor = lastEventId != null && lastEventId < head ? lastEventId + 1 : head;
+        Subscriber subscriber = new Subscriber(feed, emitter, cursor);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(error -> unsubscribe(subscriber));
+        subscriber.heartbeatDue = true; // flushes the headers and confirms the connection right away
+        feed.subscribers.add(subscriber);
+        schedule(subscriber);
+        return emitter;
+    }
+
+    SseEmitter newEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("subscribers", subscriberCount.get());
+        stats.put("feeds", feeds.size());
+        stats.put("publishedEvents", publishedEvents.sum());
+        stats.put("droppedEvents", droppedEvents.sum());
+        stats.put("resyncs", resyncs.sum());
+        stats.put("skippedBusy", skippedBusy.sum());
+        stats.put("evictedStalled", evictedStalled.sum());
+        stats.put("stalledSenders", stalledSenders());
+        stats.put("queuedEvents", queue.size());
+        return stats;
+    }
+
+    private void write() {
+        while (running) {
+            try {
+                AttendanceRecordedEvent event = queue.poll(1, TimeUnit.SECONDS);
+                if (event == null) {
+                    continue;
+                }
+                EntityFeed feed = feeds.computeIfAbsent(event.getEntityId(), id -> new EntityFeed(ringSize));
+                feed.ring.append(event.getType().name(), toJson(event));
+                publishedEvents.increment();
+                for (Subscriber subscriber : feed.subscribers) {
+                    schedule(subscriber);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Failed to publish attendance feed event", e);
+            }
+        }
+    }
+
+    private void heartbeat() {
+        for (EntityFeed feed : feeds.values()) {
+            for (Subscriber subscriber : feed.subscribers) {
+                subscriber.heartbeatDue = true;
+                schedule(subscriber);
+            }
+        }
+    }
+
+    /**
+     * Evicts every subscriber whose current write has been blocked for longer than the write
+     * timeout, and lends the pool a thread for each of their stuck senders.
+     */
+    private void evictStalled() {
+        long now = System.nanoTime();
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMillis);
+        for (EntityFeed feed : feeds.values()) {
+            for (Subscriber subscriber : feed.subscribers) {
+                long started = subscriber.writeStartedNanos;
+                if (started != 0 && now - started > timeoutNanos && !subscriber.evicted) {
+                    subscriber.holdsExtraSender = adjustSenders(1);
+                    subscriber.evicted = true;
+                    unsubscribe(subscriber);
+                    evictedStalled.increment();
+                    if (subscriber.busy.compareAndSet(false, true)) {
+                        release(subscriber); // the write returned in the meantime, no sender will release it
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Grows or shrinks the sender pool by one thread. Growing stops at {@code app.feed.max-extra-senders}.
+     *
+     * @return Whether the pool was resized.
+     */
+    private boolean adjustSenders(int delta) {
+        synchronized (senders) {
+            if (delta > 0 && extraSenders >= maxExtraSenders) {
+                return false;
+            }
+            extraSenders += delta;
+            int size = senderThreads + extraSenders;
+            if (delta > 0) {
+                senders.setMaximumPoolSize(size);
+                senders.setCorePoolSize(size);
+            } else {
+                senders.setCorePoolSize(size);
+                senders.setMaximumPoolSize(size);
+            }
+            return true;
+        }
+    }
+
+    private int stalledSenders() {
+        synchronized (senders) {
+            return extraSenders;
+        }
+    }
+
+    /**
+     * Hands a subscriber to the sender pool unless it is already being served.
+     */
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.evicted) {
+            return;
+        }
+        if (!subscriber.busy.compareAndSet(false, true)) {
+            skippedBusy.increment();
+            return;
+        }
+        try {
+            senders.execute(() -> drain(subscriber));
+        } catch (RuntimeException e) {
+            subscriber.busy.set(false);
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        Ring ring = subscriber.feed.ring;
+        try {
+            long head = ring.head;
+            if (head - subscriber.cursor > Math.min(maxLag, ring.size())) {
+                sendResync(subscriber, head); // too far behind, coalesce the backlog into one event
+            }
+            long end = Math.min(head, subscriber.cursor + batchSize);
+            while (subscriber.cursor < end && !subscriber.evicted) {
+                FeedEvent event = ring.get(subscriber.cursor);
+                if (event == null) {
+                    sendResync(subscriber, ring.head);
+                    break;
+                }
+                send(subscriber, SseEmitter.event()
+                        .id(Long.toString(event.sequence))
+                        .name(event.name)
+                        .data(event.json, MediaType.APPLICATION_JSON));
+                subscriber.cursor++;
+                subscriber.heartbeatDue = false;
+            }
+            if (subscriber.heartbeatDue && !subscriber.evicted) {
+                subscriber.heartbeatDue = false;
+                send(subscriber, SseEmitter.event().comment("heartbeat"));
+            }
+        } catch (IOException | IllegalStateException e) {
+            subscriber.emitter.completeWithError(e);
+            unsubscribe(subscriber);
+            return;
+        } finally {
+            subscriber.busy.set(false);
+            if (subscriber.evicted) {
+                release(subscriber);
+            }
+        }
+        if (subscriber.cursor < ring.head) {
+            schedule(subscriber); // more events than one batch, or an event arrived meanwhile
+        }
+    }
+
+    private void send(Subscriber subscriber, SseEmitter.SseEventBuilder event) throws IOException {
+        subscriber.writeStartedNanos = System.nanoTime();
+        try {
+            subscriber.emitter.send(event);
+        } finally {
+            subscriber.writeStartedNanos = 0;
+        }
+    }
+
+    private void sendResync(Subscriber subscriber, long head) throws IOException {
+        resyncs.increment();
+        subscriber.cursor = head;
+        send(subscriber, SseEmitter.event()
+                .id(Long.toString(head - 1))
+                .name("resync")
+                .data("{\"message\":\"Missed events, reload today's attendance.\"}", MediaType.APPLICATION_JSON));
+    }
+
+    /**
+     * Closes an evicted subscriber's connection once its stuck write has returned, and gives back
+     * the sender thread lent for it.
+     */
+    private void release(Subscriber subscriber) {
+        if (subscriber.released.compareAndSet(false, true)) {
+            if (subscriber.holdsExtraSender) {
+                adjustSenders(-1);
+            }
+            subscriber.emitter.complete();
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (subscriber.feed.subscribers.remove(subscriber)) {
+            subscriberCount.decrementAndGet();
+        }
+    }
+
+    private String toJson(AttendanceRecordedEvent event) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("type", event.getType().name());
+        payload.put("attendanceId", event.getAttendanceId());
+        payload.put("employeeId", event.getEmployeeId());
+        payload.put("time", event.getTime().toString());
+        payload.put("siteId", event.getSiteId());
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class EntityFeed {
+        private final Ring ring;
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+        EntityFeed(int ringSize) {
+            this.ring = new Ring(ringSize);
+        }
+    }
+
+    /**
+     * Single-writer, multi-reader ring buffer. The writer publishes a slot by advancing the
+     * volatile head; readers detect an overwritten slot by its sequence number.
+     */
+    private static final class Ring {
+        private final FeedEvent[] slots;
+        private final int mask;
+        private volatile long head;
+
+        Ring(int size) {
+            this.slots = new FeedEvent[size];
+            this.mask = size - 1;
+        }
+
+        int size() {
+            return slots.length;
+        }
+
+        void append(String name, String json) {
+            long sequence = head;
+            slots[(int) (sequence & mask)] = new FeedEvent(sequence, name, json);
+            head = sequence + 1;
+        }
+
+        /**
+         * Returns the event with the given sequence, or null when it has already been overwritten.
+         */
+        FeedEvent get(long sequence) {
+            FeedEvent event = slots[(int) (sequence & mask)];
+            return event != null && event.sequence == sequence ? event : null;
+        }
+    }
+
+    private record FeedEvent(long sequence, String name, String json) {
+    }
+
+    private static final class Subscriber {
+        private final EntityFeed feed;
+        private final SseEmitter emitter;
+        private final AtomicBoolean busy = new AtomicBoolean();
+        private final AtomicBoolean released = new AtomicBoolean();
+        private long cursor; // only touched by the sender currently holding busy
+        private volatile boolean heartbeatDue;
+        private volatile long writeStartedNanos; // 0 while no write is in progress
+        private volatile boolean evicted;
+        private volatile boolean holdsExtraSender;
+
+        Subscriber(EntityFeed feed, SseEmitter emitter, long cursor) {
+            this.feed = feed;
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+    }
+}
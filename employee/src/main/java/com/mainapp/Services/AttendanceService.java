@@ -3,10 +3,16 @@ import com.mainapp.models.Attendance;
 import com.mainapp.models.AccountMaster;
 import com.mainapp.enums.AttendanceStatus;
 import com.mainapp.repository.AttendanceRepository;
+import com.mainapp.dto.LocationRequest;
 import com.mainapp.dto.SessionValidationResponse;
+import com.mainapp.events.AttendanceRecordedEvent;
 import com.mainapp.services.AuthService;
+import com.mainapp.utils.AppMetrics;
+import com.mainapp.utils.JfrEvents;
+import com.mainapp.utils.GeoPolygon;
 import jakarta.servlet.http.HttpSession;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import java.time.Duration;
 import java.time.LocalDateTime;
@@ -28,18 +34,44 @@ public class AttendanceService {
     @Autowired
     private AuthService authService; // Handles session validation
 
+    @Autowired
+    private CalendarService calendarService; // Keeps the per-employee presence bitmap in sync
+
+    @Autowired
+    private GeofenceService geofenceService; // Validates check-in/check-out coordinates
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher; // Feeds the attendance anomaly detector
+
+    @Autowired
+    private AppMetrics appMetrics; // Check-in/check-out latency and outcomes
+
     /**
      * Handles employee check-in.
      * <p>
      * This method first validates the employee session. If the session is valid, it checks whether
      * the employee has already checked in for the day. If an existing check-in record is found,
-     * the method returns an error message. Otherwise, a new attendance entry is created,
-     * storing the check-in time and marking the employee as "PRESENT".
+     * the method returns an error message. When the organization has office geofences, the reported
+     * coordinates must fall inside one of them; a refused attempt is stored as a REJECTED row with
+     * the reason. Otherwise, a new attendance entry is created, storing the check-in time, location
+     * and resolved site, and marking the employee as "PRESENT".
      *
-     * @param session The current HTTP session containing employee details.
+     * @param session  The current HTTP session containing employee details.
+     * @param location The device coordinates, may be null when the organization has no geofences.
      * @return A SessionValidationResponse indicating success or failure.
      */
-    public SessionValidationResponse checkIn(HttpSession session) {
+    public SessionValidationResponse checkIn(HttpSession session, LocationRequest location) {
+        JfrEvents.AttendanceEvent event = new JfrEvents.AttendanceEvent();
+        event.begin();
+        long start = System.nanoTime();
+        SessionValidationResponse response = recordCheckIn(session, location);
+        String outcome = outcome(response, "duplicate");
+        appMetrics.record("erp.attendance.checkin", "employee", response.getEntityType(), outcome, start);
+        commit(event, "checkin", response, outcome);
+        return response;
+    }
+
+    private SessionValidationResponse recordCheckIn(HttpSession session, LocationRequest location) {
         SessionValidationResponse response = authService.validateEmployeeSession(session);
         if (!response.isSessionValid()) return response;
 
@@ -47,7 +79,7 @@ public class AttendanceService {
         LocalDateTime now = LocalDateTime.now();
 
         Optional<Attendance> existingAttendance = attendanceRepository
-                .findFirstByEmployeeIdAndCheckInTimeBetween(employeeId, now.toLocalDate().atStartOfDay(), now.toLocalDate().atTime(23, 59));
+                .findFirstByEmployeeIdAndStatusNotAndCheckInTimeBetween(employeeId, AttendanceStatus.REJECTED, now.toLocalDate().atStartOfDay(), now.toLocalDate().atTime(23, 59));
 
         if (existingAttendance.isPresent()) {
             response.setMessage("You have already checked in today.");
@@ -61,9 +93,31 @@ public class AttendanceService {
 
         attendance.setEmployee(employee);
         attendance.setCheckInTime(now);
+        if (location != null) {
+            attendance.setLocation(GeoPolygon.formatPoint(location.getLatitude(), location.getLongitude()));
+        }
+
+        GeofenceService.Site site = resolveSite(response.getEntityID(), location);
+        String rejection = validateLocation(response.getEntityID(), location, site);
+        if (rejection != null) {
+            attendance.setStatus(AttendanceStatus.REJECTED);
+            attendance.setRejectionReason(rejection);
+            attendanceRepository.save(attendance);
+            publish(AttendanceRecordedEvent.Type.CHECK_IN_REJECTED, attendance, response.getEntityID(), now, location, null);
+
+            response.setMessage("Check-in rejected: " + rejection);
+            response.setStatusCode(403);
+            return response;
+        }
+
+        attendance.setSiteId(site != null ? site.getId() : null);
         attendance.setStatus(AttendanceStatus.PRESENT);
 
         attendanceRepository.save(attendance);
+        if (response.getEntityID() != null) {
+            calendarService.markPresent(employeeId, response.getEntityID(), now.toLocalDate());
+        }
+        publish(AttendanceRecordedEvent.Type.CHECK_IN, attendance, response.getEntityID(), now, location, attendance.getSiteId());
 
         response.setMessage("Check-in successful.");
         response.setStatusCode(200);
@@ -76,12 +130,26 @@ public class AttendanceService {
      * This method first validates the employee session. If the session is valid, it checks if
      * the employee has a valid check-in record for the current day. If no check-in record is found,
      * an error message is returned. If the employee has already checked out, another error message
-     * is sent. Otherwise, the check-out time is recorded, and total hours worked are calculated.
+     * is sent. A check-out from outside the organization's geofences is refused and the reason is
+     * recorded on the day's row. Otherwise, the check-out time, location and site are recorded,
+     * and total hours worked are calculated.
      *
-     * @param session The current HTTP session containing employee details.
+     * @param session  The current HTTP session containing employee details.
+     * @param location The device coordinates, may be null when the organization has no geofences.
      * @return A SessionValidationResponse indicating success or failure.
      */
-    public SessionValidationResponse checkOut(HttpSession session) {
+    public SessionValidationResponse checkOut(HttpSession session, LocationRequest location) {
+        JfrEvents.AttendanceEvent event = new JfrEvents.AttendanceEvent();
+        event.begin();
+        long start = System.nanoTime();
+        SessionValidationResponse response = recordCheckOut(session, location);
+        String outcome = outcome(response, "invalid_state");
+        appMetrics.record("erp.attendance.checkout", "employee", response.getEntityType(), outcome, start);
+        commit(event, "checkout", response, outcome);
+        return response;
+    }
+
+    private SessionValidationResponse recordCheckOut(HttpSession session, LocationRequest location) {
         SessionValidationResponse response = authService.validateEmployeeSession(session);
         if (!response.isSessionValid()) return response;
 
@@ -89,7 +157,7 @@ public class AttendanceService {
         LocalDateTime now = LocalDateTime.now();
 
         List<Attendance> attendanceList = attendanceRepository
-                .findAllByEmployeeIdAndCheckInTimeBetween(employeeId, now.toLocalDate().atStartOfDay(), now.toLocalDate().atTime(23, 59));
+                .findAllByEmployeeIdAndStatusNotAndCheckInTimeBetween(employeeId, AttendanceStatus.REJECTED, now.toLocalDate().atStartOfDay(), now.toLocalDate().atTime(23, 59));
 
         if (attendanceList.isEmpty()) {
             response.setMessage("No check-in record found for today.");
@@ -104,17 +172,93 @@ public class AttendanceService {
             return response;
         }
 
+        GeofenceService.Site site = resolveSite(response.getEntityID(), location);
+        String rejection = validateLocation(response.getEntityID(), location, site);
+        if (rejection != null) {
+            attendance.setRejectionReason("Check-out refused: " + rejection + (location != null
+                    ? " (" + GeoPolygon.formatPoint(location.getLatitude(), location.getLongitude()) + ")" : ""));
+            attendanceRepository.save(attendance);
+            publish(AttendanceRecordedEvent.Type.CHECK_OUT_REJECTED, attendance, response.getEntityID(), now, location, null);
+
+            response.setMessage("Check-out rejected: " + rejection);
+            response.setStatusCode(403);
+            return response;
+        }
+
         attendance.setCheckOutTime(now);
+        if (location != null) {
+            attendance.setCheckOutLocation(GeoPolygon.formatPoint(location.getLatitude(), location.getLongitude()));
+        }
+        attendance.setCheckOutSiteId(site != null ? site.getId() : null);
         Duration workedHours = Duration.between(attendance.getCheckInTime(), now);
         attendance.setTotalHours(workedHours.toHours() + (workedHours.toMinutesPart() / 60.0));
 
         attendanceRepository.save(attendance);
+        publish(AttendanceRecordedEvent.Type.CHECK_OUT, attendance, response.getEntityID(), now, location, attendance.getCheckOutSiteId());
 
         response.setMessage("Check-out successful.");
         response.setStatusCode(200);
         return response;
     }
 
+    private static void commit(JfrEvents.AttendanceEvent event, String action, SessionValidationResponse response, String outcome) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.action = action;
+            event.entityId = JfrEvents.id(response.getEntityID());
+            event.employeeId = JfrEvents.id(response.getUserId());
+            event.outcome = outcome;
+            event.commit();
+        }
+    }
+
+    /**
+     * Metrics outcome of a check-in or check-out response.
+     *
+     * @param invalidState Outcome of a 400 response, e.g. a duplicate check-in.
+     */
+    private static String outcome(SessionValidationResponse response, String invalidState) {
+        if (!response.isSessionValid()) {
+            return "session_invalid";
+        }
+        switch (response.getStatusCode()) {
+            case 200:
+                return "success";
+            case 400:
+                return invalidState;
+            case 403:
+                return "location_rejected";
+            default:
+                return "error";
+        }
+    }
+
+    /**
+     * Checks reported coordinates against the organization's office geofences.
+     *
+     * @param site The site the coordinates resolved to, or null.
+     * @return null when the location is acceptable, otherwise the reason it was refused.
+     */
+    private String validateLocation(Long entityId, LocationRequest location, GeofenceService.Site site) {
+        if (site != null || entityId == null || !geofenceService.hasGeofences(entityId)) {
+            return null;
+        }
+        return location == null ? "Location is required for this organization." : "Location is outside every office geofence.";
+    }
+
+    private void publish(AttendanceRecordedEvent.Type type, Attendance attendance, Long entityId, LocalDateTime time,
+                         LocationRequest location, Long siteId) {
+        eventPublisher.publishEvent(new AttendanceRecordedEvent(type, attendance.getId(), attendance.getEmployee().getId(), entityId, time,
+                location != null ? location.getLatitude() : null, location != null ? location.getLongitude() : null, siteId));
+    }
+
+    private GeofenceService.Site resolveSite(Long entityId, LocationRequest location) {
+        if (entityId == null || location == null) {
+            return null;
+        }
+        return geofenceService.resolveSite(entityId, location.getLatitude(), location.getLongitude());
+    }
+
     /**
      * Retrieves today's attendance record for the logged-in employee.
      * <p>
@@ -131,7 +275,9 @@ public class AttendanceService {
         Long employeeId = response.getUserId();
         LocalDateTime now = LocalDateTime.now();
 
-        return attendanceRepository.findFirstByEmployeeIdAndCheckInTimeBetween(employeeId, now.toLocalDate().atStartOfDay(), now.toLocalDate().atTime(23, 59));
+        // rejected check-in attempts are kept for auditing but are not the day's attendance
+        return attendanceRepository.findFirstByEmployeeIdAndStatusNotAndCheckInTimeBetween(employeeId, AttendanceStatus.REJECTED,
+                now.toLocalDate().atStartOfDay(), now.toLocalDate().atTime(23, 59));
     }
 
     /**
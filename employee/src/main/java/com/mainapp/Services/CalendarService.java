@@ -0,0 +1,447 @@
+package com.mainapp.Services;
+
+import com.mainapp.enums.AttendanceStatus;
+import com.mainapp.models.Attendance;
+import com.mainapp.models.EmployeeCalendar;
+import com.mainapp.models.HolidayCalendar;
+import com.mainapp.repository.AttendanceRepository;
+import com.mainapp.repository.EmployeeCalendarRepository;
+import com.mainapp.repository.HolidayCalendarRepository;
+import com.mainapp.utils.CalendarBits;
+import com.mainapp.utils.LruCache;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * CalendarService keeps the per employee-year leave/presence bitmaps and the per organization
+ * holiday bitmaps. Bitmaps are persisted in compact VARBINARY columns and kept in LRU caches, so
+ * day-level questions are answered with bitwise operations instead of date-range SQL.
+ * <p>
+ * Cached bitsets are never mutated after they are published; every change builds a new copy and
+ * persists it in its own transaction, and the cache entries it affects are dropped once that
+ * transaction commits. As in {@link EmployeeCacheService}, a read stamps what it caches with the
+ * generation of its employee or organization taken before loading, and a commit bumps it, so a year
+ * loaded before a concurrent commit is never served after it.
+ */
+@Service
+public class CalendarService {
+
+    private static final Logger log = LoggerFactory.getLogger(CalendarService.class);
+
+    private static final int MAX_UPDATE_ATTEMPTS = 3;
+    private static final int GENERATION_STRIPES = 4096;
+
+    @Autowired
+    private EmployeeCalendarRepository employeeCalendarRepository;
+
+    @Autowired
+    private HolidayCalendarRepository holidayCalendarRepository;
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.calendar.cache-size:10000}")
+    private int cacheSize;
+
+    @Value("${app.calendar.max-range-days:366}")
+    private int maxRangeDays;
+
+    @Value("${app.calendar.weekend-days:SATURDAY,SUNDAY}")
+    private List<DayOfWeek> weekendDays;
+
+    private final AtomicLongArray employeeGenerations = new AtomicLongArray(GENERATION_STRIPES);
+    private final AtomicLongArray entityGenerations = new AtomicLongArray(GENERATION_STRIPES);
+
+    private LruCache<String, Stamped<EmployeeYear>> employeeCache;
+    private LruCache<String, BitSet> holidayCache;
+    private LruCache<String, Stamped<List<EmployeeYear>>> organizationCache;
+    private TransactionTemplate requiresNew;
+
+    @PostConstruct
+    public void initCaches() {
+        employeeCache = new LruCache<>("employee-calendar", cacheSize, 0);
+        holidayCache = new LruCache<>("holiday-calendar", Math.max(16, cacheSize / 10), 0);
+        organizationCache = new LruCache<>("organization-calendar", Math.max(16, cacheSize / 100), 0);
+        requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Returns the paid leave, unpaid leave and presence bitmaps of an employee for a year. When no
+     * row exists yet the presence bitmap is derived once from the attendance table.
+     */
+    public EmployeeYear getEmployeeYear(Long employeeId, Long entityId, int year) {
+        String key = employeeId + ":" + year;
+        long generation = employeeGenerations.get(stripe(employeeId));
+        Stamped<EmployeeYear> cached = employeeCache.get(key);
+        if (cached != null) {
+            if (cached.generation == generation) {
+                return cached.value;
+            }
+            employeeCache.remove(key);
+        }
+        EmployeeYear loaded = employeeCalendarRepository.findByEmployeeIdAndCalendarYear(employeeId, year)
+                .map(EmployeeYear::of)
+                .orElseGet(() -> new EmployeeYear(employeeId, entityId, year,
+                        new BitSet(366), new BitSet(366), presentDaysFromAttendance(employeeId, year)));
+        employeeCache.put(key, new Stamped<>(generation, loaded));
+        return loaded;
+    }
+
+    /**
+     * Marks the given day as present for the employee. A no-op when the bit is already set.
+     */
+    public void markPresent(Long employeeId, Long entityId, LocalDate date) {
+        int day = CalendarBits.dayIndex(date);
+        if (getEmployeeYear(employeeId, entityId, date.getYear()).getPresentDays().get(day)) {
+            return;
+        }
+        updateEmployeeYear(employeeId, entityId, date.getYear(), (paidLeave, unpaidLeave, present) -> present.set(day));
+    }
+
+    /**
+     * Marks every working day between the two dates that is not leave yet as paid or unpaid leave
+     * for the employee. Each year is updated in its own transaction, and the paid allowance is
+     * checked inside it, so concurrent approvals cannot overdraw it. If a later year fails, the
+     * years already marked are unmarked again. Callers should not hold a transaction of their own,
+     * which would keep a second pooled connection busy.
+     *
+     * @param paid          Whether the leave counts against the allowance.
+     * @param paidAllowance Paid leave days allowed per year, ignored for unpaid leave.
+     * @return The working days that were marked, per year, to undo them with {@link #unmarkLeave}.
+     * @throws ResponseStatusException 400 if paid leave would exceed the allowance of a year.
+     */
+    public Map<Integer, BitSet> markLeave(Long employeeId, Long entityId, LocalDate from, LocalDate to, boolean paid, int paidAllowance) {
+        requireRange(from, to);
+        Map<Integer, BitSet> marked = new LinkedHashMap<>();
+        try {
+            for (int year = from.getYear(); year <= to.getYear(); year++) {
+                int calendarYear = year;
+                BitSet days = workingDayBits(entityId, year, from, to);
+                BitSet[] added = new BitSet[1];
+                updateEmployeeYear(employeeId, entityId, year, (paidLeave, unpaidLeave, present) -> {
+                    added[0] = (BitSet) days.clone();
+                    added[0].andNot(paidLeave);
+                    added[0].andNot(unpaidLeave);
+                    if (paid && paidLeave.cardinality() + added[0].cardinality() > paidAllowance) {
+                        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Error: Insufficient leave balance for " + calendarYear + "!");
+                    }
+                    (paid ? paidLeave : unpaidLeave).or(added[0]);
+                });
+                marked.put(year, added[0]);
+            }
+        } catch (RuntimeException e) {
+            unmarkLeave(employeeId, entityId, marked, paid);
+            throw e;
+        }
+        return marked;
+    }
+
+    /**
+     * Removes leave marked by {@link #markLeave}, year by year. Failures are logged, not thrown,
+     * since this runs while another error is being reported.
+     */
+    public void unmarkLeave(Long employeeId, Long entityId, Map<Integer, BitSet> marked, boolean paid) {
+        marked.forEach((year, days) -> {
+            try {
+                updateEmployeeYear(employeeId, entityId, year,
+                        (paidLeave, unpaidLeave, present) -> (paid ? paidLeave : unpaidLeave).andNot(days));
+            } catch (RuntimeException e) {
+                log.error("Could not unmark leave of employee {} for {}: {}", employeeId, year, CalendarBits.toDates(year, days), e);
+            }
+        });
+    }
+
+    /**
+     * Counts the working days (not a weekend, not an organization holiday) between two dates.
+     * When an employee id is given, that employee's paid and unpaid leave days are excluded as well.
+     *
+     * @throws ResponseStatusException 400 if the range is reversed or longer than {@code app.calendar.max-range-days}.
+     */
+    public int countWorkingDays(Long entityId, Long employeeId, LocalDate from, LocalDate to) {
+        requireRange(from, to);
+        int count = 0;
+        for (int year = from.getYear(); year <= to.getYear(); year++) {
+            BitSet days = workingDayBits(entityId, year, from, to);
+            if (employeeId != null) {
+                days.andNot(getEmployeeYear(employeeId, entityId, year).getAllLeaveDays());
+            }
+            count += days.cardinality();
+        }
+        return count;
+    }
+
+    /**
+     * Returns the working-day bits of a year between two dates for an organization.
+     */
+    public BitSet workingDayBits(Long entityId, int year, LocalDate from, LocalDate to) {
+        return CalendarBits.andNot(CalendarBits.range(year, from, to),
+                CalendarBits.weekdays(year, weekendDays), getHolidays(entityId, year));
+    }
+
+    /**
+     * Returns the ids of every employee of the organization who is on leave on the given date.
+     */
+    public List<Long> findEmployeesOnLeave(Long entityId, LocalDate date) {
+        int day = CalendarBits.dayIndex(date);
+        List<Long> employeeIds = new ArrayList<>();
+        for (EmployeeYear employeeYear : getOrganizationYear(entityId, date.getYear())) {
+            if (employeeYear.getLeaveDays().get(day) || employeeYear.getUnpaidLeaveDays().get(day)) {
+                employeeIds.add(employeeYear.getEmployeeId());
+            }
+        }
+        return employeeIds;
+    }
+
+    public BitSet getHolidays(Long entityId, int year) {
+        String key = entityId + ":" + year;
+        BitSet cached = holidayCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        BitSet loaded = holidayCalendarRepository.findByEntityIdAndCalendarYear(entityId, year)
+                .map(calendar -> CalendarBits.fromBytes(calendar.getHolidays()))
+                .orElseGet(() -> new BitSet(366));
+        holidayCache.put(key, loaded);
+        return loaded;
+    }
+
+    public List<LocalDate> getHolidayDates(Long entityId, int year) {
+        return CalendarBits.toDates(year, getHolidays(entityId, year));
+    }
+
+    /**
+     * Adds or removes holidays of an organization. Dates may span several years.
+     */
+    public void updateHolidays(Long entityId, Collection<LocalDate> dates, boolean add, Long updatedBy) {
+        dates.stream().map(LocalDate::getYear).distinct().forEach(year -> {
+            HolidayCalendar calendar = holidayCalendarRepository.findByEntityIdAndCalendarYear(entityId, year)
+                    .orElseGet(() -> {
+                        HolidayCalendar created = new HolidayCalendar();
+                        created.setEntityId(entityId);
+                        created.setCalendarYear(year);
+                        return created;
+                    });
+            BitSet holidays = CalendarBits.fromBytes(calendar.getHolidays());
+            BitSet changed = CalendarBits.of(year, dates);
+            if (add) {
+                holidays.or(changed);
+            } else {
+                holidays.andNot(changed);
+            }
+            calendar.setHolidays(CalendarBits.toBytes(holidays));
+            calendar.setUpdatedBy(updatedBy);
+            holidayCalendarRepository.save(calendar);
+            holidayCache.put(entityId + ":" + year, holidays);
+        });
+    }
+
+    public Map<String, Object> cacheStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("employee", employeeCache.stats());
+        stats.put("holiday", holidayCache.stats());
+        stats.put("organization", organizationCache.stats());
+        return stats;
+    }
+
+    private List<EmployeeYear> getOrganizationYear(Long entityId, int year) {
+        String key = entityId + ":" + year;
+        long generation = entityGenerations.get(stripe(entityId));
+        Stamped<List<EmployeeYear>> cached = organizationCache.get(key);
+        if (cached != null) {
+            if (cached.generation == generation) {
+                return cached.value;
+            }
+            organizationCache.remove(key);
+        }
+        List<EmployeeYear> loaded = employeeCalendarRepository.findAllByEntityIdAndCalendarYear(entityId, year)
+                .stream()
+                .map(EmployeeYear::of)
+                .toList();
+        organizationCache.put(key, new Stamped<>(generation, loaded));
+        return loaded;
+    }
+
+    private void requireRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Error: End date is before start date!");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxRangeDays) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Error: Date range is longer than " + maxRangeDays + " days!");
+        }
+    }
+
+    /**
+     * Applies a change to the stored bitmaps of an employee-year. Every attempt runs in a new
+     * transaction, so a conflict with a concurrent writer, detected through the row version at
+     * commit, is retried on a freshly read row. The cached year and its organization's year are
+     * dropped once the change is committed, and read again from the database when next needed.
+     */
+    private EmployeeYear updateEmployeeYear(Long employeeId, Long entityId, int year, DaysChange change) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return requiresNew.execute(status -> {
+                    EmployeeCalendar calendar = employeeCalendarRepository.findByEmployeeIdAndCalendarYear(employeeId, year)
+                            .orElseGet(() -> {
+                                EmployeeCalendar created = new EmployeeCalendar();
+                                created.setEmployeeId(employeeId);
+                                created.setEntityId(entityId);
+                                created.setCalendarYear(year);
+                                created.setPresentDays(CalendarBits.toBytes(presentDaysFromAttendance(employeeId, year)));
+                                return created;
+                            });
+                    BitSet paidLeave = CalendarBits.fromBytes(calendar.getLeaveDays());
+                    BitSet unpaidLeave = CalendarBits.fromBytes(calendar.getUnpaidLeaveDays());
+                    BitSet present = CalendarBits.fromBytes(calendar.getPresentDays());
+                    change.apply(paidLeave, unpaidLeave, present);
+                    calendar.setLeaveDays(CalendarBits.toBytes(paidLeave));
+                    calendar.setUnpaidLeaveDays(CalendarBits.toBytes(unpaidLeave));
+                    calendar.setPresentDays(CalendarBits.toBytes(present));
+
+                    EmployeeYear updated = EmployeeYear.of(employeeCalendarRepository.save(calendar));
+                    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            evict(employeeId, updated.getEntityId(), year);
+                        }
+                    });
+                    return updated;
+                });
+            } catch (OptimisticLockingFailureException | DataIntegrityViolationException e) {
+                evict(employeeId, entityId, year);
+                if (attempt >= MAX_UPDATE_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private void evict(Long employeeId, Long entityId, int year) {
+        employeeGenerations.incrementAndGet(stripe(employeeId));
+        entityGenerations.incrementAndGet(stripe(entityId));
+        employeeCache.remove(employeeId + ":" + year);
+        organizationCache.remove(entityId + ":" + year);
+    }
+
+    private static int stripe(Long id) {
+        return (int) ((id ^ (id >>> 32)) * 0x9E3779B9L >>> 20) & (GENERATION_STRIPES - 1);
+    }
+
+    private BitSet presentDaysFromAttendance(Long employeeId, int year) {
+        List<Attendance> attendance = attendanceRepository.findAllByEmployeeIdAndStatusNotAndCheckInTimeBetween(
+                employeeId, AttendanceStatus.REJECTED, LocalDate.of(year, 1, 1).atStartOfDay(), LocalDate.of(year, 12, 31).atTime(23, 59, 59));
+        BitSet present = new BitSet(366);
+        for (Attendance record : attendance) {
+            present.set(CalendarBits.dayIndex(record.getCheckInTime().toLocalDate()));
+        }
+        return present;
+    }
+
+    /**
+     * A change to the bitmaps of one employee-year, applied to fresh copies.
+     */
+    @FunctionalInterface
+    private interface DaysChange {
+        void apply(BitSet paidLeave, BitSet unpaidLeave, BitSet present);
+    }
+
+    private static final class Stamped<V> {
+        private final long generation;
+        private final V value;
+
+        Stamped(long generation, V value) {
+            this.generation = generation;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Immutable view of one employee-year. The bitsets must not be modified by callers.
+     */
+    public static final class EmployeeYear {
+        private final Long employeeId;
+        private final Long entityId;
+        private final int year;
+        private final BitSet leaveDays;
+        private final BitSet unpaidLeaveDays;
+        private final BitSet presentDays;
+
+        public EmployeeYear(Long employeeId, Long entityId, int year, BitSet leaveDays, BitSet unpaidLeaveDays, BitSet presentDays) {
+            this.employeeId = employeeId;
+            this.entityId = entityId;
+            this.year = year;
+            this.leaveDays = leaveDays;
+            this.unpaidLeaveDays = unpaidLeaveDays;
+            this.presentDays = presentDays;
+        }
+
+        static EmployeeYear of(EmployeeCalendar calendar) {
+            return new EmployeeYear(calendar.getEmployeeId(), calendar.getEntityId(), calendar.getCalendarYear(),
+                    CalendarBits.fromBytes(calendar.getLeaveDays()), CalendarBits.fromBytes(calendar.getUnpaidLeaveDays()),
+                    CalendarBits.fromBytes(calendar.getPresentDays()));
+        }
+
+        public Long getEmployeeId() {
+            return employeeId;
+        }
+
+        public Long getEntityId() {
+            return entityId;
+        }
+
+        public int getYear() {
+            return year;
+        }
+
+        /**
+         * Paid leave, counted against the annual allowance.
+         */
+        public BitSet getLeaveDays() {
+            return leaveDays;
+        }
+
+        public BitSet getUnpaidLeaveDays() {
+            return unpaidLeaveDays;
+        }
+
+        /**
+         * Paid and unpaid leave, as a new bitset.
+         */
+        public BitSet getAllLeaveDays() {
+            BitSet all = (BitSet) leaveDays.clone();
+            all.or(unpaidLeaveDays);
+            return all;
+        }
+
+        public BitSet getPresentDays() {
+            return presentDays;
+        }
+    }
+}
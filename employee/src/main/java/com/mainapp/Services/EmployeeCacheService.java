@@ -0,0 +1,133 @@
+package com.mainapp.Services;
+
+import com.mainapp.dto.EmployeeResponse;
+import com.mainapp.events.EmployeeChangedEvent;
+import com.mainapp.utils.LruCache;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Read cache for employee pages (per organization and page parameters) and single employees (per
+ * account id).
+ * <p>
+ * Entries are invalidated from {@link EmployeeChangedEvent} once the change is committed. To keep a
+ * read that started before a change from caching what it loaded afterwards, every entry is stamped
+ * with the generation of its organization or account taken before loading; a change bumps the
+ * generation, so a late put is never served. Generations live in fixed striped arrays, so the
+ * bookkeeping stays bounded no matter how many organizations or accounts are seen.
+ */
+@Service
+public class EmployeeCacheService {
+
+    private static final int GENERATION_STRIPES = 4096;
+
+    @Value("${app.employee-cache.max-pages:2000}")
+    private int maxPages;
+
+    @Value("${app.employee-cache.max-accounts:20000}")
+    private int maxAccounts;
+
+    @Value("${app.employee-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private final AtomicLongArray entityGenerations = new AtomicLongArray(GENERATION_STRIPES);
+    private final AtomicLongArray accountGenerations = new AtomicLongArray(GENERATION_STRIPES);
+    private final LongAdder staleRejections = new LongAdder();
+
+    private LruCache<PageKey, Stamped<Slice<EmployeeResponse>>> pageCache;
+    private LruCache<Long, Stamped<EmployeeResponse>> accountCache;
+
+    @PostConstruct
+    public void initCaches() {
+        pageCache = new LruCache<>("employee-pages", maxPages, ttlSeconds);
+        accountCache = new LruCache<>("employee-accounts", maxAccounts, ttlSeconds);
+    }
+
+    /**
+     * Returns a cached employee page of an organization, loading and caching it on a miss.
+     */
+    public Slice<EmployeeResponse> getPage(Long entityId, String entityType, int page, int size, Long afterId,
+                                           Supplier<Slice<EmployeeResponse>> loader) {
+        PageKey key = new PageKey(entityId, entityType, page, size, afterId);
+        long generation = entityGenerations.get(stripe(entityId));
+        Stamped<Slice<EmployeeResponse>> cached = pageCache.get(key);
+        if (cached != null) {
+            if (cached.generation == generation) {
+                return cached.value;
+            }
+            staleRejections.increment();
+            pageCache.remove(key);
+        }
+        Slice<EmployeeResponse> loaded = loader.get();
+        pageCache.put(key, new Stamped<>(generation, loaded));
+        return loaded;
+    }
+
+    /**
+     * Returns a cached employee, loading and caching it on a miss.
+     */
+    public EmployeeResponse getAccount(Long accountId, Supplier<EmployeeResponse> loader) {
+        long generation = accountGenerations.get(stripe(accountId));
+        Stamped<EmployeeResponse> cached = accountCache.get(accountId);
+        if (cached != null) {
+            if (cached.generation == generation) {
+                return cached.value;
+            }
+            staleRejections.increment();
+            accountCache.remove(accountId);
+        }
+        EmployeeResponse loaded = loader.get();
+        accountCache.put(accountId, new Stamped<>(generation, loaded));
+        return loaded;
+    }
+
+    /**
+     * Drops the pages of the organization and the changed account. Runs after the change is
+     * committed, or immediately when it was made outside a transaction.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (event.getEntityId() != null) {
+            entityGenerations.incrementAndGet(stripe(event.getEntityId()));
+            pageCache.removeIf(key -> key.entityId.equals(event.getEntityId()));
+        }
+        if (event.getAccountId() != null) {
+            accountGenerations.incrementAndGet(stripe(event.getAccountId()));
+            accountCache.remove(event.getAccountId());
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pages", pageCache.stats());
+        stats.put("accounts", accountCache.stats());
+        stats.put("staleRejections", staleRejections.sum());
+        return stats;
+    }
+
+    private static int stripe(Long id) {
+        return (int) ((id ^ (id >>> 32)) * 0x9E3779B9L >>> 20) & (GENERATION_STRIPES - 1);
+    }
+
+    private record PageKey(Long entityId, String entityType, int page, int size, Long afterId) {
+    }
+
+    private static final class Stamped<V> {
+        private final long generation;
+        private final V value;
+
+        Stamped(long generation, V value) {
+            this.generation = generation;
+            this.value = value;
+        }
+    }
+}
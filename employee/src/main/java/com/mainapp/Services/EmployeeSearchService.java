@@ -0,0 +1,179 @@
+package com.mainapp.Services;
+
+import com.mainapp.dto.EmployeeResponse;
+import com.mainapp.events.EmployeeChangedEvent;
+import com.mainapp.repository.AccountMasterRepository;
+import com.mainapp.utils.LruCache;
+import com.mainapp.utils.PrefixIndex;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Typeahead search over the employees of an organization (first name, last name, username, email
+ * and phone).
+ * <p>
+ * Each organization gets a {@link PrefixIndex} that is built from one projection query the first
+ * time the organization is searched, and afterwards kept current from {@link EmployeeChangedEvent}
+ * by reloading only the changed account. Changes that arrive while an index is being built are
+ * queued and applied once it is ready. Every change gets a version when it is received, after its
+ * commit; a reload is applied only if no reload of a later version was applied to the account
+ * before it, so a slow read can not overwrite a newer one. Indexes of the least recently searched organizations are
+ * dropped beyond {@code app.search.max-organizations} and rebuilt on demand.
+ */
+@Service
+public class EmployeeSearchService {
+
+    private static final String EMPLOYEE_ENTITY_TYPE = "102";
+    private static final int PHONE_SUFFIX_DIGITS = 4;
+
+    @Autowired
+    private AccountMasterRepository accountMasterRepository;
+
+    @Value("${app.search.max-organizations:200}")
+    private int maxOrganizations;
+
+    @Value("${app.search.max-scan:20000}")
+    private int maxScan;
+
+    private LruCache<Long, OrganizationIndex> indexes;
+
+    @PostConstruct
+    public void initIndexes() {
+        indexes = new LruCache<>("employee-search", maxOrganizations, 0);
+    }
+
+    /**
+     * Returns up to {@code limit} employees of the organization matching every word of the query
+     * as a prefix of one of their fields.
+     */
+    public List<EmployeeResponse> search(Long entityId, String query, int limit) {
+        return getIndex(entityId).index.search(query, limit);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (event.getEntityId() == null || event.getAccountId() == null) {
+            return;
+        }
+        OrganizationIndex organization = indexes.get(event.getEntityId());
+        if (organization == null) {
+            return; // built from the database on first use
+        }
+        organization.pending.merge(event.getAccountId(), organization.versions.incrementAndGet(), Math::max);
+        if (organization.ready) {
+            applyPending(organization);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        return indexes.stats();
+    }
+
+    private OrganizationIndex getIndex(Long entityId) {
+        OrganizationIndex organization = indexes.get(entityId);
+        if (organization == null) {
+            synchronized (this) {
+                organization = indexes.get(entityId);
+                if (organization == null) {
+                    organization = new OrganizationIndex(entityId, new PrefixIndex<>(maxScan));
+                    indexes.put(entityId, organization);
+                }
+            }
+        }
+        if (!organization.ready) {
+            build(organization);
+        }
+        return organization;
+    }
+
+    private void build(OrganizationIndex organization) {
+        synchronized (organization) {
+            if (organization.ready) {
+                return;
+            }
+            Map<Long, EmployeeResponse> employees = new HashMap<>();
+            for (EmployeeResponse employee : accountMasterRepository
+                    .findEmployeePage(EMPLOYEE_ENTITY_TYPE, organization.entityId, 0L, Pageable.unpaged()).getContent()) {
+                employees.put(employee.getId(), employee);
+            }
+            organization.index.load(employees, EmployeeSearchService::terms);
+            organization.ready = true;
+        }
+        applyPending(organization);
+    }
+
+    private void applyPending(OrganizationIndex organization) {
+        for (Map.Entry<Long, Long> change : organization.pending.entrySet()) {
+            Long accountId = change.getKey();
+            long version = change.getValue();
+            if (!organization.pending.remove(accountId, version)) {
+                continue; // replaced by a later change, which is applied instead
+            }
+            Optional<EmployeeResponse> employee = accountMasterRepository.findEmployeeById(accountId)
+                    .filter(found -> EMPLOYEE_ENTITY_TYPE.equals(found.getEntityType()));
+            synchronized (organization) {
+                Long applied = organization.applied.get(accountId);
+                if (applied != null && applied > version) {
+                    continue; // read before a later change that is already in the index
+                }
+                organization.applied.put(accountId, version);
+                employee.ifPresentOrElse(found -> organization.index.put(accountId, found, terms(found)),
+                        () -> organization.index.remove(accountId));
+            }
+        }
+    }
+
+    private static List<String> terms(EmployeeResponse employee) {
+        List<String> terms = new ArrayList<>();
+        terms.add(employee.getFirstName());
+        terms.add(employee.getLastName());
+        if (employee.getUsername() != null) {
+            terms.add(employee.getUsername());
+            terms.add(employee.getUsername().replace('.', ' '));
+        }
+        String email = employee.getEmail();
+        if (email != null) {
+            terms.add(email);
+            int at = email.indexOf('@');
+            if (at > 0) {
+                terms.add(email.substring(0, at).replace('.', ' '));
+            }
+        }
+        if (employee.getPhone() != null) {
+            String digits = employee.getPhone().replaceAll("\\D", "");
+            terms.add(digits);
+            if (digits.length() > PHONE_SUFFIX_DIGITS) {
+                terms.add(digits.substring(digits.length() - PHONE_SUFFIX_DIGITS)); // "last four digits" lookups
+            }
+        }
+        return terms;
+    }
+
+    private static final class OrganizationIndex {
+        private final Long entityId;
+        private final PrefixIndex<EmployeeResponse> index;
+        // account id -> version of its latest change not applied yet
+        private final Map<Long, Long> pending = new ConcurrentHashMap<>();
+        private final AtomicLong versions = new AtomicLong();
+        // account id -> version of the last change applied to the index, guarded by this
+        private final Map<Long, Long> applied = new HashMap<>();
+        private volatile boolean ready;
+
+        OrganizationIndex(Long entityId, PrefixIndex<EmployeeResponse> index) {
+            this.entityId = entityId;
+            this.index = index;
+        }
+    }
+}
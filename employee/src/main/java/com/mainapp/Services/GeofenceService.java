@@ -0,0 +1,237 @@
+package com.mainapp.Services;
+
+import com.mainapp.dto.GeofenceRequest;
+import com.mainapp.enums.Status;
+import com.mainapp.models.OfficeGeofence;
+import com.mainapp.repository.OfficeGeofenceRepository;
+import com.mainapp.utils.GeoPolygon;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service class for office geofences and for resolving a coordinate to the site that contains it.
+ * <p>
+ * Active sites of each organization are held in an immutable uniform-grid index: every site is
+ * registered in the grid cells its bounding box overlaps, so a lookup only runs the
+ * point-in-polygon test for the few sites sharing the point's cell. The index of an organization is
+ * rebuilt whenever one of its sites changes on this node and reloaded after
+ * {@code app.geofence.refresh-seconds} to pick up changes made on other nodes. Loads are
+ * single-flight: during a check-in storm one request reloads a stale index while the others keep
+ * using the previous one.
+ */
+@Service
+public class GeofenceService {
+
+    private static final int MAX_CELLS_PER_SITE = 4096;
+
+    @Autowired
+    private OfficeGeofenceRepository officeGeofenceRepository;
+
+    @Value("${app.geofence.cell-size-degrees:0.01}")
+    private double cellSize;
+
+    @Value("${app.geofence.refresh-seconds:300}")
+    private long refreshSeconds;
+
+    private final Map<Long, SiteIndex> indexes = new ConcurrentHashMap<>();
+    private final Set<Long> refreshing = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Returns the active site containing the coordinate, or null if there is none.
+     */
+    public Site resolveSite(Long entityId, double lat, double lng) {
+        return getIndex(entityId).find(lat, lng);
+    }
+
+    /**
+     * Whether the organization has at least one active site, i.e. whether check-ins are validated.
+     */
+    public boolean hasGeofences(Long entityId) {
+        return !getIndex(entityId).isEmpty();
+    }
+
+    public List<OfficeGeofence> getGeofences(Long entityId) {
+        return officeGeofenceRepository.findAllByEntityId(entityId);
+    }
+
+    public OfficeGeofence createGeofence(GeofenceRequest request, Long entityId, Long createdBy) {
+        OfficeGeofence geofence = new OfficeGeofence();
+        geofence.setEntityId(entityId);
+        geofence.setCreatedBy(createdBy);
+        apply(geofence, request);
+        OfficeGeofence saved = officeGeofenceRepository.save(geofence);
+        rebuild(entityId);
+        return saved;
+    }
+
+    public OfficeGeofence updateGeofence(Long id, GeofenceRequest request, Long entityId, Long updatedBy) {
+        OfficeGeofence geofence = getOwnedGeofence(id, entityId);
+        geofence.setUpdatedBy(updatedBy);
+        apply(geofence, request);
+        OfficeGeofence saved = officeGeofenceRepository.save(geofence);
+        rebuild(entityId);
+        return saved;
+    }
+
+    public void deleteGeofence(Long id, Long entityId) {
+        officeGeofenceRepository.delete(getOwnedGeofence(id, entityId));
+        rebuild(entityId);
+    }
+
+    /**
+     * Rebuilds the site index of an organization from the database.
+     */
+    public void rebuild(Long entityId) {
+        indexes.put(entityId, buildIndex(entityId));
+    }
+
+    private SiteIndex getIndex(Long entityId) {
+        SiteIndex index = indexes.get(entityId);
+        if (index == null) {
+            // first lookup: one thread loads the index, concurrent lookups of the organization wait for it
+            return indexes.computeIfAbsent(entityId, this::buildIndex);
+        }
+        if (System.nanoTime() - index.builtAt > refreshSeconds * 1_000_000_000L && refreshing.add(entityId)) {
+            // stale: this thread reloads it while the others keep using the previous index
+            try {
+                index = buildIndex(entityId);
+                indexes.put(entityId, index);
+            } finally {
+                refreshing.remove(entityId);
+            }
+        }
+        return index;
+    }
+
+    private SiteIndex buildIndex(Long entityId) {
+        List<Site> sites = new ArrayList<>();
+        for (OfficeGeofence geofence : officeGeofenceRepository.findAllByEntityIdAndStatus(entityId, Status.ACTIVE)) {
+            sites.add(new Site(geofence.getId(), geofence.getName(), GeoPolygon.parse(geofence.getPolygon())));
+        }
+        return new SiteIndex(sites, cellSize);
+    }
+
+    private void apply(OfficeGeofence geofence, GeofenceRequest request) {
+        try {
+            geofence.setPolygon(GeoPolygon.of(request.getPolygon()).format());
+            if (request.getStatus() != null) {
+                geofence.setStatus(Status.fromString(request.getStatus()));
+            }
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Error: " + e.getMessage());
+        }
+        geofence.setName(request.getName());
+    }
+
+    private OfficeGeofence getOwnedGeofence(Long id, Long entityId) {
+        return officeGeofenceRepository.findById(id)
+                .filter(geofence -> geofence.getEntityId().equals(entityId))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Geofence not found for ID: " + id));
+    }
+
+    /**
+     * A resolved office site.
+     */
+    public static final class Site {
+        private final Long id;
+        private final String name;
+        private final GeoPolygon polygon;
+
+        Site(Long id, String name, GeoPolygon polygon) {
+            this.id = id;
+            this.name = name;
+            this.polygon = polygon;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public GeoPolygon getPolygon() {
+            return polygon;
+        }
+    }
+
+    /**
+     * Immutable grid index over the sites of one organization. Sites whose bounding box covers
+     * too many cells are kept in a separate list that is always tested.
+     */
+    private static final class SiteIndex {
+        private static final Site[] NO_SITES = new Site[0];
+
+        private final double cellSize;
+        private final Map<Long, Site[]> cells;
+        private final Site[] oversized;
+        private final long builtAt = System.nanoTime();
+
+        SiteIndex(List<Site> sites, double cellSize) {
+            this.cellSize = cellSize;
+            Map<Long, List<Site>> grid = new HashMap<>();
+            List<Site> large = new ArrayList<>();
+            for (Site site : sites) {
+                GeoPolygon polygon = site.getPolygon();
+                long minRow = row(polygon.getMinLat()), maxRow = row(polygon.getMaxLat());
+                long minCol = column(polygon.getMinLng()), maxCol = column(polygon.getMaxLng());
+                if ((maxRow - minRow + 1) * (maxCol - minCol + 1) > MAX_CELLS_PER_SITE) {
+                    large.add(site);
+                    continue;
+                }
+                for (long r = minRow; r <= maxRow; r++) {
+                    for (long c = minCol; c <= maxCol; c++) {
+                        grid.computeIfAbsent(key(r, c), k -> new ArrayList<>(2)).add(site);
+                    }
+                }
+            }
+            this.cells = new HashMap<>(Math.max(16, grid.size() * 2));
+            grid.forEach((cell, cellSites) -> cells.put(cell, cellSites.toArray(NO_SITES)));
+            this.oversized = large.toArray(NO_SITES);
+        }
+
+        boolean isEmpty() {
+            return cells.isEmpty() && oversized.length == 0;
+        }
+
+        Site find(double lat, double lng) {
+            Site[] candidates = cells.get(key(row(lat), column(lng)));
+            if (candidates != null) {
+                for (Site site : candidates) {
+                    if (site.getPolygon().contains(lat, lng)) {
+                        return site;
+                    }
+                }
+            }
+            for (Site site : oversized) {
+                if (site.getPolygon().contains(lat, lng)) {
+                    return site;
+                }
+            }
+            return null;
+        }
+
+        private long row(double lat) {
+            return (long) Math.floor((lat + 90) / cellSize);
+        }
+
+        private long column(double lng) {
+            return (long) Math.floor((lng + 180) / cellSize);
+        }
+
+        private static long key(long row, long column) {
+            return (row << 32) | column;
+        }
+    }
+}
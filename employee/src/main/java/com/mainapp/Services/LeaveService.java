@@ -0,0 +1,161 @@
+package com.mainapp.Services;
+
+import com.mainapp.dto.LeaveApplicationRequest;
+import com.mainapp.enums.LeaveStatus;
+import com.mainapp.enums.LeaveType;
+import com.mainapp.models.AccountMaster;
+import com.mainapp.models.LeaveRequest;
+import com.mainapp.repository.LeaveRequestRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service class to handle leave requests: applying, approving, rejecting and reporting balances.
+ * Approved leave is written to the employee's calendar bitmap through {@link CalendarService}.
+ */
+@Service
+public class LeaveService {
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Value("${app.leave.annual-allowance:24}")
+    private int annualAllowance;
+
+    /**
+     * Creates a pending leave request for the employee.
+     *
+     * @param request    Leave details received in the request.
+     * @param employeeId ID of the employee applying.
+     * @param entityId   ID of the organization the employee belongs to.
+     */
+    public LeaveRequest applyLeave(LeaveApplicationRequest request, Long employeeId, Long entityId) {
+        if (request.getEndDate().isBefore(request.getStartDate())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Error: End date is before start date!");
+        }
+        if (calendarService.countWorkingDays(entityId, null, request.getStartDate(), request.getEndDate()) == 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Error: The requested range has no working days!");
+        }
+        if (overlapsApprovedLeave(employeeId, entityId, request.getStartDate(), request.getEndDate())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Error: Leave is already approved for part of this range!");
+        }
+
+        AccountMaster employee = new AccountMaster();
+        employee.setId(employeeId);
+
+        LeaveRequest leaveRequest = new LeaveRequest();
+        leaveRequest.setEmployee(employee);
+        leaveRequest.setEntityId(entityId);
+        leaveRequest.setStartDate(request.getStartDate());
+        leaveRequest.setEndDate(request.getEndDate());
+        leaveRequest.setLeaveType(request.getLeaveType());
+        leaveRequest.setReason(request.getReason());
+        leaveRequest.setStatus(LeaveStatus.PENDING);
+
+        return leaveRequestRepository.save(leaveRequest);
+    }
+
+    /**
+     * Approves a pending leave request and marks its working days on the employee calendar. Only
+     * paid leave types count against {@code app.leave.annual-allowance}.
+     * <p>
+     * Not transactional: the calendar is updated in transactions of its own, and unmarked again
+     * if the request cannot be saved as approved.
+     *
+     * @param id         ID of the leave request.
+     * @param reviewerId ID of the user approving the request.
+     * @param entityId   Organization of the reviewer; the request must belong to it.
+     */
+    public LeaveRequest approveLeave(Long id, Long reviewerId, Long entityId) {
+        LeaveRequest leaveRequest = getPendingRequest(id, reviewerId, entityId);
+        Long employeeId = leaveRequest.getRequesterId();
+        boolean paid = leaveRequest.getLeaveType() != LeaveType.UNPAID;
+
+        Map<Integer, BitSet> marked = calendarService.markLeave(employeeId, entityId,
+                leaveRequest.getStartDate(), leaveRequest.getEndDate(), paid, annualAllowance);
+
+        leaveRequest.setStatus(LeaveStatus.APPROVED);
+        leaveRequest.setReviewedBy(reviewerId);
+        try {
+            return leaveRequestRepository.save(leaveRequest);
+        } catch (RuntimeException e) {
+            calendarService.unmarkLeave(employeeId, entityId, marked, paid);
+            throw e;
+        }
+    }
+
+    /**
+     * Rejects a pending leave request.
+     */
+    @Transactional
+    public LeaveRequest rejectLeave(Long id, Long reviewerId, Long entityId) {
+        LeaveRequest leaveRequest = getPendingRequest(id, reviewerId, entityId);
+        leaveRequest.setStatus(LeaveStatus.REJECTED);
+        leaveRequest.setReviewedBy(reviewerId);
+        return leaveRequestRepository.save(leaveRequest);
+    }
+
+    public List<LeaveRequest> getEmployeeLeaves(Long employeeId) {
+        return leaveRequestRepository.findAllByEmployeeIdOrderByStartDateDesc(employeeId);
+    }
+
+    public List<LeaveRequest> getPendingLeaves(Long entityId) {
+        return leaveRequestRepository.findAllByEntityIdAndStatusOrderByStartDateAsc(entityId, LeaveStatus.PENDING);
+    }
+
+    /**
+     * Returns the leave balance of an employee for a year. Unpaid leave is reported separately and
+     * does not reduce the remaining allowance.
+     */
+    public Map<String, Object> getLeaveBalance(Long employeeId, Long entityId, int year) {
+        CalendarService.EmployeeYear employeeYear = calendarService.getEmployeeYear(employeeId, entityId, year);
+        int taken = employeeYear.getLeaveDays().cardinality();
+
+        Map<String, Object> balance = new LinkedHashMap<>();
+        balance.put("year", year);
+        balance.put("allowance", annualAllowance);
+        balance.put("taken", taken);
+        balance.put("remaining", Math.max(0, annualAllowance - taken));
+        balance.put("unpaidTaken", employeeYear.getUnpaidLeaveDays().cardinality());
+        balance.put("presentDays", employeeYear.getPresentDays().cardinality());
+        return balance;
+    }
+
+    private boolean overlapsApprovedLeave(Long employeeId, Long entityId, LocalDate from, LocalDate to) {
+        for (int year = from.getYear(); year <= to.getYear(); year++) {
+            BitSet leave = calendarService.getEmployeeYear(employeeId, entityId, year).getAllLeaveDays();
+            if (leave.intersects(calendarService.workingDayBits(entityId, year, from, to))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private LeaveRequest getPendingRequest(Long id, Long reviewerId, Long entityId) {
+        LeaveRequest leaveRequest = leaveRequestRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Leave request not found for ID: " + id));
+        if (!leaveRequest.getEntityId().equals(entityId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Leave request not found for ID: " + id);
+        }
+        if (reviewerId.equals(leaveRequest.getRequesterId())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Error: You cannot review your own leave request!");
+        }
+        if (leaveRequest.getStatus() != LeaveStatus.PENDING) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Error: Leave request is already " + leaveRequest.getStatus() + "!");
+        }
+        return leaveRequest;
+    }
+}
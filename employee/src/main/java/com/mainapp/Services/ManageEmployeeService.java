@@ -1,28 +1,38 @@
 package com.mainapp.Services;
 import com.mainapp.repository.AccountMasterRepository;
 import com.mainapp.repository.EntityRepository;
-import com.mainapp.repository.EntityRoleMasterRepository;
-import com.mainapp.repository.RoleMasterRepository;
 import com.mainapp.dto.AddEmployeeRequest;
 import com.mainapp.dto.EmployeeResponse;
+import com.mainapp.events.EmployeeChangedEvent;
 import com.mainapp.models.AccountMaster;
 import com.mainapp.models.EntityRoleMaster;
 import com.mainapp.models.EntityTable;
-import com.mainapp.models.RoleMaster;
 import com.mainapp.enums.Status;
+import com.mainapp.utils.AppMetrics;
 import com.mainapp.utils.CommonUtils;
+import com.mainapp.utils.CpuBoundExecutor;
+import com.mainapp.utils.JfrEvents;
 import com.mainapp.utils.PasswordUtils;
+import com.mainapp.utils.ServerTiming;
+import com.mainapp.services.EntityRoleResolver;
+import com.mainapp.services.HeadcountService;
+import com.mainapp.services.RoleCatalog;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpSession;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * Service class to handle employee management operations such as adding, updating,
@@ -43,24 +53,75 @@ public class ManageEmployeeService {
     private EntityRepository entityRepository;
 
     @Autowired
-    private RoleMasterRepository roleMasterRepository;
+    private PasswordUtils passwordUtils;
 
     @Autowired
-    private EntityRoleMasterRepository entityRoleMasterRepository;
+    private EmployeeCacheService employeeCacheService;
 
     @Autowired
-    private PasswordUtils passwordUtils;
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private HeadcountService headcountService;
+
+    @Autowired
+    private RoleCatalog roleCatalog;
+
+    @Autowired
+    private EntityRoleResolver entityRoleResolver;
+
+    @Autowired
+    private AppMetrics appMetrics;
+
+    @Autowired
+    private CpuBoundExecutor cpuBoundExecutor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
     /**
      * Adds a new employee to the system. It associates the employee with an entity
      * and assigns a role. The username is generated uniquely, and a secure password is assigned.
+     * <p>
+     * The role is resolved and the password hashed before the transaction starts, so a database
+     * connection is only held for the inserts: the role row may need a connection of its own, and
+     * concurrent onboarding would otherwise exhaust the pool.
      *
      * @param request   Employee details received in the request.
      * @param createdBy ID of the user who is creating this employee.
      * @param session   HTTP session containing entity information.
      */
-    @Transactional
     public AccountMaster addEmployee(AddEmployeeRequest request, Long createdBy, HttpSession session) {
+        JfrEvents.EmployeeOnboardingEvent event = new JfrEvents.EmployeeOnboardingEvent();
+        event.begin();
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            AccountMaster saved = createEmployee(request, createdBy, session);
+            outcome = "success";
+            return saved;
+        } catch (ResponseStatusException e) {
+            outcome = e.getStatusCode() == HttpStatus.BAD_REQUEST ? "duplicate" : "not_found";
+            throw e;
+        } finally {
+            appMetrics.record("erp.employee.add", "employee", request.getEntityType(), outcome, start);
+            event.end();
+            if (event.shouldCommit()) {
+                event.entityId = JfrEvents.id((Long) session.getAttribute("entityId"));
+                event.outcome = outcome;
+                event.commit();
+            }
+        }
+    }
+
+    private AccountMaster createEmployee(AddEmployeeRequest request, Long createdBy, HttpSession session) {
         // Check if email already exists
         if (accountMasterRepository.findByEmail(request.getEmail()).isPresent()) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Error: Email is already registered!");
@@ -75,21 +136,10 @@ public class ManageEmployeeService {
         EntityTable entityTable = entityRepository.findById(entityId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Entity not found for ID: " + entityId));
 
-        // Fetch RoleMaster from request
-        RoleMaster roleMaster = roleMasterRepository.findById(request.getRoleId())
+        // Resolve the role from the in-memory catalog and the organization's shared row for it
+        RoleCatalog.Role role = roleCatalog.find(request.getRoleId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Role not found for ID: " + request.getRoleId()));
-
-        // Create and save EntityRoleMaster
-        EntityRoleMaster entityRoleMaster = new EntityRoleMaster();
-        entityRoleMaster.setEntityTable(entityTable);
-        entityRoleMaster.setRoleMaster(roleMaster);
-        entityRoleMaster.setName(roleMaster.getName());
-        entityRoleMaster.setDescription(roleMaster.getDescription());
-        entityRoleMaster.setStatus(Status.ACTIVE);
-        entityRoleMaster.setPolicy(commonUtils.generatePolicyNumber());
-        entityRoleMaster.setCreatedBy(createdBy);
-
-        entityRoleMasterRepository.save(entityRoleMaster);
+        EntityRoleMaster entityRoleMaster = entityRoleResolver.resolve(entityTable, role, createdBy);
 
         // Generate unique username
         String uniqueUsername = commonUtils.ensureUniqueUsername(
@@ -97,7 +147,18 @@ public class ManageEmployeeService {
 
         // Generate and hash password before saving
         String rawPassword = passwordUtils.generateSecurePassword();
-        String hashedPassword = passwordUtils.hashPassword(rawPassword); // Ensure password is hashed
+        JfrEvents.PasswordHashEvent hashEvent = new JfrEvents.PasswordHashEvent();
+        hashEvent.begin();
+        long hashStart = System.nanoTime();
+        String hashedPassword = cpuBoundExecutor.call(() -> PasswordUtils.hashPassword(rawPassword)); // Ensure password is hashed
+        ServerTiming.record(ServerTiming.Phase.HASH, hashStart);
+        hashEvent.end();
+        if (hashEvent.shouldCommit()) {
+            hashEvent.operation = "hash";
+            hashEvent.entityId = JfrEvents.id(entityId);
+            hashEvent.outcome = "success";
+            hashEvent.commit();
+        }
 
         // Create and save AccountMaster
         AccountMaster accountMaster = new AccountMaster();
@@ -115,36 +176,39 @@ public class ManageEmployeeService {
         accountMaster.setPolicy(commonUtils.generatePolicyNumber());
         accountMaster.setEntityRoleMaster(entityRoleMaster);
 
-        return accountMasterRepository.save(accountMaster);
+        return transactionTemplate.execute(tx -> {
+            AccountMaster saved = accountMasterRepository.save(accountMaster);
+            headcountService.adjust(entityId, 1, 1);
+            eventPublisher.publishEvent(new EmployeeChangedEvent(EmployeeChangedEvent.Type.ADDED, entityId, saved.getId()));
+            return saved;
+        });
     }
 
     /**
-     * Retrieves a list of employees based on the entity type.
+     * Retrieves a page of employees based on the entity type, ordered by id.
+     * <p>
+     * Rows are projected straight into {@link EmployeeResponse} by one query joining the role name,
+     * so no account, role or entity graph is loaded. When {@code afterId} is given the page starts
+     * after that employee (keyset pagination) and {@code page} is ignored. Pages are served from
+     * {@link EmployeeCacheService} until an employee of the organization changes.
      *
      * @param entityType The type of entity employees belong to.
      * @param session    HTTP session containing entity information.
-     * @return A list of employee details.
+     * @param page       Zero-based page number, used when no {@code afterId} is given.
+     * @param size       Page size, or 0 for every employee of the organization in one slice.
+     * @param afterId    Id of the last employee of the previous page, or null.
+     * @return A slice of employee details.
      */
-    public List<EmployeeResponse> getEmployeesByEntityType(String entityType, HttpSession session) {
+    public Slice<EmployeeResponse> getEmployeesByEntityType(String entityType, HttpSession session, int page, int size, Long afterId) {
         Long entityId = (Long) session.getAttribute("entityId");
         if (entityId == null) {
             throw new RuntimeException("Entity ID not found in session.");
         }
 
-        List<AccountMaster> accounts = accountMasterRepository.findByEntityTypeAndEntityTable_Id(entityType, entityId);
-
-        return accounts.stream()
-                .map(account -> new EmployeeResponse(
-                        account.getId(),
-                        account.getFirstName(),
-                        account.getLastName(),
-                        account.getUsername(),
-                        account.getEmail(),
-                        account.getPhone(),
-                        account.getEntityType(),
-                        account.getEntityRoleMaster().getName()
-                ))
-                .collect(Collectors.toList());
+        Pageable pageable = size == 0 ? Pageable.unpaged()
+                : afterId != null ? PageRequest.of(0, size) : PageRequest.of(page, size);
+        return employeeCacheService.getPage(entityId, entityType, page, size, afterId,
+                () -> accountMasterRepository.findEmployeePage(entityType, entityId, afterId != null ? afterId : 0L, pageable));
     }
 
     /**
@@ -154,19 +218,21 @@ public class ManageEmployeeService {
      * @return EmployeeResponse object containing employee details.
      */
     public EmployeeResponse getAccountById(Long id) {
-        AccountMaster account = accountMasterRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Account not found for ID: " + id));
-
-        return new EmployeeResponse(
-                account.getId(),
-                account.getFirstName(),
-                account.getLastName(),
-                account.getUsername(),
-                account.getEmail(),
-                account.getPhone(),
-                account.getEntityType(),
-                account.getEntityRoleMaster() != null ? account.getEntityRoleMaster().getName() : null
-        );
+        return employeeCacheService.getAccount(id, () -> {
+            AccountMaster account = accountMasterRepository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("Account not found for ID: " + id));
+
+            return new EmployeeResponse(
+                    account.getId(),
+                    account.getFirstName(),
+                    account.getLastName(),
+                    account.getUsername(),
+                    account.getEmail(),
+                    account.getPhone(),
+                    account.getEntityType(),
+                    account.getEntityRoleMaster() != null ? account.getEntityRoleMaster().getName() : null
+            );
+        });
     }
 
     /**
@@ -189,6 +255,7 @@ public class ManageEmployeeService {
         account.setUpdatedBy((Long) session.getAttribute("userId"));
 
         accountMasterRepository.save(account);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(EmployeeChangedEvent.Type.UPDATED, entityIdOf(account), account.getId()));
 
         return new EmployeeResponse(
                 account.getId(),
@@ -210,11 +277,13 @@ public class ManageEmployeeService {
      *
      * @param id Employee ID to be deleted.
      */
+    @Transactional
     public void deleteAccount(Long id) {
-        if (!accountMasterRepository.existsById(id)) {
-            throw new RuntimeException("Account not found for ID: " + id);
-        }
-        accountMasterRepository.deleteById(id);
+        AccountMaster account = accountMasterRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Account not found for ID: " + id));
+        accountMasterRepository.delete(account);
+        headcountService.adjust(entityIdOf(account), -1, account.getStatus() == Status.ACTIVE ? -1 : 0);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(EmployeeChangedEvent.Type.DELETED, entityIdOf(account), id));
     }
     /**
      * Toggles the status of an employee.
@@ -235,5 +304,11 @@ public class ManageEmployeeService {
 
         // Save updated status
         accountMasterRepository.save(account);
+        headcountService.adjust(entityIdOf(account), 0, account.getStatus() == Status.ACTIVE ? 1 : -1);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(EmployeeChangedEvent.Type.STATUS_CHANGED, entityIdOf(account), id));
+    }
+
+    private static Long entityIdOf(AccountMaster account) {
+        return account.getEntityTable() != null ? account.getEntityTable().getId() : null;
     }
 }
@@ -0,0 +1,45 @@
+package com.mainapp.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO for creating or updating an office geofence.
+ */
+public class GeofenceRequest {
+
+    @NotBlank(message = "Site name cannot be empty")
+    @Size(max = 100, message = "Site name must be at most 100 characters long")
+    private String name;
+
+    @Size(min = 3, message = "A geofence needs at least three points")
+    private List<List<Double>> polygon; // [[lat, lng], ...]
+
+    private String status;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public List<List<Double>> getPolygon() {
+        return polygon;
+    }
+
+    public void setPolygon(List<List<Double>> polygon) {
+        this.polygon = polygon;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
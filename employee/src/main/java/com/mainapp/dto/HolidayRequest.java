@@ -0,0 +1,23 @@
+package com.mainapp.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for adding or removing organization holidays.
+ */
+public class HolidayRequest {
+
+    @NotEmpty(message = "At least one holiday date is required")
+    private List<LocalDate> dates;
+
+    public List<LocalDate> getDates() {
+        return dates;
+    }
+
+    public void setDates(List<LocalDate> dates) {
+        this.dates = dates;
+    }
+}
@@ -0,0 +1,57 @@
+package com.mainapp.dto;
+
+import com.mainapp.enums.LeaveType;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+
+/**
+ * DTO for applying for leave.
+ */
+public class LeaveApplicationRequest {
+
+    @NotNull(message = "Start date cannot be empty")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date cannot be empty")
+    private LocalDate endDate;
+
+    @NotNull(message = "Leave type cannot be empty")
+    private LeaveType leaveType;
+
+    @Size(max = 255, message = "Reason must be at most 255 characters long")
+    private String reason;
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public LeaveType getLeaveType() {
+        return leaveType;
+    }
+
+    public void setLeaveType(LeaveType leaveType) {
+        this.leaveType = leaveType;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+}
@@ -0,0 +1,79 @@
+package com.mainapp.events;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by {@link com.mainapp.Services.AttendanceService} every time a check-in or check-out
+ * attempt is recorded, including refused ones. Consumers must not query the attendance table
+ * to rebuild what the event already carries.
+ */
+public class AttendanceRecordedEvent {
+
+    public enum Type {
+        CHECK_IN,
+        CHECK_OUT,
+        CHECK_IN_REJECTED,
+        CHECK_OUT_REJECTED
+    }
+
+    private final Type type;
+    private final Long attendanceId;
+    private final Long employeeId;
+    private final Long entityId;
+    private final LocalDateTime time;
+    private final Double latitude;
+    private final Double longitude;
+    private final Long siteId;
+
+    public AttendanceRecordedEvent(Type type, Long attendanceId, Long employeeId, Long entityId, LocalDateTime time,
+                                   Double latitude, Double longitude, Long siteId) {
+        this.type = type;
+        this.attendanceId = attendanceId;
+        this.employeeId = employeeId;
+        this.entityId = entityId;
+        this.time = time;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.siteId = siteId;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getAttendanceId() {
+        return attendanceId;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public LocalDateTime getTime() {
+        return time;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public Long getSiteId() {
+        return siteId;
+    }
+
+    public boolean hasLocation() {
+        return latitude != null && longitude != null;
+    }
+
+    public boolean isCheckIn() {
+        return type == Type.CHECK_IN || type == Type.CHECK_IN_REJECTED;
+    }
+}
@@ -7,7 +7,8 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "attendance")
+@Table(name = "attendance",
+        indexes = @Index(name = "idx_attendance_employee_check_in", columnList = "employee_id, check_in_time"))
 public class Attendance {
 
     @Id
@@ -23,7 +24,19 @@ public class Attendance {
     private LocalDateTime checkInTime;
 
     @Column(nullable = true)
-    private String location;
+    private String location; // "lat,lng" reported at check-in
+
+    @Column(name = "site_id")
+    private Long siteId; // Office geofence the check-in resolved to
+
+    @Column(name = "check_out_location")
+    private String checkOutLocation;
+
+    @Column(name = "check_out_site_id")
+    private Long checkOutSiteId;
+
+    @Column(name = "rejection_reason")
+    private String rejectionReason; // Why a check-in or check-out was refused
 
     @Column(name = "check_out_time")
     private LocalDateTime checkOutTime;
@@ -83,6 +96,46 @@ public class Attendance {
         this.checkInTime = checkInTime;
     }
 
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public Long getSiteId() {
+        return siteId;
+    }
+
+    public void setSiteId(Long siteId) {
+        this.siteId = siteId;
+    }
+
+    public String getCheckOutLocation() {
+        return checkOutLocation;
+    }
+
+    public void setCheckOutLocation(String checkOutLocation) {
+        this.checkOutLocation = checkOutLocation;
+    }
+
+    public Long getCheckOutSiteId() {
+        return checkOutSiteId;
+    }
+
+    public void setCheckOutSiteId(Long checkOutSiteId) {
+        this.checkOutSiteId = checkOutSiteId;
+    }
+
+    public String getRejectionReason() {
+        return rejectionReason;
+    }
+
+    public void setRejectionReason(String rejectionReason) {
+        this.rejectionReason = rejectionReason;
+    }
+
     public LocalDateTime getCheckOutTime() {
         return checkOutTime;
     }
@@ -125,9 +178,12 @@ public class Attendance {
                 "id=" + id +
                 ", employee=" + (employee != null ? employee.getId() : null) +
                 ", checkInTime=" + checkInTime +
+                ", location='" + location + '\'' +
+                ", siteId=" + siteId +
                 ", checkOutTime=" + checkOutTime +
                 ", totalHours=" + totalHours +
                 ", status=" + status +
+                ", rejectionReason='" + rejectionReason + '\'' +
                 ", createdAt=" + createdAt +
                 ", updatedAt=" + updatedAt +
                 '}';
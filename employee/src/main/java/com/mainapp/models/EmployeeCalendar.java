@@ -0,0 +1,122 @@
+package com.mainapp.models;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row per employee and calendar year. Paid leave, unpaid leave and presence are stored as
+ * day-of-year bitsets (bit 0 = 1st January) serialized with {@link java.util.BitSet#toByteArray()},
+ * so a full year never takes more than 46 bytes per column.
+ */
+@Entity
+@Table(name = "employee_calendar",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"employee_id", "calendar_year"}),
+        indexes = @Index(name = "idx_employee_calendar_entity_year", columnList = "entity_id, calendar_year"))
+public class EmployeeCalendar {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "calendar_year", nullable = false)
+    private Integer calendarYear;
+
+    @Column(name = "leave_days", columnDefinition = "VARBINARY(46)")
+    private byte[] leaveDays;
+
+    @Column(name = "unpaid_leave_days", columnDefinition = "VARBINARY(46)")
+    private byte[] unpaidLeaveDays;
+
+    @Column(name = "present_days", columnDefinition = "VARBINARY(46)")
+    private byte[] presentDays;
+
+    @Version
+    private Long version;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    @PreUpdate
+    public void setLastUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public Integer getCalendarYear() {
+        return calendarYear;
+    }
+
+    public void setCalendarYear(Integer calendarYear) {
+        this.calendarYear = calendarYear;
+    }
+
+    public byte[] getLeaveDays() {
+        return leaveDays;
+    }
+
+    public void setLeaveDays(byte[] leaveDays) {
+        this.leaveDays = leaveDays;
+    }
+
+    public byte[] getUnpaidLeaveDays() {
+        return unpaidLeaveDays;
+    }
+
+    public void setUnpaidLeaveDays(byte[] unpaidLeaveDays) {
+        this.unpaidLeaveDays = unpaidLeaveDays;
+    }
+
+    public byte[] getPresentDays() {
+        return presentDays;
+    }
+
+    public void setPresentDays(byte[] presentDays) {
+        this.presentDays = presentDays;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
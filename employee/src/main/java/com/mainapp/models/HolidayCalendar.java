@@ -0,0 +1,87 @@
+package com.mainapp.models;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Holidays of one organization for one calendar year, stored as a day-of-year bitset
+ * in the same compact format as {@link EmployeeCalendar}.
+ */
+@Entity
+@Table(name = "holiday_calendar",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"entity_id", "calendar_year"}))
+public class HolidayCalendar {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "calendar_year", nullable = false)
+    private Integer calendarYear;
+
+    @Column(name = "holidays", columnDefinition = "VARBINARY(46)")
+    private byte[] holidays;
+
+    @Column(name = "updated_by")
+    private Long updatedBy;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    @PreUpdate
+    public void setLastUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public Integer getCalendarYear() {
+        return calendarYear;
+    }
+
+    public void setCalendarYear(Integer calendarYear) {
+        this.calendarYear = calendarYear;
+    }
+
+    public byte[] getHolidays() {
+        return holidays;
+    }
+
+    public void setHolidays(byte[] holidays) {
+        this.holidays = holidays;
+    }
+
+    public Long getUpdatedBy() {
+        return updatedBy;
+    }
+
+    public void setUpdatedBy(Long updatedBy) {
+        this.updatedBy = updatedBy;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -1,5 +1,6 @@
 package com.mainapp.repository;
 
+import com.mainapp.enums.AttendanceStatus;
 import com.mainapp.models.Attendance;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
@@ -16,4 +17,9 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
 
     // Find all attendance records (for history retrieval)
     List<Attendance> findAllByEmployeeIdAndCheckInTimeBetween(Long employeeId, LocalDateTime startDate, LocalDateTime endDate);
+
+    // Same lookups ignoring rows of a given status (used to skip rejected check-in attempts)
+    Optional<Attendance> findFirstByEmployeeIdAndStatusNotAndCheckInTimeBetween(Long employeeId, AttendanceStatus status, LocalDateTime startDate, LocalDateTime endDate);
+
+    List<Attendance> findAllByEmployeeIdAndStatusNotAndCheckInTimeBetween(Long employeeId, AttendanceStatus status, LocalDateTime startDate, LocalDateTime endDate);
 }
@@ -0,0 +1,17 @@
+package com.mainapp.repository;
+
+import com.mainapp.models.EmployeeCalendar;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface EmployeeCalendarRepository extends JpaRepository<EmployeeCalendar, Long> {
+
+    Optional<EmployeeCalendar> findByEmployeeIdAndCalendarYear(Long employeeId, Integer calendarYear);
+
+    // Every employee-year bitmap of an organization, used to answer organization-wide day queries
+    List<EmployeeCalendar> findAllByEntityIdAndCalendarYear(Long entityId, Integer calendarYear);
+}
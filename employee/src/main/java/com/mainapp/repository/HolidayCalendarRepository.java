@@ -0,0 +1,13 @@
+package com.mainapp.repository;
+
+import com.mainapp.models.HolidayCalendar;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface HolidayCalendarRepository extends JpaRepository<HolidayCalendar, Long> {
+
+    Optional<HolidayCalendar> findByEntityIdAndCalendarYear(Long entityId, Integer calendarYear);
+}
@@ -0,0 +1,18 @@
+package com.mainapp.repository;
+
+import com.mainapp.enums.LeaveStatus;
+import com.mainapp.models.LeaveRequest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long> {
+
+    // All leave requests raised by an employee (for the employee's own history)
+    List<LeaveRequest> findAllByEmployeeIdOrderByStartDateDesc(Long employeeId);
+
+    // Requests of an organization in a given state (for the approval queue)
+    List<LeaveRequest> findAllByEntityIdAndStatusOrderByStartDateAsc(Long entityId, LeaveStatus status);
+}
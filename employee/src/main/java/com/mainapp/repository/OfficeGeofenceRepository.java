@@ -0,0 +1,17 @@
+package com.mainapp.repository;
+
+import com.mainapp.enums.Status;
+import com.mainapp.models.OfficeGeofence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OfficeGeofenceRepository extends JpaRepository<OfficeGeofence, Long> {
+
+    List<OfficeGeofence> findAllByEntityId(Long entityId);
+
+    // Sites that take part in check-in validation
+    List<OfficeGeofence> findAllByEntityIdAndStatus(Long entityId, Status status);
+}
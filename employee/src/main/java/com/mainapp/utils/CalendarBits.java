@@ -0,0 +1,95 @@
+package com.mainapp.utils;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Helpers for day-of-year bitsets. Bit 0 is the 1st of January, bit 365 only exists in leap years.
+ * Day-level calendar questions (working days, leave taken, presence) become {@link BitSet}
+ * and/andNot/cardinality operations over at most 366 bits.
+ */
+public final class CalendarBits {
+
+    private CalendarBits() {
+    }
+
+    public static int dayIndex(LocalDate date) {
+        return date.getDayOfYear() - 1;
+    }
+
+    /**
+     * Returns the bits for every day from {@code from} to {@code to} (both inclusive) that fall in {@code year}.
+     */
+    public static BitSet range(int year, LocalDate from, LocalDate to) {
+        BitSet bits = new BitSet(366);
+        LocalDate yearStart = LocalDate.of(year, 1, 1);
+        LocalDate yearEnd = LocalDate.of(year, 12, 31);
+        LocalDate start = from.isAfter(yearStart) ? from : yearStart;
+        LocalDate end = to.isBefore(yearEnd) ? to : yearEnd;
+        if (!start.isAfter(end)) {
+            bits.set(dayIndex(start), dayIndex(end) + 1);
+        }
+        return bits;
+    }
+
+    /**
+     * Returns the bits for every day of {@code year} that falls on one of the given weekdays.
+     */
+    public static BitSet weekdays(int year, Collection<DayOfWeek> days) {
+        BitSet bits = new BitSet(366);
+        int length = Year.of(year).length();
+        int firstDay = LocalDate.of(year, 1, 1).getDayOfWeek().getValue();
+        for (DayOfWeek day : days) {
+            int offset = Math.floorMod(day.getValue() - firstDay, 7);
+            for (int i = offset; i < length; i += 7) {
+                bits.set(i);
+            }
+        }
+        return bits;
+    }
+
+    public static BitSet of(int year, Collection<LocalDate> dates) {
+        BitSet bits = new BitSet(366);
+        for (LocalDate date : dates) {
+            if (date.getYear() == year) {
+                bits.set(dayIndex(date));
+            }
+        }
+        return bits;
+    }
+
+    public static List<LocalDate> toDates(int year, BitSet bits) {
+        List<LocalDate> dates = new ArrayList<>(bits.cardinality());
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            dates.add(LocalDate.ofYearDay(year, i + 1));
+        }
+        return dates;
+    }
+
+    /**
+     * Serializes a bitset for a VARBINARY column; an empty set is stored as an empty array.
+     */
+    public static byte[] toBytes(BitSet bits) {
+        return bits.toByteArray();
+    }
+
+    public static BitSet fromBytes(byte[] bytes) {
+        return bytes == null ? new BitSet(366) : BitSet.valueOf(bytes);
+    }
+
+    /**
+     * Returns a copy of {@code bits} with every bit of {@code others} cleared.
+     */
+    public static BitSet andNot(BitSet bits, BitSet... others) {
+        BitSet result = (BitSet) bits.clone();
+        for (BitSet other : others) {
+            result.andNot(other);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,136 @@
+package com.mainapp.utils;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Immutable latitude/longitude polygon with a precomputed bounding box.
+ * Stored in the database as {@code "lat lng,lat lng,..."}; the ring is closed implicitly.
+ */
+public final class GeoPolygon {
+
+    private static final double EARTH_RADIUS_METERS = 6_371_000;
+
+    private final double[] lats;
+    private final double[] lngs;
+    private final double minLat;
+    private final double maxLat;
+    private final double minLng;
+    private final double maxLng;
+
+    private GeoPolygon(double[] lats, double[] lngs) {
+        this.lats = lats;
+        this.lngs = lngs;
+        double minLatValue = Double.MAX_VALUE, maxLatValue = -Double.MAX_VALUE;
+        double minLngValue = Double.MAX_VALUE, maxLngValue = -Double.MAX_VALUE;
+        for (int i = 0; i < lats.length; i++) {
+            minLatValue = Math.min(minLatValue, lats[i]);
+            maxLatValue = Math.max(maxLatValue, lats[i]);
+            minLngValue = Math.min(minLngValue, lngs[i]);
+            maxLngValue = Math.max(maxLngValue, lngs[i]);
+        }
+        this.minLat = minLatValue;
+        this.maxLat = maxLatValue;
+        this.minLng = minLngValue;
+        this.maxLng = maxLngValue;
+    }
+
+    /**
+     * Builds a polygon from {@code [lat, lng]} pairs.
+     *
+     * @throws IllegalArgumentException if fewer than three valid points are given.
+     */
+    public static GeoPolygon of(List<List<Double>> points) {
+        if (points == null || points.size() < 3) {
+            throw new IllegalArgumentException("A geofence needs at least three points");
+        }
+        double[] lats = new double[points.size()];
+        double[] lngs = new double[points.size()];
+        for (int i = 0; i < points.size(); i++) {
+            List<Double> point = points.get(i);
+            if (point == null || point.size() != 2 || point.get(0) == null || point.get(1) == null) {
+                throw new IllegalArgumentException("Each geofence point must be a [latitude, longitude] pair");
+            }
+            lats[i] = point.get(0);
+            lngs[i] = point.get(1);
+            if (Math.abs(lats[i]) > 90 || Math.abs(lngs[i]) > 180) {
+                throw new IllegalArgumentException("Geofence point out of range: " + point);
+            }
+        }
+        return new GeoPolygon(lats, lngs);
+    }
+
+    public static GeoPolygon parse(String value) {
+        String[] pairs = value.split(",");
+        double[] lats = new double[pairs.length];
+        double[] lngs = new double[pairs.length];
+        for (int i = 0; i < pairs.length; i++) {
+            String[] parts = pairs[i].trim().split("\\s+");
+            lats[i] = Double.parseDouble(parts[0]);
+            lngs[i] = Double.parseDouble(parts[1]);
+        }
+        return new GeoPolygon(lats, lngs);
+    }
+
+    public String format() {
+        StringBuilder builder = new StringBuilder(lats.length * 24);
+        for (int i = 0; i < lats.length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(lats[i]).append(' ').append(lngs[i]);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Even-odd ray casting test. Points exactly on an edge may fall on either side.
+     */
+    public boolean contains(double lat, double lng) {
+        if (lat < minLat || lat > maxLat || lng < minLng || lng > maxLng) {
+            return false;
+        }
+        boolean inside = false;
+        for (int i = 0, j = lats.length - 1; i < lats.length; j = i++) {
+            if ((lats[i] > lat) != (lats[j] > lat)
+                    && lng < (lngs[j] - lngs[i]) * (lat - lats[i]) / (lats[j] - lats[i]) + lngs[i]) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+
+    public double getMinLat() {
+        return minLat;
+    }
+
+    public double getMaxLat() {
+        return maxLat;
+    }
+
+    public double getMinLng() {
+        return minLng;
+    }
+
+    public double getMaxLng() {
+        return maxLng;
+    }
+
+    /**
+     * Great-circle (haversine) distance between two coordinates in meters.
+     */
+    public static double distanceMeters(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.sqrt(a));
+    }
+
+    /**
+     * Formats a coordinate pair the way it is stored in {@code attendance.location}.
+     */
+    public static String formatPoint(double lat, double lng) {
+        return String.format(Locale.ROOT, "%.6f,%.6f", lat, lng);
+    }
+}
@@ -0,0 +1,167 @@
+package com.mainapp.Services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mainapp.events.AttendanceRecordedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AttendanceFeedServiceTest {
+
+    private static final Long ENTITY_ID = 7L;
+
+    private final Deque<SseEmitter> nextEmitters = new ArrayDeque<>();
+    private AttendanceFeedService service;
+
+    @BeforeEach
+    void start() {
+        service = new AttendanceFeedService() {
+            @Override
+            SseEmitter newEmitter(long timeoutMillis) {
+                return nextEmitters.pop();
+            }
+        };
+        ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(service, "ringSize", 1024);
+        ReflectionTestUtils.setField(service, "queueCapacity", 1000);
+        ReflectionTestUtils.setField(service, "maxSubscribers", 100);
+        ReflectionTestUtils.setField(service, "senderThreads", 1);
+        ReflectionTestUtils.setField(service, "heartbeatSeconds", 60L);
+        ReflectionTestUtils.setField(service, "timeoutMinutes", 1L);
+        ReflectionTestUtils.setField(service, "writeTimeoutMillis", 200L);
+        ReflectionTestUtils.setField(service, "maxExtraSenders", 4);
+        ReflectionTestUtils.setField(service, "maxLag", 8);
+        ReflectionTestUtils.setField(service, "batchSize", 4);
+        service.start();
+    }
+
+    @AfterEach
+    void stop() {
+        service.stop();
+    }
+
+    @Test
+    void aStalledClientIsEvictedWithoutHoldingUpOthers() throws Exception {
+        CountDownLatch unblock = new CountDownLatch(1);
+        RecordingEmitter stalled = new RecordingEmitter(unblock);
+        RecordingEmitter healthy = new RecordingEmitter(null);
+        nextEmitters.add(stalled);
+        nextEmitters.add(healthy);
+        // the stalled client blocks the only sender thread on its first write, the heartbeat
+        service.subscribe(ENTITY_ID, null);
+        service.subscribe(ENTITY_ID, null);
+
+        for (int i = 0; i < 3; i++) {
+            publish(i);
+        }
+        awaitTrue(() -> healthy.events.stream().filter(event -> event.contains("CHECK_IN")).count() == 3);
+        assertEquals(1L, stats().get("evictedStalled"));
+        assertEquals(1, stats().get("stalledSenders"));
+        assertEquals(1, stats().get("subscribers"));
+
+        unblock.countDown();
+        awaitTrue(() -> stalled.completed);
+        awaitTrue(() -> Integer.valueOf(0).equals(stats().get("stalledSenders")));
+        assertEquals(1, stalled.events.size());
+    }
+
+    @Test
+    void aLaggingSubscriberGetsOneResyncInsteadOfTheBacklog() throws Exception {
+        CountDownLatch unblock = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(unblock);
+        nextEmitters.add(slow);
+        ReflectionTestUtils.setField(service, "writeTimeoutMillis", 60_000L); // slow, but not evicted
+        service.subscribe(ENTITY_ID, null);
+        awaitTrue(() -> slow.events.size() == 1);
+
+        for (int i = 0; i < 20; i++) {
+            publish(i);
+        }
+        awaitTrue(() -> Long.valueOf(20).equals(stats().get("publishedEvents")));
+        unblock.countDown();
+
+        awaitTrue(() -> slow.events.stream().anyMatch(event -> event.contains("resync")));
+        assertTrue(slow.events.size() < 20, "backlog was replayed: " + slow.events.size());
+    }
+
+    private void publish(long attendanceId) {
+        service.onAttendanceRecorded(new AttendanceRecordedEvent(AttendanceRecordedEvent.Type.CHECK_IN, attendanceId, 1L,
+                ENTITY_ID, LocalDateTime.now(), null, null, null));
+    }
+
+    private Map<String, Object> stats() {
+        return service.stats();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met within 10 s");
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Records what is sent; the first write blocks until {@code unblock} opens, like a client that
+     * stopped reading.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+        private final CountDownLatch unblock;
+        private final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+        private volatile boolean completed;
+
+        RecordingEmitter(CountDownLatch unblock) {
+            this.unblock = unblock;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (unblock != null && events.isEmpty()) {
+                events.add("blocked");
+                try {
+                    unblock.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+                return;
+            }
+            events.add(toText(builder.build()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            completed = true;
+        }
+
+        private static String toText(Set<DataWithMediaType> parts) {
+            StringBuilder text = new StringBuilder();
+            for (DataWithMediaType part : parts) {
+                text.append(part.getData());
+            }
+            return text.toString();
+        }
+    }
+}
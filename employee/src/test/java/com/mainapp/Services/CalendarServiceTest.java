@@ -0,0 +1,116 @@
+package com.mainapp.Services;
+
+import com.mainapp.EmployeeApp;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs without a test transaction: every calendar change commits in a transaction of its own.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@ContextConfiguration(classes = EmployeeApp.class)
+@Import(CalendarService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CalendarServiceTest {
+
+    private static final Long ENTITY_ID = 1L;
+    // 2030-01-07 is a Monday
+    private static final LocalDate MONDAY = LocalDate.of(2030, 1, 7);
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Test
+    void unpaidLeaveDoesNotCountAgainstTheAllowance() {
+        Long employeeId = 101L;
+        calendarService.markLeave(employeeId, ENTITY_ID, MONDAY, MONDAY.plusDays(2), true, 3);
+        calendarService.markLeave(employeeId, ENTITY_ID, MONDAY.plusWeeks(1), MONDAY.plusWeeks(1).plusDays(4), false, 3);
+
+        CalendarService.EmployeeYear year = calendarService.getEmployeeYear(employeeId, ENTITY_ID, 2030);
+        assertEquals(3, year.getLeaveDays().cardinality());
+        assertEquals(5, year.getUnpaidLeaveDays().cardinality());
+        assertEquals(15 - 8, calendarService.countWorkingDays(ENTITY_ID, employeeId, MONDAY, MONDAY.plusWeeks(2).plusDays(4)));
+
+        assertThrows(ResponseStatusException.class,
+                () -> calendarService.markLeave(employeeId, ENTITY_ID, MONDAY.plusDays(3), MONDAY.plusDays(3), true, 3));
+        assertEquals(3, calendarService.getEmployeeYear(employeeId, ENTITY_ID, 2030).getLeaveDays().cardinality());
+    }
+
+    @Test
+    void aRejectedLaterYearUnmarksTheEarlierOne() {
+        Long employeeId = 102L;
+        calendarService.markLeave(employeeId, ENTITY_ID, LocalDate.of(2031, 1, 6), LocalDate.of(2031, 1, 6), true, 3);
+
+        // two working days in 2030, three in 2031 where only two are left
+        assertThrows(ResponseStatusException.class, () -> calendarService.markLeave(employeeId, ENTITY_ID,
+                LocalDate.of(2030, 12, 30), LocalDate.of(2031, 1, 3), true, 3));
+
+        assertTrue(calendarService.getEmployeeYear(employeeId, ENTITY_ID, 2030).getLeaveDays().isEmpty());
+        assertEquals(1, calendarService.getEmployeeYear(employeeId, ENTITY_ID, 2031).getLeaveDays().cardinality());
+    }
+
+    @Test
+    void concurrentApprovalsNeverOverdrawTheAllowance() throws Exception {
+        Long employeeId = 103L;
+        int allowance = 4;
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                // eight distinct working days over two weeks of February
+                LocalDate day = LocalDate.of(2030, 2, 4).plusDays(i < 5 ? i : i + 2);
+                results.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        calendarService.markLeave(employeeId, ENTITY_ID, day, day, true, allowance);
+                        return true;
+                    } catch (RuntimeException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+            int approved = 0;
+            for (Future<Boolean> result : results) {
+                approved += result.get() ? 1 : 0;
+            }
+
+            int stored = calendarService.getEmployeeYear(employeeId, ENTITY_ID, 2030).getLeaveDays().cardinality();
+            assertTrue(approved >= 1 && approved <= allowance, "approved " + approved);
+            assertEquals(approved, stored);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void rejectsReversedAndOverlongRanges() {
+        assertThrows(ResponseStatusException.class,
+                () -> calendarService.countWorkingDays(ENTITY_ID, null, MONDAY, MONDAY.minusDays(1)));
+        assertThrows(ResponseStatusException.class,
+                () -> calendarService.countWorkingDays(ENTITY_ID, null, MONDAY, MONDAY.plusYears(100)));
+        assertEquals(261, calendarService.countWorkingDays(ENTITY_ID, null, LocalDate.of(2030, 1, 1), LocalDate.of(2030, 12, 31)));
+    }
+}
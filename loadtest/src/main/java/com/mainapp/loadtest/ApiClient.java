@@ -0,0 +1,114 @@
+package com.mainapp.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * HTTP client of the load test. One connection pool is shared by all simulated users; each
+ * {@link User} carries its own session cookie.
+ */
+class ApiClient {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final String baseUrl;
+
+    ApiClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * A simulated user, logging in by email.
+     */
+    static class User {
+        final String email;
+        final String password;
+        private volatile String sessionCookie;
+
+        User(String email, String password) {
+            this.email = email;
+            this.password = password;
+        }
+    }
+
+    int login(User user, LatencyRecorder recorder) {
+        return send(user, "POST", "/auth/login", Map.of("email", user.email, "password", user.password), recorder);
+    }
+
+    /**
+     * Sends one request as the user and records its latency and status. Transport failures are
+     * recorded with status 0.
+     *
+     * @param body Object sent as JSON, or null for no body.
+     */
+    int send(User user, String method, String path, Object body, LatencyRecorder recorder) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT);
+        if (body != null) {
+            request.header("Content-Type", "application/json").method(method, HttpRequest.BodyPublishers.ofString(json(body)));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        String cookie = user.sessionCookie;
+        if (cookie != null) {
+            request.header("Cookie", cookie);
+        }
+        long start = System.nanoTime();
+        int status;
+        try {
+            HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            status = response.statusCode();
+            response.headers().allValues("Set-Cookie").stream()
+                    .filter(value -> value.startsWith("JSESSIONID="))
+                    .findFirst()
+                    .ifPresent(value -> user.sessionCookie = value.split(";", 2)[0]);
+        } catch (IOException e) {
+            status = 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            status = 0;
+        }
+        recorder.record(System.nanoTime() - start, status);
+        return status;
+    }
+
+    /**
+     * Polls a path until it answers 200, for at most the given time.
+     */
+    boolean awaitOk(String path, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                HttpResponse<Void> response = http.send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                        .timeout(Duration.ofSeconds(5)).build(), HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    return true;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(500);
+        }
+        return false;
+    }
+
+    private static String json(Object body) {
+        try {
+            return JSON.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
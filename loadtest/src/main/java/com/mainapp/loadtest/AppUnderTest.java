@@ -0,0 +1,163 @@
+package com.mainapp.loadtest;
+
+import ch.vorburger.exec.ManagedProcessException;
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The packaged EntryApp running as a child process against an embedded MariaDB, or against an
+ * existing MySQL database when a JDBC URL is given. Everything runs locally, no network access is
+ * needed.
+ */
+class AppUnderTest implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    private final Path workDir;
+
+    private DB db;
+    private Process app;
+    private String jdbcUrl;
+    private String dbUser;
+    private String dbPassword;
+    private String baseUrl;
+
+    AppUnderTest(Path workDir) {
+        this.workDir = workDir;
+    }
+
+    /**
+     * The command running a JVM with the given options and target, e.g. {@code -jar app.jar}.
+     */
+    static List<String> javaCommand(Path javaHome, String jvmArgs, String... target) {
+        List<String> command = new ArrayList<>();
+        command.add(javaHome.resolve("bin").resolve("java").toString());
+        command.addAll(split(jvmArgs));
+        command.addAll(Arrays.asList(target));
+        return command;
+    }
+
+    /**
+     * Starts an embedded MariaDB on a free port. MariaDB refuses to run as root unless told to.
+     */
+    void startEmbeddedDatabase() throws ManagedProcessException, IOException {
+        int port = freePort();
+        DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder().setPort(port);
+        if ("root".equals(System.getProperty("user.name"))) {
+            config.addArg("--user=root");
+        }
+        db = DB.newEmbeddedDB(config.build());
+        db.start();
+        useDatabase("jdbc:mysql://localhost:" + port + "/erp?createDatabaseIfNotExist=true", "root", "");
+    }
+
+    void useDatabase(String jdbcUrl, String user, String password) {
+        this.jdbcUrl = jdbcUrl;
+        this.dbUser = user;
+        this.dbPassword = password;
+    }
+
+    /**
+     * Starts EntryApp and waits until it reports ready, i.e. until its warm-up is over.
+     */
+    void startApp(List<String> command, String appArgs) throws IOException, InterruptedException {
+        launch(command, appArgs);
+        if (!new ApiClient(baseUrl).awaitOk("/readyz", STARTUP_TIMEOUT) || !app.isAlive()) {
+            throw new IllegalStateException("EntryApp did not start, see " + workDir.resolve("entryapp.log"));
+        }
+    }
+
+    /**
+     * Starts EntryApp without waiting for it. The command is the launcher, a JVM with its options
+     * and jar or a native executable; the server and database settings are appended to it.
+     */
+    void launch(List<String> command, String appArgs) throws IOException {
+        int port = freePort();
+        List<String> fullCommand = new ArrayList<>(command);
+        fullCommand.add("--server.port=" + port);
+        fullCommand.add("--management.server.port=" + freePort());
+        fullCommand.add("--spring.datasource.url=" + jdbcUrl);
+        fullCommand.add("--spring.datasource.username=" + dbUser);
+        fullCommand.add("--spring.datasource.password=" + dbPassword);
+        fullCommand.add("--spring.jpa.show-sql=false");
+        fullCommand.addAll(split(appArgs));
+        Path log = workDir.resolve("entryapp.log");
+        app = new ProcessBuilder(fullCommand).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        baseUrl = "http://localhost:" + port;
+    }
+
+    boolean isAppAlive() {
+        return app != null && app.isAlive();
+    }
+
+    /**
+     * Resident set size of the EntryApp process in kilobytes, from /proc, or -1 where that is not
+     * available.
+     */
+    long appRssKilobytes() throws IOException {
+        Path status = Paths.get("/proc", String.valueOf(app.pid()), "status");
+        if (!Files.isReadable(status)) {
+            return -1;
+        }
+        return Files.readAllLines(status).stream()
+                .filter(line -> line.startsWith("VmRSS:"))
+                .map(line -> Long.parseLong(line.replaceAll("\\D", "")))
+                .findFirst()
+                .orElse(-1L);
+    }
+
+    void stopApp() throws InterruptedException {
+        if (app != null) {
+            app.destroy();
+            if (!app.waitFor(30, TimeUnit.SECONDS)) {
+                app.destroyForcibly();
+            }
+            app = null;
+        }
+    }
+
+    String baseUrl() {
+        return baseUrl;
+    }
+
+    String jdbcUrl() {
+        return jdbcUrl;
+    }
+
+    String dbUser() {
+        return dbUser;
+    }
+
+    String dbPassword() {
+        return dbPassword;
+    }
+
+    @Override
+    public void close() throws Exception {
+        stopApp();
+        if (db != null) {
+            db.stop();
+        }
+    }
+
+    private static List<String> split(String args) {
+        return args == null || args.isBlank() ? List.of() : Arrays.asList(args.trim().split("\\s+"));
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.mainapp.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latencies and outcomes of one kind of request. Every sample is kept, so percentiles are exact;
+ * a run records at most a few hundred thousand requests.
+ */
+class LatencyRecorder {
+
+    private final String name;
+    private long[] samples = new long[1024];
+    private int count;
+    private int errors;
+    private final Map<Integer, Integer> statuses = new TreeMap<>();
+
+    LatencyRecorder(String name) {
+        this.name = name;
+    }
+
+    synchronized void record(long nanos, int status) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+        if (status < 200 || status >= 300) {
+            errors++;
+        }
+        statuses.merge(status, 1, Integer::sum);
+    }
+
+    /**
+     * Count, errors, throughput over the given wall time and latency percentiles in milliseconds.
+     */
+    synchronized Map<String, Object> summary(long wallNanos) {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("name", name);
+        summary.put("count", count);
+        summary.put("errors", errors);
+        summary.put("statuses", new TreeMap<>(statuses));
+        summary.put("throughput", wallNanos > 0 ? count * 1e9 / wallNanos : 0.0);
+        summary.put("p50", millis(sorted, 0.50));
+        summary.put("p90", millis(sorted, 0.90));
+        summary.put("p99", millis(sorted, 0.99));
+        summary.put("max", count > 0 ? sorted[count - 1] / 1e6 : 0.0);
+        return summary;
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,404 @@
+package com.mainapp.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.mindrot.jbcrypt.BCrypt;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Load test of EntryApp simulating the start of a shift.
+ * <p>
+ * The harness starts an embedded MariaDB and the packaged EntryApp, seeds organizations and
+ * employees through the real APIs and then runs these phases with a fixed number of concurrent
+ * clients:
+ * <ol>
+ *   <li>onboarding: the organization admins add their employees;</li>
+ *   <li>shift-start: every employee logs in and checks in right away, in random order;</li>
+ *   <li>mixed-reads: attendance history and today's attendance of employees, mixed with admins
+ *   paging through their employee lists.</li>
+ * </ol>
+ * Each phase reports throughput and latency percentiles per request. Only the super admin and the
+ * two roles are inserted directly, because no API creates them; generated passwords are mailed in
+ * production, so the harness sets one known password on the accounts it created. All choices are
+ * drawn from a seeded random generator, so a run is reproducible. Options:
+ * <pre>
+ *   --organizations N     organizations to create (default 5)
+ *   --employees M         employees per organization (default 50)
+ *   --concurrency C       concurrent clients (default 32)
+ *   --reads R             reads per employee in the mixed phase (default 5)
+ *   --seed S              random seed (default 42)
+ *   --bcrypt-cost COST    work factor of the seeded password hashes (default 12, as PasswordUtils)
+ *   --app-jar FILE        EntryApp jar (default EntryApp/target/EntryApp-1.0-SNAPSHOT.jar)
+ *   --jvm-args "ARGS"     JVM options of EntryApp, e.g. "-Xmx1g -XX:+UseZGC"
+ *   --app-args "ARGS"     Spring options of EntryApp, e.g. "--spring.datasource.hikari.maximum-pool-size=20"
+ *   --db-url URL          use this MySQL database instead of an embedded one
+ *   --db-user USER, --db-password PASSWORD
+ *   --java-home DIR       JDK running EntryApp (default: the one running the load test)
+ *   --compare-threads     run twice, on platform threads and with the virtual-threads profile
+ *                         (Java 21), and compare the requests side by side
+ *   --report FILE         also write the results as JSON
+ * </pre>
+ */
+public final class LoadTest {
+
+    private static final String PASSWORD = "LoadTest@2025";
+    private static final String EMAIL_DOMAIN = "@loadtest.local";
+    private static final String ORGANIZATION_TYPE = "102";
+
+    private final Map<String, Object> options;
+    private final Random random;
+    private final ApiClient client;
+    private final AppUnderTest app;
+    private final List<Map<String, Object>> report = new ArrayList<>();
+
+    private LoadTest(Map<String, Object> options, AppUnderTest app) {
+        this.options = options;
+        this.random = new Random((Long) options.get("seed"));
+        this.client = new ApiClient(app.baseUrl());
+        this.app = app;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, Object> options = new LinkedHashMap<>();
+        options.put("organizations", 5);
+        options.put("employees", 50);
+        options.put("concurrency", 32);
+        options.put("reads", 5);
+        options.put("seed", 42L);
+        options.put("bcryptCost", 12);
+        options.put("appJar", "EntryApp/target/EntryApp-1.0-SNAPSHOT.jar");
+        options.put("jvmArgs", "");
+        options.put("appArgs", "");
+        options.put("javaHome", System.getProperty("java.home"));
+        String dbUrl = null;
+        String dbUser = "root";
+        String dbPassword = "";
+        String reportFile = null;
+        boolean compareThreads = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--organizations" -> options.put("organizations", Integer.parseInt(args[++i]));
+                case "--employees" -> options.put("employees", Integer.parseInt(args[++i]));
+                case "--concurrency" -> options.put("concurrency", Integer.parseInt(args[++i]));
+                case "--reads" -> options.put("reads", Integer.parseInt(args[++i]));
+                case "--seed" -> options.put("seed", Long.parseLong(args[++i]));
+                case "--bcrypt-cost" -> options.put("bcryptCost", Integer.parseInt(args[++i]));
+                case "--app-jar" -> options.put("appJar", args[++i]);
+                case "--jvm-args" -> options.put("jvmArgs", args[++i]);
+                case "--app-args" -> options.put("appArgs", args[++i]);
+                case "--db-url" -> dbUrl = args[++i];
+                case "--db-user" -> dbUser = args[++i];
+                case "--db-password" -> dbPassword = args[++i];
+                case "--report" -> reportFile = args[++i];
+                case "--java-home" -> options.put("javaHome", args[++i]);
+                case "--compare-threads" -> compareThreads = true;
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        Path appJar = Paths.get((String) options.get("appJar"));
+        if (!Files.isRegularFile(appJar)) {
+            throw new IllegalArgumentException(appJar + " not found, build it with mvn -DskipTests package");
+        }
+        Map<String, String> variants = new LinkedHashMap<>();
+        String appArgs = (String) options.get("appArgs");
+        if (compareThreads) {
+            if (dbUrl != null) {
+                throw new IllegalArgumentException("--compare-threads needs a fresh embedded database per run");
+            }
+            variants.put("platform", appArgs);
+            variants.put("virtual", appArgs + " --spring.profiles.active=virtual-threads");
+        } else {
+            variants.put("default", appArgs);
+        }
+
+        Path workDir = Files.createTempDirectory("erp-loadtest-");
+        System.out.println("Working directory " + workDir);
+        Map<String, List<Map<String, Object>>> runs = new LinkedHashMap<>();
+        for (Map.Entry<String, String> variant : variants.entrySet()) {
+            Path variantDir = Files.createDirectories(workDir.resolve(variant.getKey()));
+            try (AppUnderTest app = new AppUnderTest(variantDir)) {
+                if (dbUrl == null) {
+                    app.startEmbeddedDatabase();
+                } else {
+                    app.useDatabase(dbUrl, dbUser, dbPassword);
+                }
+                app.startApp(AppUnderTest.javaCommand(Paths.get((String) options.get("javaHome")),
+                        (String) options.get("jvmArgs"), "-jar", appJar.toString()), variant.getValue());
+                System.out.println("EntryApp (" + variant.getKey() + ") listening on " + app.baseUrl());
+
+                LoadTest loadTest = new LoadTest(options, app);
+                loadTest.run();
+                loadTest.print();
+                runs.put(variant.getKey(), loadTest.report);
+            }
+        }
+        if (runs.size() > 1) {
+            compare(runs);
+        }
+        if (reportFile != null) {
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("options", options);
+            json.put("runs", runs);
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(Paths.get(reportFile).toFile(), json);
+            System.out.println("Report written to " + reportFile);
+        }
+    }
+
+    private void run() throws Exception {
+        int organizations = (Integer) options.get("organizations");
+        int employeesPerOrganization = (Integer) options.get("employees");
+
+        // Setup: a super admin creates the organizations, then their admins log in
+        Roles roles = seedReferenceData();
+        ApiClient.User superAdmin = new ApiClient.User("superadmin" + EMAIL_DOMAIN, PASSWORD);
+        List<ApiClient.User> admins = new ArrayList<>();
+        Map<String, LatencyRecorder> setup = phase();
+        expectOk(client.login(superAdmin, recorder(setup, "login")), "super admin login");
+        List<Runnable> tasks = new ArrayList<>();
+        for (int o = 0; o < organizations; o++) {
+            ApiClient.User admin = new ApiClient.User("admin" + o + EMAIL_DOMAIN, PASSWORD);
+            admins.add(admin);
+            Map<String, Object> request = new LinkedHashMap<>();
+            request.put("email", admin.email);
+            request.put("phone", String.valueOf(8_000_000_000L + o));
+            request.put("entityType", ORGANIZATION_TYPE);
+            request.put("entityName", "Load Test Organization " + o);
+            request.put("entityDescription", "Load test");
+            request.put("firstName", "Admin");
+            request.put("lastName", "Org" + o);
+            request.put("roleId", roles.admin);
+            tasks.add(() -> client.send(superAdmin, "POST", "/organization/create", request, recorder(setup, "create-organization")));
+        }
+        run("setup", setup, tasks);
+        setPasswords();
+        Map<String, LatencyRecorder> adminLogin = phase();
+        tasks = new ArrayList<>();
+        for (ApiClient.User admin : admins) {
+            tasks.add(() -> client.login(admin, recorder(adminLogin, "login")));
+        }
+        run("admin-login", adminLogin, tasks);
+
+        // Onboarding: admins add their employees, in parallel across organizations
+        List<ApiClient.User> employees = new ArrayList<>();
+        Map<String, LatencyRecorder> onboarding = phase();
+        tasks = new ArrayList<>();
+        for (int o = 0; o < organizations; o++) {
+            ApiClient.User admin = admins.get(o);
+            for (int e = 0; e < employeesPerOrganization; e++) {
+                ApiClient.User employee = new ApiClient.User("employee" + o + "-" + e + EMAIL_DOMAIN, PASSWORD);
+                employees.add(employee);
+                Map<String, Object> request = new LinkedHashMap<>();
+                request.put("email", employee.email);
+                request.put("phone", String.valueOf(7_000_000_000L + o * 100_000L + e));
+                request.put("firstName", "Employee");
+                request.put("lastName", "Org" + o + "Num" + e);
+                request.put("roleId", roles.employee);
+                request.put("entityType", ORGANIZATION_TYPE);
+                tasks.add(() -> client.send(admin, "POST", "/manage-employees/add-employee", request, recorder(onboarding, "add-employee")));
+            }
+        }
+        run("onboarding", onboarding, tasks);
+        setPasswords();
+
+        // Shift start: every employee logs in and checks in, in random order
+        Map<String, LatencyRecorder> shiftStart = phase();
+        tasks = new ArrayList<>();
+        for (ApiClient.User employee : employees) {
+            tasks.add(() -> {
+                if (client.login(employee, recorder(shiftStart, "login")) == 200) {
+                    client.send(employee, "POST", "/attendance/check-in", null, recorder(shiftStart, "check-in"));
+                }
+            });
+        }
+        Collections.shuffle(tasks, random);
+        run("shift-start", shiftStart, tasks);
+
+        // Mixed reads: 80% employees reading attendance, 20% admins paging through employees
+        Map<String, LatencyRecorder> reads = phase();
+        String history = "/attendance/history?start=" + LocalDate.now().minusDays(30).atStartOfDay()
+                + "&end=" + LocalDateTime.now().plusMinutes(5).withNano(0);
+        tasks = new ArrayList<>();
+        int total = employees.size() * (Integer) options.get("reads");
+        for (int i = 0; i < total; i++) {
+            int dice = random.nextInt(100);
+            if (dice < 50) {
+                ApiClient.User employee = employees.get(random.nextInt(employees.size()));
+                tasks.add(() -> client.send(employee, "GET", history, null, recorder(reads, "attendance-history")));
+            } else if (dice < 80) {
+                ApiClient.User employee = employees.get(random.nextInt(employees.size()));
+                tasks.add(() -> client.send(employee, "GET", "/attendance/today", null, recorder(reads, "attendance-today")));
+            } else {
+                ApiClient.User admin = admins.get(random.nextInt(admins.size()));
+                int page = random.nextInt(Math.max(1, employeesPerOrganization / 20));
+                tasks.add(() -> client.send(admin, "GET", "/manage-employees?size=20&page=" + page, null, recorder(reads, "employee-list")));
+            }
+        }
+        run("mixed-reads", reads, tasks);
+    }
+
+    private record Roles(long admin, long employee) {
+    }
+
+    private static Map<String, LatencyRecorder> phase() {
+        return new ConcurrentHashMap<>();
+    }
+
+    private static LatencyRecorder recorder(Map<String, LatencyRecorder> phase, String request) {
+        return phase.computeIfAbsent(request, LatencyRecorder::new);
+    }
+
+    /**
+     * Runs the tasks with the configured number of concurrent clients and adds the phase's results
+     * to the report.
+     */
+    private void run(String name, Map<String, LatencyRecorder> phase, List<Runnable> tasks) throws Exception {
+        int concurrency = (Integer) options.get("concurrency");
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Runnable task : tasks) {
+                futures.add(clients.submit(task));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            clients.shutdown();
+        }
+        long wallNanos = System.nanoTime() - start;
+        for (LatencyRecorder recorder : phase.values()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("phase", name);
+            entry.putAll(recorder.summary(wallNanos));
+            report.add(entry);
+        }
+        System.out.printf("Phase %s: %d tasks in %.1f s%n", name, tasks.size(), wallNanos / 1e9);
+    }
+
+    private void print() {
+        System.out.printf("%n%-12s %-20s %7s %7s %9s %9s %9s %9s %9s%n",
+                "Phase", "Request", "Count", "Errors", "Req/s", "p50 ms", "p90 ms", "p99 ms", "Max ms");
+        for (Map<String, Object> entry : report) {
+            System.out.printf("%-12s %-20s %7d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%s%n",
+                    entry.get("phase"), entry.get("name"), entry.get("count"), entry.get("errors"),
+                    entry.get("throughput"), entry.get("p50"), entry.get("p90"), entry.get("p99"), entry.get("max"),
+                    (Integer) entry.get("errors") > 0 ? "  statuses " + entry.get("statuses") : "");
+        }
+    }
+
+    /**
+     * Prints the requests of every run side by side, the first run being the reference.
+     */
+    private static void compare(Map<String, List<Map<String, Object>>> runs) {
+        System.out.printf("%n%-12s %-20s", "Phase", "Request");
+        for (String variant : runs.keySet()) {
+            System.out.printf(" %28s", variant + " req/s p50 p99");
+        }
+        System.out.println();
+        for (Map<String, Object> reference : runs.values().iterator().next()) {
+            System.out.printf("%-12s %-20s", reference.get("phase"), reference.get("name"));
+            for (List<Map<String, Object>> run : runs.values()) {
+                run.stream()
+                        .filter(entry -> entry.get("phase").equals(reference.get("phase")) && entry.get("name").equals(reference.get("name")))
+                        .findFirst()
+                        .ifPresentOrElse(
+                                entry -> System.out.printf(" %10.1f %8.1f %8.1f", entry.get("throughput"), entry.get("p50"), entry.get("p99")),
+                                () -> System.out.printf(" %28s", "-"));
+            }
+            System.out.println();
+        }
+    }
+
+    /**
+     * Inserts the super admin and the organization admin and employee roles, unless they exist.
+     */
+    private Roles seedReferenceData() throws SQLException {
+        try (Connection connection = connect()) {
+            try (PreparedStatement role = connection.prepareStatement(
+                    "INSERT IGNORE INTO role_master (name, description, entity_type, role_type, created_by, created_at) "
+                            + "VALUES (?, 'Load test role', ?, ?, 1, NOW())")) {
+                role.setString(1, "LoadTest Admin");
+                role.setString(2, ORGANIZATION_TYPE);
+                role.setString(3, "ADMIN");
+                role.executeUpdate();
+                role.setString(1, "LoadTest Employee");
+                role.setString(3, "EMP");
+                role.executeUpdate();
+            }
+            insertSuperAdmin(connection, (Integer) options.get("bcryptCost"));
+            return new Roles(roleId(connection, "LoadTest Admin"), roleId(connection, "LoadTest Employee"));
+        }
+    }
+
+    /**
+     * Inserts the super admin unless it exists and returns it as a user that can log in.
+     */
+    static ApiClient.User insertSuperAdmin(Connection connection, int bcryptCost) throws SQLException {
+        ApiClient.User superAdmin = new ApiClient.User("superadmin" + EMAIL_DOMAIN, PASSWORD);
+        try (PreparedStatement account = connection.prepareStatement(
+                "INSERT IGNORE INTO account_master (first_name, last_name, username, email, phone, password, entity_type, "
+                        + "status, policy, created_by, created_at, updated_at) "
+                        + "VALUES ('Load', 'Test', 'loadtest.superadmin', ?, '9000000000', ?, '101', 'ACTIVE', '0', 1, NOW(), NOW())")) {
+            account.setString(1, superAdmin.email);
+            account.setString(2, BCrypt.hashpw(PASSWORD, BCrypt.gensalt(bcryptCost)));
+            account.executeUpdate();
+        }
+        return superAdmin;
+    }
+
+    /**
+     * Sets the known password on all accounts created by the load test.
+     */
+    private void setPasswords() throws SQLException {
+        try (Connection connection = connect();
+             PreparedStatement update = connection.prepareStatement("UPDATE account_master SET password = ? WHERE email LIKE ?")) {
+            update.setString(1, BCrypt.hashpw(PASSWORD, BCrypt.gensalt((Integer) options.get("bcryptCost"))));
+            update.setString(2, "%" + EMAIL_DOMAIN);
+            update.executeUpdate();
+        }
+    }
+
+    private static long roleId(Connection connection, String name) throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement("SELECT id FROM role_master WHERE name = ?")) {
+            query.setString(1, name);
+            try (ResultSet result = query.executeQuery()) {
+                if (!result.next()) {
+                    throw new IllegalStateException("Role " + name + " was not seeded");
+                }
+                return result.getLong(1);
+            }
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(app.jdbcUrl(), app.dbUser(), app.dbPassword());
+    }
+
+    private static void expectOk(int status, String what) {
+        if (status != 200) {
+            throw new IllegalStateException(what + " failed with status " + status);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.mainapp.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Startup benchmark of EntryApp: time from process start to the first successful login, and the
+ * resident memory of the process right after it, for each way of building the app:
+ * <ul>
+ *   <li>default: the plain jar;</li>
+ *   <li>aot-cds: the AOT-processed, extracted jar with its class data sharing archive, built by
+ *   {@code mvn -Pfast-startup -pl EntryApp -am package};</li>
+ *   <li>native: the GraalVM native executable, built by {@code mvn -Pnative -pl EntryApp -am native:compile}.</li>
+ * </ul>
+ * Variants that have not been built are skipped. A first, untimed start migrates the embedded
+ * database and the super admin is seeded; every run then starts on that database, so all variants
+ * do the same work: connect, validate the schema and verify one BCrypt password. Runs of the
+ * variants alternate to spread machine noise evenly. Options:
+ * <pre>
+ *   --runs N                  starts per variant (default 3)
+ *   --variants LIST           comma-separated subset of default,aot-cds,native
+ *   --app-jar FILE            default jar (default EntryApp/target/EntryApp-1.0-SNAPSHOT.jar)
+ *   --fast-startup-dir DIR    aot-cds build (default EntryApp/target/fast-startup)
+ *   --native FILE             native executable (default EntryApp/target/EntryApp)
+ *   --java-home DIR           JDK running the jars; the archive only loads on the JDK that created it
+ *   --jvm-args "ARGS", --app-args "ARGS"
+ *   --report FILE             also write the results as JSON
+ * </pre>
+ * Run it from the load test jar:
+ * {@code java -cp loadtest/target/loadtest.jar com.mainapp.loadtest.StartupBenchmark}.
+ */
+public final class StartupBenchmark {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+    private static final int BCRYPT_COST = 12;
+
+    public static void main(String[] args) throws Exception {
+        int runs = 3;
+        List<String> selected = List.of("default", "aot-cds", "native");
+        Path appJar = Paths.get("EntryApp/target/EntryApp-1.0-SNAPSHOT.jar");
+        Path fastStartupDir = Paths.get("EntryApp/target/fast-startup");
+        Path nativeExecutable = Paths.get("EntryApp/target/EntryApp");
+        Path javaHome = Paths.get(System.getProperty("java.home"));
+        String jvmArgs = "";
+        String appArgs = "";
+        String reportFile = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--runs" -> runs = Integer.parseInt(args[++i]);
+                case "--variants" -> selected = Arrays.asList(args[++i].split(","));
+                case "--app-jar" -> appJar = Paths.get(args[++i]);
+                case "--fast-startup-dir" -> fastStartupDir = Paths.get(args[++i]);
+                case "--native" -> nativeExecutable = Paths.get(args[++i]);
+                case "--java-home" -> javaHome = Paths.get(args[++i]);
+                case "--jvm-args" -> jvmArgs = args[++i];
+                case "--app-args" -> appArgs = args[++i];
+                case "--report" -> reportFile = args[++i];
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        if (!Files.isRegularFile(appJar)) {
+            throw new IllegalArgumentException(appJar + " not found, build it with mvn -DskipTests package");
+        }
+
+        Map<String, List<String>> variants = new LinkedHashMap<>();
+        if (selected.contains("default")) {
+            variants.put("default", AppUnderTest.javaCommand(javaHome, jvmArgs, "-jar", appJar.toString()));
+        }
+        if (selected.contains("aot-cds")) {
+            Path archive = fastStartupDir.resolve("application.jsa");
+            Path jar = findJar(fastStartupDir);
+            if (jar != null && Files.isRegularFile(archive)) {
+                variants.put("aot-cds", AppUnderTest.javaCommand(javaHome,
+                        jvmArgs + " -XX:SharedArchiveFile=" + archive + " -Dspring.aot.enabled=true", "-jar", jar.toString()));
+            } else {
+                System.out.println("Skipping aot-cds: no jar and application.jsa in " + fastStartupDir + ", build with -Pfast-startup");
+            }
+        }
+        if (selected.contains("native")) {
+            if (Files.isExecutable(nativeExecutable)) {
+                variants.put("native", List.of(nativeExecutable.toString()));
+            } else {
+                System.out.println("Skipping native: " + nativeExecutable + " not found, build with -Pnative native:compile on GraalVM");
+            }
+        }
+
+        Path workDir = Files.createTempDirectory("erp-startup-");
+        System.out.println("Working directory " + workDir);
+        Map<String, List<Map<String, Object>>> results = new LinkedHashMap<>();
+        try (AppUnderTest app = new AppUnderTest(workDir)) {
+            app.startEmbeddedDatabase();
+            app.startApp(AppUnderTest.javaCommand(javaHome, jvmArgs, "-jar", appJar.toString()), appArgs);
+            ApiClient.User superAdmin;
+            try (Connection connection = DriverManager.getConnection(app.jdbcUrl(), app.dbUser(), app.dbPassword())) {
+                superAdmin = LoadTest.insertSuperAdmin(connection, BCRYPT_COST);
+            }
+            app.stopApp();
+
+            for (int run = 1; run <= runs; run++) {
+                for (Map.Entry<String, List<String>> variant : variants.entrySet()) {
+                    Map<String, Object> result = measure(app, variant.getValue(), appArgs, superAdmin);
+                    System.out.printf("%-8s run %d: first login after %.0f ms, RSS %.0f MB%n",
+                            variant.getKey(), run, result.get("firstLoginMillis"), result.get("rssMb"));
+                    results.computeIfAbsent(variant.getKey(), key -> new ArrayList<>()).add(result);
+                }
+            }
+        }
+
+        System.out.printf("%n%-8s %6s %12s %12s %12s %10s%n", "Variant", "Runs", "Median ms", "Min ms", "Max ms", "RSS MB");
+        Map<String, Object> summary = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Map<String, Object>>> variant : results.entrySet()) {
+            double[] millis = variant.getValue().stream().mapToDouble(result -> (Double) result.get("firstLoginMillis")).sorted().toArray();
+            double[] rss = variant.getValue().stream().mapToDouble(result -> (Double) result.get("rssMb")).sorted().toArray();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("runs", millis.length);
+            entry.put("medianFirstLoginMillis", median(millis));
+            entry.put("minFirstLoginMillis", millis[0]);
+            entry.put("maxFirstLoginMillis", millis[millis.length - 1]);
+            entry.put("medianRssMb", median(rss));
+            summary.put(variant.getKey(), entry);
+            System.out.printf("%-8s %6d %12.0f %12.0f %12.0f %10.0f%n", variant.getKey(), millis.length,
+                    median(millis), millis[0], millis[millis.length - 1], median(rss));
+        }
+        if (reportFile != null) {
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("summary", summary);
+            json.put("runs", results);
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(Paths.get(reportFile).toFile(), json);
+            System.out.println("Report written to " + reportFile);
+        }
+    }
+
+    /**
+     * Starts the variant, logs in until the login succeeds and reads the process's memory, then
+     * stops it.
+     */
+    private static Map<String, Object> measure(AppUnderTest app, List<String> command, String appArgs, ApiClient.User user)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        app.launch(command, appArgs);
+        ApiClient client = new ApiClient(app.baseUrl());
+        LatencyRecorder attempts = new LatencyRecorder("login");
+        long deadline = start + STARTUP_TIMEOUT.toNanos();
+        try {
+            while (client.login(user, attempts) != 200) {
+                if (!app.isAppAlive() || System.nanoTime() > deadline) {
+                    throw new IllegalStateException("EntryApp did not accept a login, see its log in the working directory");
+                }
+                Thread.sleep(20);
+            }
+            double firstLoginMillis = (System.nanoTime() - start) / 1e6;
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("firstLoginMillis", firstLoginMillis);
+            result.put("rssMb", app.appRssKilobytes() / 1024.0);
+            return result;
+        } finally {
+            app.stopApp();
+        }
+    }
+
+    private static Path findJar(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return null;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> jars = files.filter(file -> file.toString().endsWith(".jar")).collect(Collectors.toList());
+            return jars.size() == 1 ? jars.get(0) : null;
+        }
+    }
+
+    private static double median(double[] sorted) {
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+}
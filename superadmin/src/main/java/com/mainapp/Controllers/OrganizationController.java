@@ -2,21 +2,28 @@ package com.mainapp.Controllers;
 
 import com.mainapp.dto.CreateOrganizationRequest;
 import com.mainapp.dto.EntityDTO;
+import com.mainapp.dto.OrganizationSummary;
 import com.mainapp.dto.SessionValidationResponse;
 import com.mainapp.dto.UpdateOrganization;
-import com.mainapp.models.EntityTable;
+import com.mainapp.models.DeletionJob;
 import com.mainapp.services.AuthService;
+import com.mainapp.services.OrganizationDeletionService;
+import com.mainapp.services.OrganizationDirectoryService;
 import com.mainapp.services.OrganizationService;
+import com.mainapp.services.ResourceVersionService;
 
 import jakarta.servlet.http.HttpSession;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.net.URI;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 /**
  * Controller for handling organization-related requests.
@@ -28,12 +35,24 @@ import java.util.Optional;
 @RequestMapping("/organization")
 public class OrganizationController {
 
+    private static final int MAX_ACCOUNT_PAGE_SIZE = 200;
+    private static final int MAX_DIRECTORY_PAGE_SIZE = 200;
+
     @Autowired
     private OrganizationService organizationService;
 
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private OrganizationDeletionService organizationDeletionService;
+
+    @Autowired
+    private OrganizationDirectoryService organizationDirectoryService;
+
     /**
      * Endpoint to create a new user within an organization
      * @param request  The request body containing organization creation details.
@@ -55,25 +74,89 @@ public class OrganizationController {
 
     /**
      * Endpoint to retrieve a list of all entities.
+     * Supports conditional requests: a matching If-None-Match (or If-Modified-Since) is answered
+     * with 304 Not Modified without loading the list.
      *
      * @return A list of EntityDTO objects representing all entities.
      */
     @GetMapping("/list")
-    public List<EntityDTO> getOrganizations() {
-
+    public List<EntityDTO> getOrganizations(WebRequest webRequest) {
+        ResourceVersionService.ResourceVersion version = resourceVersionService.organizationList("102");
+        if (webRequest.checkNotModified(version.getETag(), version.getLastModified())) {
+            return null;
+        }
         return organizationService.getAllEntities();
     }
 
     /**
-     * Retrieves an organization based on the provided ID.
+     * Retrieves a page of the organization directory, ordered by name, with the account and
+     * active account counts of each organization.
+     * <p>
+     * Pages can be requested by number ({@code page}) or, for stable deep paging, by passing the
+     * {@code nextAfter} value of the previous response as {@code after}.
+     *
+     * @param q     Name prefix to search for, optional.
+     * @param page  Zero-based page number (default 0).
+     * @param size  Page size (default 50, at most 200).
+     * @param after Name of the last organization already received, optional.
+     * @return A page of organizations.
+     */
+    @GetMapping("/directory")
+    public ResponseEntity<Map<String, Object>> getDirectory(@RequestParam(value = "q", required = false) String q,
+                                                            @RequestParam(value = "page", defaultValue = "0") int page,
+                                                            @RequestParam(value = "size", defaultValue = "50") int size,
+                                                            @RequestParam(value = "after", required = false) String after,
+                                                            HttpSession session) {
+        SessionValidationResponse validationResponse = authService.validateSuperAdminSession(session);
+        if (!validationResponse.isSessionValid()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("status", HttpStatus.FORBIDDEN.value(), "message", validationResponse.getMessage()));
+        }
+        Slice<OrganizationSummary> organizations = organizationDirectoryService.getPage(q, Math.max(0, page),
+                Math.max(1, Math.min(size, MAX_DIRECTORY_PAGE_SIZE)), after);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("status", HttpStatus.OK.value());
+        response.put("message", "Organization directory fetched successfully.");
+        response.put("data", organizations.getContent());
+        response.put("hasNext", organizations.hasNext());
+        if (organizations.hasNext()) {
+            response.put("nextAfter", organizations.getContent().get(organizations.getNumberOfElements() - 1).getName());
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Retrieves an organization based on the provided ID, with its account and role counts.
+     * Accounts are only listed when {@code expand=accounts} is given, one page at a time.
+     * Supports conditional requests like {@link #getOrganizations(WebRequest)}. Only super admins
+     * may read organization details.
      *
-     * @param id The ID of the organization to retrieve.
-     * @return An Optional containing the requested organization entity.
+     * @param id      The ID of the organization to retrieve.
+     * @param expand  Set to "accounts" to include a page of accounts.
+     * @param size    Account page size (default 50, at most 200).
+     * @param after   Id of the last account already received, optional.
+     * @param session The HTTP session for validating user authentication.
+     * @return The organization detail.
      * @author Pankaj Kataria
      */
     @GetMapping("/list/{id}")
-    public Optional<EntityTable> getOrganization(@PathVariable Long id) {
-        return organizationService.GetEntity(id);
+    public ResponseEntity<?> getOrganization(@PathVariable Long id,
+                                             @RequestParam(value = "expand", required = false) String expand,
+                                             @RequestParam(value = "size", defaultValue = "50") int size,
+                                             @RequestParam(value = "after", required = false) Long after,
+                                             HttpSession session,
+                                             WebRequest webRequest) {
+        SessionValidationResponse sessionValidation = authService.validateSuperAdminSession(session);
+        if (!sessionValidation.isSessionValid()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(sessionValidation);
+        }
+        ResourceVersionService.ResourceVersion version = resourceVersionService.organization(id);
+        if (webRequest.checkNotModified(version.getETag(), version.getLastModified())) {
+            return null;
+        }
+        int accountPageSize = "accounts".equals(expand) ? Math.max(1, Math.min(size, MAX_ACCOUNT_PAGE_SIZE)) : 0;
+        return ResponseEntity.ok(organizationService.getOrganizationDetail(id, accountPageSize, after));
     }
 
     /**
@@ -98,10 +181,12 @@ public class OrganizationController {
     }
 
     /**
-     * Deletes an organization entity based on the provided ID.
+     * Deletes an organization entity based on the provided ID. The organization and its accounts,
+     * roles, sessions and employee records are removed by a background job; the response is 202
+     * Accepted with the job, whose progress can be followed at the returned Location.
      *
      * @param id The ID of the organization to delete.
-     * @return A string message indicating the success or failure of the deletion.
+     * @return The deletion job progress.
      * @author Pankaj Kataria
      */
     @DeleteMapping("/delete/{id}")
@@ -111,11 +196,49 @@ public class OrganizationController {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(Map.of("status", HttpStatus.FORBIDDEN.value(), "message", validationResponse.getMessage()));
         }
-        organizationService.deleteEntity(id);
+        DeletionJob job = organizationService.deleteEntity(id, validationResponse.getUserId());
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(URI.create("/organization/deletion-jobs/" + job.getId()))
+                .body(Map.of(
+                        "status", HttpStatus.ACCEPTED.value(),
+                        "message", "Organization deletion started.",
+                        "data", organizationDeletionService.progress(job)
+                ));
+    }
 
+    /**
+     * Retrieves the progress of an organization deletion job, including the estimated time remaining.
+     *
+     * @param jobId The ID of the deletion job.
+     * @return The job progress.
+     */
+    @GetMapping("/deletion-jobs/{jobId}")
+    public ResponseEntity<Map<String, Object>> getDeletionJob(@PathVariable Long jobId, HttpSession session) {
+        SessionValidationResponse validationResponse = authService.validateSuperAdminSession(session);
+        if (!validationResponse.isSessionValid()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("status", HttpStatus.FORBIDDEN.value(), "message", validationResponse.getMessage()));
+        }
+        return ResponseEntity.ok(Map.of(
+                "status", HttpStatus.OK.value(),
+                "data", organizationDeletionService.progress(organizationDeletionService.getJob(jobId))
+        ));
+    }
+
+    /**
+     * Lists the most recent organization deletion jobs with their progress.
+     */
+    @GetMapping("/deletion-jobs")
+    public ResponseEntity<Map<String, Object>> getDeletionJobs(HttpSession session) {
+        SessionValidationResponse validationResponse = authService.validateSuperAdminSession(session);
+        if (!validationResponse.isSessionValid()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("status", HttpStatus.FORBIDDEN.value(), "message", validationResponse.getMessage()));
+        }
         return ResponseEntity.ok(Map.of(
                 "status", HttpStatus.OK.value(),
-                "message", "Organization deleted successfully."
+                "data", organizationDeletionService.getRecentJobs().stream().map(organizationDeletionService::progress).toList()
         ));
     }
 
@@ -0,0 +1,107 @@
+package com.mainapp.Controllers;
+
+import com.mainapp.dto.SessionValidationResponse;
+import com.mainapp.services.AuthService;
+import com.mainapp.services.ProfilingService;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+/**
+ * SuperAdmin endpoints to profile this node with Java Flight Recorder, without attaching an agent.
+ * Start a bounded recording, then stop it (or let it run out) and download the .jfr file.
+ */
+@RestController
+@RequestMapping("/admin/profiling")
+public class ProfilingController {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    @Autowired
+    private ProfilingService profilingService;
+
+    @Autowired
+    private AuthService authService;
+
+    /**
+     * Starts a flight recording.
+     *
+     * @param durationSeconds Length of the recording, capped by configuration.
+     * @param settings        "default" or "profile".
+     * @param session         HTTP session to validate the SuperAdmin session.
+     */
+    @PostMapping("/start")
+    public ResponseEntity<Map<String, Object>> start(@RequestParam(defaultValue = "60") long durationSeconds,
+                                                     @RequestParam(defaultValue = "profile") String settings,
+                                                     HttpSession session) {
+        SessionValidationResponse validationResponse = authService.validateSuperAdminSession(session);
+        if (!validationResponse.isSessionValid()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("status", HttpStatus.FORBIDDEN.value(), "message", validationResponse.getMessage()));
+        }
+        return ResponseEntity.ok(Map.of(
+                "status", HttpStatus.OK.value(),
+                "message", "Recording started.",
+                "data", profilingService.start(durationSeconds, settings, validationResponse.getUserId())
+        ));
+    }
+
+    /**
+     * Returns the state of the current recording.
+     *
+     * @param session HTTP session to validate the SuperAdmin session.
+     */
+    @GetMapping("/status")
+    public ResponseEntity<Map<String, Object>> status(HttpSession session) {
+        SessionValidationResponse validationResponse = authService.validateSuperAdminSession(session);
+        if (!validationResponse.isSessionValid()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("status", HttpStatus.FORBIDDEN.value(), "message", validationResponse.getMessage()));
+        }
+        return ResponseEntity.ok(Map.of(
+                "status", HttpStatus.OK.value(),
+                "message", "Recording status fetched successfully.",
+                "data", profilingService.status()
+        ));
+    }
+
+    /**
+     * Stops the recording if it is still running and streams the .jfr file, which is deleted from
+     * the node afterwards.
+     *
+     * @param session HTTP session to validate the SuperAdmin session.
+     */
+    @PostMapping("/stop")
+    public ResponseEntity<StreamingResponseBody> stop(HttpSession session) {
+        SessionValidationResponse validationResponse = authService.validateSuperAdminSession(session);
+        if (!validationResponse.isSessionValid()) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, validationResponse.getMessage());
+        }
+        Path file = profilingService.stop();
+        StreamingResponseBody body = out -> {
+            try {
+                Files.copy(file, out);
+            } finally {
+                profilingService.discard(file);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("erp-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr").build().toString())
+                .body(body);
+    }
+}
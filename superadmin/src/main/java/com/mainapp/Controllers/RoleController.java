@@ -0,0 +1,61 @@
+package com.mainapp.Controllers;
+
+import com.mainapp.dto.SessionValidationResponse;
+import com.mainapp.services.AuthService;
+import com.mainapp.services.RoleCatalog;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controller serving the role catalog used when creating organizations and employees.
+ */
+@RestController
+@RequestMapping("/roles")
+public class RoleController {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private RoleCatalog roleCatalog;
+
+    /**
+     * Lists the roles, optionally only those of an entity type. Served from the in-memory catalog;
+     * responses carry an ETag and may be cached privately for five minutes, and a matching
+     * If-None-Match is answered with 304 Not Modified.
+     *
+     * @param entityType Entity type to filter on, optional.
+     * @param session    The HTTP session of any logged-in user.
+     * @return The roles.
+     */
+    @GetMapping("")
+    public ResponseEntity<Map<String, Object>> getRoles(@RequestParam(value = "entityType", required = false) String entityType,
+                                                        HttpSession session, WebRequest webRequest) {
+        SessionValidationResponse validationResponse = authService.validateSession(session);
+        if (!validationResponse.isSessionValid()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("status", HttpStatus.FORBIDDEN.value(), "message", validationResponse.getMessage()));
+        }
+        if (webRequest.checkNotModified(roleCatalog.getVersion())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePrivate())
+                .body(Map.of(
+                        "status", HttpStatus.OK.value(),
+                        "message", "Roles fetched successfully.",
+                        "data", roleCatalog.getRoles(entityType)
+                ));
+    }
+}
@@ -1,9 +1,17 @@
 package com.mainapp.Controllers;
 import com.mainapp.dto.SessionValidationResponse;
 import com.mainapp.services.AuthService;
+import com.mainapp.services.PinningMonitor;
+import com.mainapp.services.SecondLevelCacheService;
+import com.mainapp.services.SqlStatsService;
+import com.mainapp.utils.CpuBoundExecutor;
+import com.mainapp.utils.DbConcurrencyLimiter;
 import jakarta.servlet.http.HttpSession;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -11,6 +19,8 @@ import org.springframework.web.bind.annotation.RestController;
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Controller class for handling admin-related requests.
@@ -34,6 +44,24 @@ public class SuperAdminController {
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private SecondLevelCacheService secondLevelCacheService;
+
+    @Autowired
+    private SqlStatsService sqlStatsService;
+
+    @Autowired
+    private CpuBoundExecutor cpuBoundExecutor;
+
+    @Autowired(required = false)
+    private DbConcurrencyLimiter dbConcurrencyLimiter;
+
+    @Autowired(required = false)
+    private PinningMonitor pinningMonitor;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
     /**
      * Endpoint to get the admin dashboard after validating the SuperAdmin session.
      *
@@ -56,6 +84,88 @@ public class SuperAdminController {
         return ResponseEntity.ok("Welcome to the SuperAdmin Dashboard");
     }
 
+    /**
+     * Returns hit, miss and put counts and the hit ratio of each Hibernate second-level cache region.
+     *
+     * @param session The HTTP session to validate the SuperAdmin session.
+     */
+    @GetMapping("/cache-stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats(HttpSession session) {
+        SessionValidationResponse validationResponse = authService.validateSuperAdminSession(session);
+        if (!validationResponse.isSessionValid()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("status", HttpStatus.FORBIDDEN.value(), "message", validationResponse.getMessage()));
+        }
+        return ResponseEntity.ok(Map.of(
+                "status", HttpStatus.OK.value(),
+                "message", "Second-level cache statistics fetched successfully.",
+                "data", secondLevelCacheService.stats()
+        ));
+    }
+
+    /**
+     * Returns SQL statements, rows and database time per controller method, with N+1 and budget
+     * violation counts, for the sampled requests.
+     *
+     * @param session The HTTP session to validate the SuperAdmin session.
+     */
+    @GetMapping("/sql-stats")
+    public ResponseEntity<Map<String, Object>> getSqlStats(HttpSession session) {
+        SessionValidationResponse validationResponse = authService.validateSuperAdminSession(session);
+        if (!validationResponse.isSessionValid()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("status", HttpStatus.FORBIDDEN.value(), "message", validationResponse.getMessage()));
+        }
+        return ResponseEntity.ok(Map.of(
+                "status", HttpStatus.OK.value(),
+                "message", "SQL statistics fetched successfully.",
+                "data", sqlStatsService.stats()
+        ));
+    }
+
+    /**
+     * Clears the SQL statistics, e.g. before a measurement run.
+     *
+     * @param session The HTTP session to validate the SuperAdmin session.
+     */
+    @DeleteMapping("/sql-stats")
+    public ResponseEntity<Map<String, Object>> resetSqlStats(HttpSession session) {
+        SessionValidationResponse validationResponse = authService.validateSuperAdminSession(session);
+        if (!validationResponse.isSessionValid()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("status", HttpStatus.FORBIDDEN.value(), "message", validationResponse.getMessage()));
+        }
+        sqlStatsService.reset();
+        return ResponseEntity.ok(Map.of("status", HttpStatus.OK.value(), "message", "SQL statistics cleared."));
+    }
+
+    /**
+     * Returns the state of the virtual-thread mode: database permits, the BCrypt pool and the
+     * pinned virtual threads seen so far.
+     *
+     * @param session HTTP session to validate the SuperAdmin session.
+     */
+    @GetMapping("/virtual-threads")
+    public ResponseEntity<Map<String, Object>> getVirtualThreadStats(HttpSession session) {
+        SessionValidationResponse validationResponse = authService.validateSuperAdminSession(session);
+        if (!validationResponse.isSessionValid()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("status", HttpStatus.FORBIDDEN.value(), "message", validationResponse.getMessage()));
+        }
+        Map<String, Object> data = new LinkedHashMap<>();
+        // Spring Boot only switches to virtual threads on Java 21 or later
+        data.put("enabled", virtualThreads && Runtime.version().feature() >= 21);
+        data.put("javaVersion", Runtime.version().toString());
+        data.put("dbPermits", dbConcurrencyLimiter != null ? dbConcurrencyLimiter.stats() : null);
+        data.put("cpuPool", cpuBoundExecutor.stats());
+        data.put("pinning", pinningMonitor != null ? pinningMonitor.stats() : null);
+        return ResponseEntity.ok(Map.of(
+                "status", HttpStatus.OK.value(),
+                "message", "Virtual thread statistics fetched successfully.",
+                "data", data
+        ));
+    }
+
     /**
      * Endpoint to test the database connection for the Auth module.
      *
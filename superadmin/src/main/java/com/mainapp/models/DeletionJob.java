@@ -0,0 +1,214 @@
+package com.mainapp.models;
+
+import com.mainapp.enums.DeletionJobStatus;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Background deletion of an organization and everything that belongs to it.
+ * <p>
+ * The job records the step it is on (one dependent table per step) and the key of the last row
+ * deleted in that step, and both are updated in the same transaction as every chunk, so a job
+ * interrupted by a crash resumes exactly where it stopped. A node works on a job only while it holds
+ * the job's lease ({@code owner} and {@code leaseExpiresAt}).
+ */
+@Entity
+@Table(name = "deletion_job",
+        indexes = {
+                @Index(name = "idx_deletion_job_status", columnList = "status"),
+                @Index(name = "idx_deletion_job_entity", columnList = "entity_id")
+        })
+public class DeletionJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "entity_name", length = 100)
+    private String entityName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private DeletionJobStatus status;
+
+    // Index of the current step and the key of the last row deleted in it
+    @Column(nullable = false)
+    private int step;
+
+    @Column(name = "step_cursor", length = 255)
+    private String stepCursor;
+
+    @Column(name = "deleted_rows", nullable = false)
+    private long deletedRows;
+
+    @Column(name = "estimated_rows", nullable = false)
+    private long estimatedRows;
+
+    // Time spent deleting and throttling, excluding the time no node was working on the job
+    @Column(name = "elapsed_millis", nullable = false)
+    private long elapsedMillis;
+
+    @Column(nullable = false)
+    private int restarts;
+
+    @Column(length = 64)
+    private String owner;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    @Column(length = 1000)
+    private String error;
+
+    @Column(name = "requested_by")
+    private Long requestedBy;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public String getEntityName() {
+        return entityName;
+    }
+
+    public void setEntityName(String entityName) {
+        this.entityName = entityName;
+    }
+
+    public DeletionJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(DeletionJobStatus status) {
+        this.status = status;
+    }
+
+    public int getStep() {
+        return step;
+    }
+
+    public void setStep(int step) {
+        this.step = step;
+    }
+
+    public String getStepCursor() {
+        return stepCursor;
+    }
+
+    public void setStepCursor(String stepCursor) {
+        this.stepCursor = stepCursor;
+    }
+
+    public long getDeletedRows() {
+        return deletedRows;
+    }
+
+    public void setDeletedRows(long deletedRows) {
+        this.deletedRows = deletedRows;
+    }
+
+    public long getEstimatedRows() {
+        return estimatedRows;
+    }
+
+    public void setEstimatedRows(long estimatedRows) {
+        this.estimatedRows = estimatedRows;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public int getRestarts() {
+        return restarts;
+    }
+
+    public void setRestarts(int restarts) {
+        this.restarts = restarts;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public LocalDateTime getLeaseExpiresAt() {
+        return leaseExpiresAt;
+    }
+
+    public void setLeaseExpiresAt(LocalDateTime leaseExpiresAt) {
+        this.leaseExpiresAt = leaseExpiresAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public Long getRequestedBy() {
+        return requestedBy;
+    }
+
+    public void setRequestedBy(Long requestedBy) {
+        this.requestedBy = requestedBy;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
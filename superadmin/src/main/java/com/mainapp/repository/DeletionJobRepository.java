@@ -0,0 +1,18 @@
+package com.mainapp.repository;
+
+import com.mainapp.enums.DeletionJobStatus;
+import com.mainapp.models.DeletionJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface DeletionJobRepository extends JpaRepository<DeletionJob, Long> {
+
+    Optional<DeletionJob> findFirstByEntityIdAndStatusIn(Long entityId, Collection<DeletionJobStatus> statuses);
+
+    List<DeletionJob> findByStatusInOrderByIdAsc(Collection<DeletionJobStatus> statuses);
+
+    List<DeletionJob> findTop50ByOrderByIdDesc();
+}
@@ -0,0 +1,453 @@
+package com.mainapp.services;
+
+import com.mainapp.enums.DeletionJobStatus;
+import com.mainapp.events.EmployeeChangedEvent;
+import com.mainapp.events.OrganizationChangedEvent;
+import com.mainapp.models.DeletionJob;
+import com.mainapp.models.EntityTable;
+import com.mainapp.repository.DeletionJobRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deletes organizations in the background.
+ * <p>
+ * Instead of removing the organization through the {@code EntityTable.accounts} cascade, which loads
+ * every account and deletes everything in one long transaction, a {@link DeletionJob} walks the
+ * dependent tables leaf first and deletes their rows in keyset-ordered chunks of
+ * {@code app.deletion.chunk-size}, one short transaction per chunk. The job's position is committed
+ * with each chunk, so after a crash the job is picked up again (on startup, or by any node once its
+ * lease has expired) and continues from the last committed chunk. Between chunks, and between the
+ * row counts taken when a job starts, the worker sleeps at least {@code app.deletion.pause-millis},
+ * and long enough to keep its share of the time spent holding locks below
+ * {@code app.deletion.max-duty-cycle}, so live traffic on the same tables is not starved. Jobs run
+ * one at a time per node, and there is at most one unfinished job per organization.
+ * <p>
+ * Tables of modules that are not deployed are skipped. If a row referencing the organization is
+ * added after its table was cleared (for example an employee checking in during the deletion), the
+ * account delete fails on the foreign key and the job starts over from the first step, at most
+ * {@code app.deletion.max-restarts} times.
+ */
+@Service
+public class OrganizationDeletionService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrganizationDeletionService.class);
+
+    private static final List<DeletionJobStatus> ACTIVE = List.of(DeletionJobStatus.PENDING, DeletionJobStatus.RUNNING);
+    private static final String ACCOUNTS_OF_ENTITY = "(SELECT a.id FROM account_master a WHERE a.entity_id = ?)";
+
+    // Leaf tables first, so that no step deletes a row another table still references
+    private static final List<Step> STEPS = List.of(
+            new Step("sessions", "user_id IN " + ACCOUNTS_OF_ENTITY, true),
+            new Step("attendance", "employee_id IN " + ACCOUNTS_OF_ENTITY, false),
+            new Step("leave_request", "employee_id IN " + ACCOUNTS_OF_ENTITY, false),
+            new Step("employee_calendar", "entity_id = ?", false),
+            new Step("holiday_calendar", "entity_id = ?", false),
+            new Step("office_geofence", "entity_id = ?", false),
+            new Step("account_master", "entity_id = ?", false),
+            new Step("entity_role_master", "entity_id = ?", false),
+            new Step("entity_headcount", "entity_id", "entity_id = ?", false),
+            new Step("entity", "id = ?", false));
+
+    @Autowired
+    private DeletionJobRepository deletionJobRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.deletion.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.deletion.pause-millis:20}")
+    private long pauseMillis;
+
+    @Value("${app.deletion.max-duty-cycle:0.5}")
+    private double maxDutyCycle;
+
+    @Value("${app.deletion.lease-seconds:120}")
+    private long leaseSeconds;
+
+    @Value("${app.deletion.poll-seconds:30}")
+    private long pollSeconds;
+
+    @Value("${app.deletion.max-restarts:3}")
+    private int maxRestarts;
+
+    @Value("${app.deletion.max-retries:5}")
+    private int maxRetries;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private ScheduledExecutorService worker;
+
+    @PostConstruct
+    public void start() {
+        worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "organization-deletion");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Resumes unfinished jobs once the application is up, then keeps looking for jobs abandoned by
+     * other nodes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeJobs() {
+        worker.scheduleWithFixedDelay(this::poll, 0, pollSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        worker.shutdownNow();
+    }
+
+    /**
+     * Starts deleting an organization. Returns the job already deleting it if there is one; a
+     * failed job is resumed from where it stopped. The lookup and the insert run under a lock on
+     * the organization's row, so concurrent requests, on any node, never start a second job.
+     *
+     * @throws ResponseStatusException 404 if the organization has been deleted meanwhile.
+     */
+    public DeletionJob requestDeletion(EntityTable entity, Long requestedBy) {
+        DeletionJob job = transactionTemplate.execute(tx -> {
+            if (jdbcTemplate.queryForList("SELECT id FROM entity WHERE id = ? FOR UPDATE", Long.class, entity.getId()).isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Organization not found for ID: " + entity.getId());
+            }
+            DeletionJob existing = deletionJobRepository.findFirstByEntityIdAndStatusIn(entity.getId(),
+                    List.of(DeletionJobStatus.PENDING, DeletionJobStatus.RUNNING, DeletionJobStatus.FAILED)).orElse(null);
+            if (existing == null) {
+                DeletionJob created = new DeletionJob();
+                created.setEntityId(entity.getId());
+                created.setEntityName(entity.getName());
+                created.setStatus(DeletionJobStatus.PENDING);
+                created.setRequestedBy(requestedBy);
+                created.setCreatedAt(LocalDateTime.now());
+                return deletionJobRepository.save(created);
+            }
+            if (existing.getStatus() == DeletionJobStatus.FAILED) {
+                existing.setStatus(DeletionJobStatus.PENDING);
+                existing.setError(null);
+                existing.setFinishedAt(null);
+                return deletionJobRepository.save(existing);
+            }
+            return existing;
+        });
+        worker.execute(this::poll);
+        return job;
+    }
+
+    /**
+     * @throws ResponseStatusException 404 if the job does not exist.
+     */
+    public DeletionJob getJob(Long jobId) {
+        return deletionJobRepository.findById(jobId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Deletion job not found for ID: " + jobId));
+    }
+
+    public List<DeletionJob> getRecentJobs() {
+        return deletionJobRepository.findTop50ByOrderByIdDesc();
+    }
+
+    /**
+     * Progress of a job, with the deletion rate and, while the job is unfinished, the estimated
+     * seconds remaining at that rate.
+     */
+    public Map<String, Object> progress(DeletionJob job) {
+        boolean completed = job.getStatus() == DeletionJobStatus.COMPLETED;
+        long remaining = Math.max(0, job.getEstimatedRows() - job.getDeletedRows());
+        double rowsPerSecond = job.getElapsedMillis() > 0 ? job.getDeletedRows() * 1000.0 / job.getElapsedMillis() : 0;
+        Map<String, Object> progress = new LinkedHashMap<>();
+        progress.put("jobId", job.getId());
+        progress.put("entityId", job.getEntityId());
+        progress.put("entityName", job.getEntityName());
+        progress.put("status", job.getStatus());
+        progress.put("step", job.getStep() < STEPS.size() ? STEPS.get(job.getStep()).table : null);
+        progress.put("stepNumber", Math.min(job.getStep() + 1, STEPS.size()));
+        progress.put("steps", STEPS.size());
+        progress.put("deletedRows", job.getDeletedRows());
+        progress.put("estimatedRows", job.getEstimatedRows());
+        progress.put("percentComplete", completed ? 100
+                : job.getEstimatedRows() > 0 ? Math.min(99, job.getDeletedRows() * 100 / job.getEstimatedRows()) : 0);
+        progress.put("rowsPerSecond", Math.round(rowsPerSecond));
+        progress.put("etaSeconds", completed ? Long.valueOf(0) : rowsPerSecond > 0 ? Long.valueOf(Math.round(remaining / rowsPerSecond)) : null);
+        progress.put("restarts", job.getRestarts());
+        progress.put("error", job.getError());
+        progress.put("createdAt", job.getCreatedAt());
+        progress.put("updatedAt", job.getUpdatedAt());
+        progress.put("finishedAt", job.getFinishedAt());
+        return progress;
+    }
+
+    private void poll() {
+        try {
+            for (DeletionJob job : deletionJobRepository.findByStatusInOrderByIdAsc(ACTIVE)) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                if (claim(job.getId())) {
+                    run(deletionJobRepository.findById(job.getId()).orElseThrow());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Organization deletion poll failed", e);
+        }
+    }
+
+    /**
+     * Takes the job's lease unless another node holds an unexpired one.
+     */
+    private boolean claim(Long jobId) {
+        LocalDateTime now = LocalDateTime.now();
+        return jdbcTemplate.update("UPDATE deletion_job SET owner = ?, lease_expires_at = ?, status = 'RUNNING', updated_at = ?"
+                        + " WHERE id = ? AND status IN ('PENDING', 'RUNNING')"
+                        + " AND (owner IS NULL OR owner = ? OR lease_expires_at < ?)",
+                nodeId, now.plusSeconds(leaseSeconds), now, jobId, nodeId, now) == 1;
+    }
+
+    private void run(DeletionJob job) {
+        Set<String> tables = existingTables();
+        if (job.getStep() == 0 && job.getStepCursor() == null && job.getDeletedRows() == 0 && !estimate(job, tables)) {
+            release(job);
+            return;
+        }
+        log.info("Deleting organization {} (job {}) from step {}", job.getEntityId(), job.getId(), job.getStep());
+        long lastCommit = System.nanoTime();
+        int retries = 0;
+        while (job.getStep() < STEPS.size()) {
+            long chunkStart = System.nanoTime();
+            try {
+                long carried = TimeUnit.NANOSECONDS.toMillis(chunkStart - lastCommit);
+                if (!deleteChunk(job, STEPS.get(job.getStep()), tables, carried)) {
+                    log.warn("Lost the lease of deletion job {}", job.getId());
+                    return;
+                }
+                lastCommit = System.nanoTime();
+                retries = 0;
+            } catch (DataIntegrityViolationException e) {
+                if (job.getRestarts() >= maxRestarts) {
+                    finish(job, DeletionJobStatus.FAILED, "Rows were still being added: " + e.getMostSpecificCause().getMessage());
+                    return;
+                }
+                log.info("Restarting deletion job {}: rows referencing the organization were added", job.getId());
+                restart(job);
+                continue;
+            } catch (RuntimeException e) {
+                if (++retries > maxRetries) {
+                    finish(job, DeletionJobStatus.FAILED, String.valueOf(e.getMessage()));
+                    return;
+                }
+                log.warn("Deletion job {} chunk failed, retry {} of {}", job.getId(), retries, maxRetries, e);
+            }
+            if (!pause(chunkStart, retries)) {
+                release(job);
+                return;
+            }
+        }
+        finish(job, DeletionJobStatus.COMPLETED, null);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(EmployeeChangedEvent.Type.DELETED, job.getEntityId(), null));
+        eventPublisher.publishEvent(new OrganizationChangedEvent(OrganizationChangedEvent.Type.DELETED, job.getEntityId()));
+        log.info("Deleted organization {} (job {}): {} rows in {} ms",
+                job.getEntityId(), job.getId(), job.getDeletedRows(), job.getElapsedMillis());
+    }
+
+    /**
+     * Deletes the next chunk of the current step and records the new position in the same
+     * transaction. Moves to the next step once a chunk comes back short.
+     *
+     * @return false if the job's lease was lost, in which case nothing was deleted.
+     */
+    private boolean deleteChunk(DeletionJob job, Step step, Set<String> tables, long carriedMillis) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(tx -> {
+            List<?> keys = tables.contains(step.table)
+                    ? jdbcTemplate.queryForList(step.selectSql, step.keyType(), job.getEntityId(), step.cursor(job.getStepCursor()), chunkSize)
+                    : Collections.emptyList();
+            int deleted = keys.isEmpty() ? 0 : jdbcTemplate.update(step.deleteSql(keys.size()), keys.toArray());
+            boolean stepDone = keys.size() < chunkSize;
+            int nextStep = stepDone ? job.getStep() + 1 : job.getStep();
+            String nextCursor = stepDone ? null : String.valueOf(keys.get(keys.size() - 1));
+            LocalDateTime now = LocalDateTime.now();
+            int updated = jdbcTemplate.update("UPDATE deletion_job SET step = ?, step_cursor = ?, deleted_rows = deleted_rows + ?,"
+                            + " elapsed_millis = elapsed_millis + ?, lease_expires_at = ?, updated_at = ? WHERE id = ? AND owner = ?",
+                    nextStep, nextCursor, deleted, carriedMillis, now.plusSeconds(leaseSeconds), now, job.getId(), nodeId);
+            if (updated != 1) {
+                tx.setRollbackOnly();
+                return false;
+            }
+            job.setStep(nextStep);
+            job.setStepCursor(nextCursor);
+            job.setDeletedRows(job.getDeletedRows() + deleted);
+            job.setElapsedMillis(job.getElapsedMillis() + carriedMillis);
+            return true;
+        }));
+    }
+
+    /**
+     * Sleeps between chunks: at least the configured pause, and long enough that the time spent
+     * deleting stays within the maximum duty cycle. Failed chunks back off exponentially.
+     *
+     * @return false if the worker is shutting down.
+     */
+    private boolean pause(long chunkStart, int retries) {
+        long busyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - chunkStart);
+        long sleep = Math.max(pauseMillis, (long) (busyMillis * (1 - maxDutyCycle) / maxDutyCycle));
+        if (retries > 0) {
+            sleep = Math.max(sleep, 1000L << Math.min(retries, 6));
+        }
+        try {
+            Thread.sleep(sleep);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Counts the rows the job will delete. Each count scans the organization's rows of one table,
+     * so the counts are throttled like chunks and renew the lease as they go.
+     *
+     * @return false if the lease was lost or the worker is shutting down.
+     */
+    private boolean estimate(DeletionJob job, Set<String> tables) {
+        long rows = 0;
+        for (Step step : STEPS) {
+            if (!tables.contains(step.table)) {
+                continue;
+            }
+            long countStart = System.nanoTime();
+            Long count = jdbcTemplate.queryForObject(step.countSql, Long.class, job.getEntityId());
+            rows += count != null ? count : 0;
+            if (jdbcTemplate.update("UPDATE deletion_job SET lease_expires_at = ? WHERE id = ? AND owner = ?",
+                    LocalDateTime.now().plusSeconds(leaseSeconds), job.getId(), nodeId) != 1) {
+                log.warn("Lost the lease of deletion job {}", job.getId());
+                return false;
+            }
+            if (!pause(countStart, 0)) {
+                return false;
+            }
+        }
+        job.setEstimatedRows(rows);
+        jdbcTemplate.update("UPDATE deletion_job SET estimated_rows = ?, lease_expires_at = ? WHERE id = ? AND owner = ?",
+                rows, LocalDateTime.now().plusSeconds(leaseSeconds), job.getId(), nodeId);
+        return true;
+    }
+
+    private void restart(DeletionJob job) {
+        jdbcTemplate.update("UPDATE deletion_job SET step = 0, step_cursor = NULL, restarts = restarts + 1 WHERE id = ? AND owner = ?",
+                job.getId(), nodeId);
+        job.setStep(0);
+        job.setStepCursor(null);
+        job.setRestarts(job.getRestarts() + 1);
+    }
+
+    private void finish(DeletionJob job, DeletionJobStatus status, String error) {
+        String message = error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("UPDATE deletion_job SET status = ?, error = ?, finished_at = ?, updated_at = ?,"
+                        + " owner = NULL, lease_expires_at = NULL WHERE id = ? AND owner = ?",
+                status.name(), message, now, now, job.getId(), nodeId);
+        job.setStatus(status);
+        if (status == DeletionJobStatus.FAILED) {
+            log.warn("Deletion job {} for organization {} failed: {}", job.getId(), job.getEntityId(), message);
+        }
+    }
+
+    /**
+     * Gives the job back on shutdown so that the next node to poll resumes it without waiting for
+     * the lease to expire.
+     */
+    private void release(DeletionJob job) {
+        jdbcTemplate.update("UPDATE deletion_job SET owner = NULL, lease_expires_at = NULL WHERE id = ? AND owner = ?",
+                job.getId(), nodeId);
+    }
+
+    private Set<String> existingTables() {
+        return jdbcTemplate.execute((ConnectionCallback<Set<String>>) connection -> {
+            Set<String> tables = new HashSet<>();
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (Step step : STEPS) {
+                try (ResultSet resultSet = metaData.getTables(connection.getCatalog(), null, step.table, new String[]{"TABLE"})) {
+                    if (resultSet.next()) {
+                        tables.add(step.table);
+                    }
+                }
+            }
+            return tables;
+        });
+    }
+
+    /**
+     * Deletion of the rows of one table that belong to the organization, in primary key order.
+     * {@code where} takes the organization id as its only parameter.
+     */
+    private static final class Step {
+        private final String table;
+        private final String key;
+        private final boolean stringKey;
+        private final String selectSql;
+        private final String countSql;
+
+        Step(String table, String where, boolean stringKey) {
+            this(table, "id", where, stringKey);
+        }
+
+        Step(String table, String key, String where, boolean stringKey) {
+            this.table = table;
+            this.key = key;
+            this.stringKey = stringKey;
+            this.selectSql = "SELECT " + key + " FROM " + table + " WHERE " + where + " AND " + key + " > ? ORDER BY " + key + " LIMIT ?";
+            this.countSql = "SELECT COUNT(*) FROM " + table + " WHERE " + where;
+        }
+
+        Class<?> keyType() {
+            return stringKey ? String.class : Long.class;
+        }
+
+        Object cursor(String stored) {
+            if (stringKey) {
+                return stored != null ? stored : "";
+            }
+            return stored != null ? Long.parseLong(stored) : 0L;
+        }
+
+        String deleteSql(int keys) {
+            return "DELETE FROM " + table + " WHERE " + key + " IN (" + String.join(", ", Collections.nCopies(keys, "?")) + ")";
+        }
+    }
+}
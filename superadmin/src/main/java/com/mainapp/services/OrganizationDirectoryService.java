@@ -0,0 +1,104 @@
+package com.mainapp.services;
+
+import com.mainapp.dto.OrganizationSummary;
+import com.mainapp.events.EmployeeChangedEvent;
+import com.mainapp.events.OrganizationChangedEvent;
+import com.mainapp.repository.EntityRepository;
+import com.mainapp.utils.LruCache;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Paginated, name-prefix searchable organization directory with per-organization account counts.
+ * <p>
+ * Pages come from one query ordered by name that joins the maintained {@code entity_headcount}
+ * counts, so no accounts are counted per request. Pages are cached and the whole cache is dropped
+ * after an organization is created, updated or deleted, or an account is added, deleted or has its
+ * status toggled. Entries are stamped with a generation taken before loading, so a page read
+ * concurrently with a change is never cached past it. Changes made on other nodes show up once
+ * entries expire after {@code app.directory.ttl-seconds}.
+ */
+@Service
+public class OrganizationDirectoryService {
+
+    private static final String ORGANIZATION_TYPE = "102";
+
+    @Autowired
+    private EntityRepository entityRepository;
+
+    @Value("${app.directory.cache-size:1000}")
+    private int cacheSize;
+
+    @Value("${app.directory.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private LruCache<PageKey, Stamped> pages;
+
+    @PostConstruct
+    public void initCache() {
+        pages = new LruCache<>("organization-directory", cacheSize, ttlSeconds);
+    }
+
+    /**
+     * Returns a page of organizations whose name starts with {@code prefix} (case-insensitive,
+     * following the column collation), ordered by name. When {@code afterName} is given the page
+     * starts after that name and {@code page} is ignored.
+     */
+    public Slice<OrganizationSummary> getPage(String prefix, int page, int size, String afterName) {
+        String normalized = prefix != null ? prefix.trim().toLowerCase(Locale.ROOT) : "";
+        PageKey key = new PageKey(normalized, afterName != null ? 0 : page, size, afterName);
+        long current = generation.get();
+        Stamped cached = pages.get(key);
+        if (cached != null && cached.generation == current) {
+            return cached.page;
+        }
+        Pageable pageable = PageRequest.of(key.page, size);
+        Slice<OrganizationSummary> loaded = entityRepository.findDirectoryPage(ORGANIZATION_TYPE,
+                escapeLike(normalized) + "%", afterName != null ? afterName : "", pageable);
+        pages.put(key, new Stamped(current, loaded));
+        return loaded;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrganizationChanged(OrganizationChangedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (event.getType() != EmployeeChangedEvent.Type.UPDATED) {
+            invalidate(); // counts changed
+        }
+    }
+
+    public Map<String, Object> stats() {
+        return pages.stats();
+    }
+
+    private void invalidate() {
+        generation.incrementAndGet();
+        pages.clear();
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    private record PageKey(String prefix, int page, int size, String afterName) {
+    }
+
+    private record Stamped(long generation, Slice<OrganizationSummary> page) {
+    }
+}
@@ -2,26 +2,30 @@ package com.mainapp.services;
 
 import com.mainapp.repository.AccountMasterRepository;
 import com.mainapp.repository.EntityRepository;
-import com.mainapp.repository.EntityRoleMasterRepository;
-import com.mainapp.repository.RoleMasterRepository;
 import com.mainapp.dto.CreateOrganizationRequest;
+import com.mainapp.dto.EmployeeResponse;
 import com.mainapp.dto.EntityDTO;
+import com.mainapp.dto.OrganizationDetail;
 import com.mainapp.dto.UpdateOrganization;
 import com.mainapp.models.AccountMaster;
+import com.mainapp.models.DeletionJob;
 import com.mainapp.models.EntityRoleMaster;
 import com.mainapp.models.EntityTable;
-import com.mainapp.models.RoleMaster;
-import com.mainapp.enums.Status;
+import com.mainapp.events.OrganizationChangedEvent;
 import com.mainapp.utils.CommonUtils;
 import com.mainapp.utils.PasswordUtils;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 import javax.persistence.EntityNotFoundException;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 
 /**
  * Service class for managing organization-related operations.
@@ -38,13 +42,19 @@ public class OrganizationService {
     @Autowired
     private AccountMasterRepository accountMasterRepository;
     @Autowired
-    private RoleMasterRepository roleMasterRepository;
-    @Autowired
     private PasswordUtils passwordUtils;
     @Autowired
     private CommonUtils commonUtils;
     @Autowired
-    private EntityRoleMasterRepository entityRoleMasterRepository;
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private OrganizationDeletionService organizationDeletionService;
+    @Autowired
+    private HeadcountService headcountService;
+    @Autowired
+    private RoleCatalog roleCatalog;
+    @Autowired
+    private EntityRoleResolver entityRoleResolver;
     /**
      * Creates a new user along with their associated entity.
      *
@@ -53,7 +63,7 @@ public class OrganizationService {
      */
     @Transactional
     public void createUser(CreateOrganizationRequest request, Long createdBy) {
-        RoleMaster roleMaster = roleMasterRepository.findById(request.getRoleId()).orElseThrow(
+        RoleCatalog.Role role = roleCatalog.find(request.getRoleId()).orElseThrow(
                 () -> new RuntimeException("RoleMaster not found for ID: " + request.getRoleId())
         );
 
@@ -70,16 +80,7 @@ public class OrganizationService {
         entityRepository.save(entity);
 
 
-        EntityRoleMaster entityRoleMaster = new EntityRoleMaster();
-        entityRoleMaster.setEntityTable(entity);
-        entityRoleMaster.setRoleMaster(roleMaster);
-        entityRoleMaster.setName(roleMaster.getName());
-        entityRoleMaster.setDescription(roleMaster.getDescription());
-        entityRoleMaster.setStatus(Status.ACTIVE);
-        entityRoleMaster.setPolicy(commonUtils.generatePolicyNumber());
-        entityRoleMaster.setCreatedBy(createdBy);
-
-        entityRoleMasterRepository.save(entityRoleMaster);
+        EntityRoleMaster entityRoleMaster = entityRoleResolver.createForNewEntity(entity, role, createdBy);
         // Generate a unique username from first name, last name, and entity name
         String baseUsername = commonUtils.generateUsername(request.getFirstName(), request.getLastName());
         String uniqueUsername = commonUtils.ensureUniqueUsername(baseUsername); // Ensure uniqueness
@@ -101,6 +102,8 @@ public class OrganizationService {
         accountMaster.setPolicy(commonUtils.generatePolicyNumber());
         accountMaster.setEntityRoleMaster(entityRoleMaster);
         accountMasterRepository.save(accountMaster);
+        headcountService.create(entity.getId(), 1, 1);
+        eventPublisher.publishEvent(new OrganizationChangedEvent(OrganizationChangedEvent.Type.CREATED, entity.getId()));
     }
 
 
@@ -115,8 +118,26 @@ public class OrganizationService {
     public List<EntityDTO> getAllEntities() {
         return entityRepository.findByType("102");
     }
-    public Optional<EntityTable> GetEntity(Long id) {
-        return entityRepository.findById( id);
+    /**
+     * Retrieves an organization with its account and role counts. When {@code accountPageSize} is
+     * positive, one page of its accounts (ordered by id, starting after {@code afterAccountId}) is
+     * included as well. Accounts are loaded as projections, never through {@link EntityTable#getAccounts()}.
+     *
+     * @param id              The unique identifier of the organization.
+     * @param accountPageSize Number of accounts to include, or 0 for none.
+     * @param afterAccountId  Id of the last account of the previous page, or null.
+     * @throws ResponseStatusException 404 if the organization does not exist.
+     */
+    public OrganizationDetail getOrganizationDetail(Long id, int accountPageSize, Long afterAccountId) {
+        OrganizationDetail detail = entityRepository.findDetailById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Organization not found for ID: " + id));
+        if (accountPageSize > 0) {
+            Slice<EmployeeResponse> accounts = accountMasterRepository.findAccountPage(id,
+                    afterAccountId != null ? afterAccountId : 0L, PageRequest.of(0, accountPageSize));
+            Long nextAfter = accounts.hasNext() ? accounts.getContent().get(accounts.getNumberOfElements() - 1).getId() : null;
+            detail.setAccounts(new OrganizationDetail.AccountPage(accounts.getContent(), accounts.hasNext(), nextAfter));
+        }
+        return detail;
     }
 
     /**
@@ -141,19 +162,22 @@ public class OrganizationService {
 
         // Save the updated entity
         entityRepository.save(entity);
+        eventPublisher.publishEvent(new OrganizationChangedEvent(OrganizationChangedEvent.Type.UPDATED, id));
     }
 
     /**
-     * Deletes an entity by its ID.
+     * Starts deleting an organization and everything that belongs to it in the background.
      *
-     * @param id The unique identifier of the entity to be deleted.
-     * @return A message indicating whether the deletion was successful or if the entity was not found.
+     * @param id          The unique identifier of the entity to be deleted.
+     * @param requestedBy The ID of the user requesting the deletion.
+     * @return The deletion job, which can be polled for progress.
+     * @throws ResponseStatusException 404 if the organization does not exist.
      * @author Pankaj Kataria
      */
-//    @Autowired
-    public void  deleteEntity(Long id) {
-        Optional<EntityTable> entity = entityRepository.findById(id);
-        entityRepository.deleteById(id);
+    public DeletionJob deleteEntity(Long id, Long requestedBy) {
+        EntityTable entity = entityRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Organization not found for ID: " + id));
+        return organizationDeletionService.requestDeletion(entity, requestedBy);
     }
 
 }
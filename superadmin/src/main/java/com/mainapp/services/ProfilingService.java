@@ -0,0 +1,131 @@
+package com.mainapp.services;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Runs on-demand Java Flight Recorder recordings of this node.
+ * <p>
+ * At most one recording runs at a time. It is bounded by {@code app.profiling.max-duration-seconds}
+ * and {@code app.profiling.max-size-mb}, stops by itself when its duration is over, and is kept on
+ * disk until it is downloaded or a new recording is started.
+ */
+@Service
+public class ProfilingService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProfilingService.class);
+    private static final Set<String> SETTINGS = Set.of("default", "profile");
+
+    @Value("${app.profiling.max-duration-seconds:300}")
+    private long maxDurationSeconds;
+
+    @Value("${app.profiling.max-size-mb:100}")
+    private long maxSizeMb;
+
+    private Recording recording;
+    private Path file;
+    private Long startedBy;
+    private Instant startedAt;
+
+    /**
+     * Starts a recording.
+     *
+     * @param durationSeconds Length of the recording, capped at {@code app.profiling.max-duration-seconds}.
+     * @param settings        JFR settings: "default" (about 1% overhead) or "profile" (more sampling, about 2%).
+     */
+    public synchronized Map<String, Object> start(long durationSeconds, String settings, Long userId) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "A recording is already running.");
+        }
+        if (!SETTINGS.contains(settings)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Settings must be one of " + SETTINGS);
+        }
+        discard();
+        try {
+            Recording next = new Recording(Configuration.getConfiguration(settings));
+            next.setName("erp-profiling");
+            next.setDuration(Duration.ofSeconds(Math.max(1, Math.min(durationSeconds, maxDurationSeconds))));
+            next.setMaxSize(maxSizeMb * 1024 * 1024);
+            next.setToDisk(true);
+            file = Files.createTempFile("erp-profiling-", ".jfr");
+            next.setDestination(file);
+            next.start();
+            recording = next;
+        } catch (IOException | ParseException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to start the recording: " + e.getMessage());
+        }
+        startedBy = userId;
+        startedAt = Instant.now();
+        log.info("Flight recording started by user {} for {} s with '{}' settings", userId, recording.getDuration().toSeconds(), settings);
+        return status();
+    }
+
+    /**
+     * Stops the recording if it is still running and returns its file. The file stays on disk until
+     * {@link #discard(Path)} is called with it.
+     */
+    public synchronized Path stop() {
+        if (recording == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No recording to download.");
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        return file;
+    }
+
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("state", recording != null ? recording.getState().name() : "NONE");
+        if (recording != null) {
+            status.put("startedBy", startedBy);
+            status.put("startedAt", startedAt);
+            status.put("durationSeconds", recording.getDuration() != null ? recording.getDuration().toSeconds() : null);
+            status.put("maxSizeBytes", recording.getMaxSize());
+        }
+        return status;
+    }
+
+    /**
+     * Closes the recording and deletes its file, unless a newer recording replaced it meanwhile.
+     */
+    public synchronized void discard(Path downloaded) {
+        if (downloaded.equals(file)) {
+            discard();
+        }
+    }
+
+    @PreDestroy
+    public synchronized void discard() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Failed to delete flight recording {}", file, e);
+            }
+            file = null;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.mainapp.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mainapp.SuperAdminApp;
+import com.mainapp.dto.OrganizationDetail;
+import com.mainapp.models.EntityTable;
+import com.mainapp.support.JpaTestSupport;
+import com.mainapp.utils.CommonUtils;
+import com.mainapp.utils.PasswordUtils;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@ContextConfiguration(classes = SuperAdminApp.class)
+@Import(OrganizationService.class)
+class OrganizationServiceTest {
+
+    private static final int LARGE = 100_000;
+    private static final int SMALL = 10;
+    private static final int PAGE = 200;
+    // one account row serializes to well under 250 bytes
+    private static final int MAX_PAGE_BYTES = 1_000 + PAGE * 250;
+
+    @Autowired
+    private OrganizationService organizationService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private PasswordUtils passwordUtils;
+    @MockitoBean
+    private CommonUtils commonUtils;
+    @MockitoBean
+    private OrganizationDeletionService organizationDeletionService;
+    @MockitoBean
+    private HeadcountService headcountService;
+    @MockitoBean
+    private RoleCatalog roleCatalog;
+    @MockitoBean
+    private EntityRoleResolver entityRoleResolver;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private JpaTestSupport support;
+    private EntityTable large;
+    private EntityTable small;
+
+    @BeforeEach
+    void seed() {
+        support = new JpaTestSupport(entityManager, jdbcTemplate);
+        large = support.organization("large", "102");
+        small = support.organization("small", "102");
+        support.insertAccounts(large, null, "102", LARGE);
+        support.insertAccounts(small, null, "102", SMALL);
+        support.insertHeadcount(large, LARGE, LARGE);
+        support.insertHeadcount(small, SMALL, SMALL);
+    }
+
+    @Test
+    void detailWithoutAccountsIsOneStatementAndSmall() throws Exception {
+        OrganizationDetail detail = support.countStatements(1, () -> organizationService.getOrganizationDetail(large.getId(), 0, null));
+
+        assertEquals(LARGE, detail.getAccountCount());
+        assertEquals(LARGE, detail.getActiveAccountCount());
+        assertNull(detail.getAccounts());
+        assertTrue(objectMapper.writeValueAsBytes(detail).length < 1_000);
+        support.countStatements(1, () -> organizationService.getOrganizationDetail(small.getId(), 0, null));
+    }
+
+    @Test
+    void expandedDetailReadsOnePageInTwoStatementsWhateverTheHeadcount() throws Exception {
+        OrganizationDetail first = support.countStatements(2, () -> organizationService.getOrganizationDetail(large.getId(), PAGE, null));
+        assertEquals(PAGE, first.getAccounts().getItems().size());
+        assertTrue(first.getAccounts().isHasNext());
+        assertTrue(objectMapper.writeValueAsBytes(first).length < MAX_PAGE_BYTES);
+
+        Long after = first.getAccounts().getNextAfter();
+        OrganizationDetail next = support.countStatements(2, () -> organizationService.getOrganizationDetail(large.getId(), PAGE, after));
+        assertEquals(PAGE, next.getAccounts().getItems().size());
+        assertTrue(next.getAccounts().getItems().get(0).getId() > after);
+
+        OrganizationDetail few = support.countStatements(2, () -> organizationService.getOrganizationDetail(small.getId(), PAGE, null));
+        assertEquals(SMALL, few.getAccounts().getItems().size());
+    }
+}